@@ -4,4 +4,12 @@ GRANT ALL PRIVILEGES ON taxi_system_db.* TO 'taxi_user'@'localhost';
 FLUSH PRIVILEGES;                                                      
 
 USE taxi_system_db;
-SELECT * FROM passenger;
\ No newline at end of file
+SELECT * FROM passenger;
+-- Migração: o ID de driver passou a usar a tabela de sequência driver_seq
+-- (criada pelo Hibernate). Alinhe-a aos IDs já existentes antes de iniciar a API.
+-- O otimizador "pooled" trata o valor gravado como o topo do bloco: o primeiro
+-- bloco vai de next_val - 49 a next_val. Por isso o valor é MAX(id) + 50, que
+-- deve acompanhar o allocationSize do @SequenceGenerator em Driver.java.
+CREATE TABLE IF NOT EXISTS driver_seq (next_val BIGINT);
+DELETE FROM driver_seq;
+INSERT INTO driver_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM driver;
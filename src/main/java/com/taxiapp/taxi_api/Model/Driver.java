@@ -1,25 +1,50 @@
 package com.taxiapp.taxi_api.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 
 /**
  * Representa a entidade Motorista (Driver) no banco de dados.
  * <p>
  * Esta classe é mapeada para a tabela 'driver' (ou similar, dependendo da
  * estratégia de nomenclatura) e contém as informações principais de um motorista.
+ * <p>
+ * A entidade fica no cache de segundo nível do Hibernate (JCache/Ehcache, em
+ * memória), junto com o cache de natural id (licenseNumber → ID): buscas
+ * repetidas por ID ou por CNH não vão ao banco.
+ * <p>
+ * Os UPDATEs feitos pelo JPA incluem apenas as colunas alteradas
+ * ({@code @DynamicUpdate}): a posição é gravada em segundo plano pelo
+ * {@link com.taxiapp.taxi_api.geo.DriverLocationBuffer}, e uma entidade
+ * carregada antes dessa gravação não pode sobrescrevê-la ao mudar outro campo.
  */
 @Entity
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 public class Driver {
 
     /**
      * Identificador único do motorista, gerado automaticamente.
+     * <p>
+     * Usa uma sequência com otimizador "pooled" (no MySQL, emulada pela tabela
+     * {@code driver_seq}): cada ida ao banco reserva 50 IDs, e como o ID é
+     * conhecido antes do INSERT o Hibernate consegue agrupar os INSERTs em lotes JDBC.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "driver_seq")
+    @SequenceGenerator(name = "driver_seq", sequenceName = "driver_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -30,7 +55,9 @@ public class Driver {
 
     /**
      * Número da licença (CNH). É único e não pode ser nulo.
+     * É o natural id do motorista (mutável, pois pode ser corrigido no cadastro).
      */
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false, length = 9)
     private String licenseNumber;
 
@@ -59,6 +86,29 @@ public class Driver {
     @Column(nullable = false)
     private Boolean available;
 
+    /**
+     * Última latitude conhecida do motorista (graus decimais).
+     * Pode ser nula enquanto o motorista não reportar sua posição.
+     */
+    @Column
+    private Double latitude;
+
+    /**
+     * Última longitude conhecida do motorista (graus decimais).
+     * Pode ser nula enquanto o motorista não reportar sua posição.
+     */
+    @Column
+    private Double longitude;
+
+    /**
+     * Versão para controle de concorrência otimista: incrementada a cada UPDATE
+     * feito pelo JPA, impede que uma atualização condicional ({@code If-Match})
+     * sobrescreva outra confirmada nesse meio tempo.
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     /**
      * Construtor padrão exigido pelo JPA.
      */
@@ -154,4 +204,24 @@ public class Driver {
         this.available = available;
     }
 
+    public Double getLatitude() {
+        return this.latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return this.longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public long getVersion() {
+        return this.version;
+    }
+
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
 
 /**
  * Representa a entidade de um Passageiro (Passenger) no sistema.
@@ -72,6 +73,15 @@ public class Passenger {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * Versão para controle de concorrência otimista.
+     * Incrementada a cada atualização; impede que uma atualização condicional
+     * ({@code If-Match}) sobrescreva outra confirmada nesse meio tempo.
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     /**
      * Construtor padrão sem argumentos.
      * Exigido pelo JPA para a criação de instâncias da entidade.
@@ -208,4 +218,21 @@ public class Passenger {
         this.createdAt = createdAt;
     }
 
+    /**
+     * Retorna a versão atual do registro (controle de concorrência otimista).
+     * * @return A versão.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Define a versão do registro. O JPA controla a versão sozinho; este método
+     * é usado pelos shards de passageiros, que leem e gravam fora do JPA.
+     * * @param version A versão lida do banco.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
 }
\ No newline at end of file
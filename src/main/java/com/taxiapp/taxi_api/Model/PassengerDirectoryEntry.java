@@ -0,0 +1,97 @@
+package com.taxiapp.taxi_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Entrada do diretório de passageiros, usado quando os passageiros estão
+ * distribuídos em shards ({@code taxi.sharding.passengers.enabled=true}).
+ *
+ * <p>Fica no banco principal e guarda, para cada passageiro, o ID e os campos
+ * únicos (e-mail, nome de usuário e telefone). É a partir dele que:</p>
+ * <ul>
+ *   <li>os IDs são gerados, únicos entre todos os shards (o shard de um
+ *       passageiro é calculado a partir do ID);</li>
+ *   <li>as restrições de unicidade valem para todos os shards;</li>
+ *   <li>as buscas por e-mail, nome de usuário ou telefone encontram o ID, e
+ *       com ele o shard, sem consultar todos os shards.</li>
+ * </ul>
+ *
+ * <p>Sem shards, a tabela existe mas não é usada.</p>
+ */
+@Entity
+@Table(name = "passenger_directory")
+public class PassengerDirectoryEntry {
+
+    /**
+     * ID do passageiro, gerado aqui e usado como chave primária no shard.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * E-mail do passageiro (único entre todos os shards).
+     */
+    @Column(unique = true, nullable = false, length = 100)
+    private String email;
+
+    /**
+     * Nome de usuário do passageiro (único entre todos os shards).
+     */
+    @Column(unique = true, nullable = false, length = 50)
+    private String username;
+
+    /**
+     * Telefone do passageiro (único entre todos os shards).
+     */
+    @Column(unique = true, nullable = false, length = 15)
+    private String phone;
+
+    /**
+     * Construtor padrão exigido pelo JPA.
+     */
+    public PassengerDirectoryEntry() {
+    }
+
+    /**
+     * Cria a entrada com os campos únicos de um passageiro.
+     */
+    public PassengerDirectoryEntry(String email, String username, String phone) {
+        this.email = email;
+        this.username = username;
+        this.phone = phone;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public String getEmail() {
+        return this.email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getUsername() {
+        return this.username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPhone() {
+        return this.phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+}
@@ -1,4 +1,5 @@
 package com.taxiapp.taxi_api.model;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import org.hibernate.annotations.CreationTimestamp;
@@ -7,6 +8,8 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -26,6 +29,24 @@ public class Ride {
     @Column(nullable=false, length=100)
     private String dropoffLocation;
 
+    @Column
+    private Double pickupLatitude;                      // used by dispatch to find the nearest driver
+
+    @Column
+    private Double pickupLongitude;
+
+    @Column
+    private Double dropoffLatitude;                     // optional, used to quote the fare by distance
+
+    @Column
+    private Double dropoffLongitude;
+
+    @Column(precision=10, scale=2)
+    private BigDecimal quotedFare;                      // quoted by the surge pricing engine when requested
+
+    @Column(precision=4, scale=2)
+    private BigDecimal surgeMultiplier;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable=false, length=15)
     private RideStatus status;
@@ -34,8 +55,11 @@ public class Ride {
     @Column(nullable=false, updatable=false)
     private LocalDateTime createdAt;
 
-    @ManyToOne
-    @JoinColumn(name="passenger_id", nullable=false)
+    // Lazy: with sharding, passengers live in other databases and the foreign key is
+    // not created (see RidePassengerForeignKeyRemover). Only the id is read (the proxy
+    // answers getId() without loading the passenger)
+    @ManyToOne(fetch=FetchType.LAZY)
+    @JoinColumn(name="passenger_id", nullable=false, foreignKey=@ForeignKey(name="fk_ride_passenger"))
     private Passenger passenger;
     
     @ManyToOne
@@ -78,6 +102,54 @@ public class Ride {
         this.dropoffLocation = dropoffLocation;
     }
 
+    public Double getPickupLatitude() {
+        return this.pickupLatitude;
+    }
+
+    public void setPickupLatitude(Double pickupLatitude) {
+        this.pickupLatitude = pickupLatitude;
+    }
+
+    public Double getPickupLongitude() {
+        return this.pickupLongitude;
+    }
+
+    public void setPickupLongitude(Double pickupLongitude) {
+        this.pickupLongitude = pickupLongitude;
+    }
+
+    public Double getDropoffLatitude() {
+        return this.dropoffLatitude;
+    }
+
+    public void setDropoffLatitude(Double dropoffLatitude) {
+        this.dropoffLatitude = dropoffLatitude;
+    }
+
+    public Double getDropoffLongitude() {
+        return this.dropoffLongitude;
+    }
+
+    public void setDropoffLongitude(Double dropoffLongitude) {
+        this.dropoffLongitude = dropoffLongitude;
+    }
+
+    public BigDecimal getQuotedFare() {
+        return this.quotedFare;
+    }
+
+    public void setQuotedFare(BigDecimal quotedFare) {
+        this.quotedFare = quotedFare;
+    }
+
+    public BigDecimal getSurgeMultiplier() {
+        return this.surgeMultiplier;
+    }
+
+    public void setSurgeMultiplier(BigDecimal surgeMultiplier) {
+        this.surgeMultiplier = surgeMultiplier;
+    }
+
     public RideStatus getStatus() {
         return this.status;
     }
@@ -0,0 +1,33 @@
+package com.taxiapp.taxi_api.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Habilita o cache de leitura (Caffeine, em memória) dos serviços.
+ *
+ * <p>Os caches, o tamanho máximo e o tempo de expiração são definidos em
+ * {@code spring.cache.*} no {@code application.properties}; com
+ * {@code recordStats}, o Spring Boot publica {@code cache.gets} (hit/miss),
+ * {@code cache.puts}, {@code cache.evictions} e {@code cache.size} no actuator.</p>
+ *
+ * <p>O interceptor de cache é registrado <strong>por fora</strong> do de
+ * transações ({@code order} menor), de modo que {@code @CachePut} e
+ * {@code @CacheEvict} só atuam depois do commit: uma leitura concorrente não
+ * consegue recolocar no cache um valor que ainda não foi confirmado.</p>
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    /**
+     * Cache de {@link com.taxiapp.taxi_api.dto.DriverResponseDTO} por ID.
+     */
+    public static final String DRIVERS = "drivers";
+
+    /**
+     * Cache de {@link com.taxiapp.taxi_api.dto.PassengerResponseDTO} por ID.
+     */
+    public static final String PASSENGERS = "passengers";
+}
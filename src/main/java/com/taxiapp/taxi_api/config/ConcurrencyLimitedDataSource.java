@@ -0,0 +1,156 @@
+package com.taxiapp.taxi_api.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} que limita o número de conexões em uso ao mesmo tempo
+ * com um {@link Semaphore} justo (FIFO).
+ *
+ * <p>Com threads virtuais, milhares de requisições podem chegar ao banco ao
+ * mesmo tempo. Sem este limite, todas disputam o pool de conexões e as que
+ * passam de {@code connectionTimeout} falham. Com ele, o excedente espera na
+ * fila do semáforo, o que para uma thread virtual custa apenas um
+ * {@code park}, e a ordem de chegada é respeitada.</p>
+ *
+ * <p>A licença é adquirida em {@link #getConnection()} e devolvida quando a
+ * conexão é fechada (uma única vez, mesmo que {@code close()} seja chamado de novo).</p>
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long acquireTimeoutMillis;
+
+    /**
+     * @param target               O {@link DataSource} real (ex: o pool Hikari).
+     * @param maxPermits           Máximo de conexões em uso simultâneo (normalmente o tamanho do pool).
+     * @param acquireTimeoutMillis Tempo máximo de espera por uma licença.
+     */
+    public ConcurrencyLimitedDataSource(DataSource target, int maxPermits, long acquireTimeoutMillis) {
+        super(target);
+        if (maxPermits <= 0) {
+            throw new IllegalArgumentException("Permits must be positive.");
+        }
+        this.permits = new Semaphore(maxPermits, true);
+        this.maxPermits = maxPermits;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return limited(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return limited(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Número máximo de conexões simultâneas.
+     *
+     * @return O total de licenças.
+     */
+    public int getMaxPermits() {
+        return maxPermits;
+    }
+
+    /**
+     * Número de conexões em uso no momento.
+     *
+     * @return As licenças adquiridas.
+     */
+    public int getActivePermits() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    /**
+     * Número estimado de threads esperando por uma conexão.
+     *
+     * @return O tamanho da fila do semáforo.
+     */
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Timed out after " + acquireTimeoutMillis + " ms waiting for a database connection permit.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection permit.", e);
+        }
+    }
+
+    /**
+     * Envolve a conexão para devolver a licença no primeiro {@code close()}.
+     */
+    private Connection limited(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            try {
+                                connection.close();
+                            } finally {
+                                if (released.compareAndSet(false, true)) {
+                                    permits.release();
+                                }
+                            }
+                            return null;
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "unwrap" -> {
+                            if (((Class<?>) args[0]).isInstance(proxy)) {
+                                return proxy;
+                            }
+                        }
+                        case "isWrapperFor" -> {
+                            if (((Class<?>) args[0]).isInstance(proxy)) {
+                                return true;
+                            }
+                        }
+                        default -> {
+                            // Demais métodos são apenas delegados
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
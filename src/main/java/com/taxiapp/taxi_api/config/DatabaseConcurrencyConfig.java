@@ -0,0 +1,126 @@
+package com.taxiapp.taxi_api.config;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Limita a concorrência de acesso ao banco quando as requisições rodam em
+ * threads virtuais ({@code spring.threads.virtual.enabled=true}).
+ *
+ * <p>O {@link DataSource} da aplicação é envolvido por um
+ * {@link ConcurrencyLimitedDataSource} com tantas licenças quanto o tamanho do
+ * pool Hikari (ou {@code taxi.db.concurrency-limit.permits}, se definido).
+ * O limitador é controlado por {@code taxi.db.concurrency-limit.enabled}, que por
+ * padrão acompanha o modo de threads virtuais.</p>
+ *
+ * <p>O limitador envolve o pool antes dos demais proxies ({@link #ORDER}): com
+ * réplicas de leitura, o {@link ReadReplicaRoutingDataSource} fica por fora e
+ * só as conexões do banco principal usam estas licenças; cada réplica tem o
+ * seu próprio limitador ({@link ReadReplicaRouter}).</p>
+ *
+ * <p>Métricas: {@code taxi.db.concurrency.active}, {@code taxi.db.concurrency.waiting}
+ * e {@code taxi.db.concurrency.max}.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "taxi.db.concurrency-limit.enabled", havingValue = "true")
+public class DatabaseConcurrencyConfig {
+
+    /**
+     * Ordem do post-processor do limitador, antes do das réplicas de leitura
+     * ({@link ReadReplicaConfig}), que envolve o resultado.
+     */
+    static final int ORDER = Ordered.LOWEST_PRECEDENCE - 20;
+
+    /**
+     * Envolve o {@link DataSource} no {@link ConcurrencyLimitedDataSource}.
+     * É {@code static} para não antecipar a criação desta configuração.
+     */
+    @Bean
+    static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        return new LimiterPostProcessor(environment);
+    }
+
+    private static final class LimiterPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+
+        private LimiterPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource
+                    || bean instanceof ReadReplicaRoutingDataSource) {
+                return bean;
+            }
+            int permits = environment.getProperty("taxi.db.concurrency-limit.permits", Integer.class, 0);
+            if (permits <= 0) {
+                permits = poolSize(dataSource);
+            }
+            long timeout = environment.getProperty("taxi.db.concurrency-limit.acquire-timeout-ms", Long.class, 60_000L);
+            return new ConcurrencyLimitedDataSource(dataSource, permits, timeout);
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+    }
+
+    /**
+     * Tamanho máximo do pool Hikari, mesmo que o {@link DataSource} já esteja
+     * envolvido por outro proxy; 10 (o padrão do Hikari) se não houver pool
+     * ou se o tamanho não foi configurado (o Hikari devolve -1 antes de iniciar).
+     */
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                int maximumPoolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                if (maximumPoolSize > 0) {
+                    return maximumPoolSize;
+                }
+            }
+        } catch (SQLException e) {
+            // Sem acesso ao pool: usa o padrão
+        }
+        return 10;
+    }
+
+    /**
+     * Publica o estado do limitador no actuator.
+     */
+    @Bean
+    MeterBinder databaseConcurrencyMetrics(DataSource dataSource) {
+        return registry -> {
+            ConcurrencyLimitedDataSource limiter;
+            try {
+                limiter = dataSource.unwrap(ConcurrencyLimitedDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("taxi.db.concurrency.active", limiter, ConcurrencyLimitedDataSource::getActivePermits)
+                    .description("Database connections currently held through the concurrency limiter")
+                    .register(registry);
+            Gauge.builder("taxi.db.concurrency.waiting", limiter, ConcurrencyLimitedDataSource::getQueueLength)
+                    .description("Threads waiting for a database connection permit")
+                    .register(registry);
+            Gauge.builder("taxi.db.concurrency.max", limiter, ConcurrencyLimitedDataSource::getMaxPermits)
+                    .description("Maximum concurrent database connections allowed by the limiter")
+                    .register(registry);
+        };
+    }
+}
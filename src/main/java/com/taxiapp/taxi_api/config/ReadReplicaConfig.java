@@ -0,0 +1,97 @@
+package com.taxiapp.taxi_api.config;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.taxiapp.taxi_api.http.ApiClients;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Envia as transações somente leitura ({@code @Transactional(readOnly = true)}
+ * dos serviços e as consultas dos repositórios fora de transação) para as
+ * réplicas de leitura em {@code taxi.datasource.replica.urls}, e as escritas
+ * para o banco principal ({@code spring.datasource.url}).
+ *
+ * <p>O {@link DataSource} da aplicação é envolvido por um
+ * {@link ReadReplicaRoutingDataSource}; as réplicas, sua verificação de saúde
+ * e a leitura das próprias escritas ficam no {@link ReadReplicaRouter}.
+ * Ligado com {@code taxi.datasource.replica.enabled=true}.</p>
+ *
+ * <p>Com o limitador de concorrência ({@link DatabaseConcurrencyConfig}), o
+ * roteamento envolve o banco principal já limitado, e cada réplica recebe o
+ * seu próprio limitador, do tamanho do seu pool.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "taxi.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    /**
+     * Envolve o {@link DataSource} no {@link ReadReplicaRoutingDataSource}.
+     * É {@code static} para não antecipar a criação desta configuração.
+     */
+    @Bean
+    static BeanPostProcessor readReplicaRoutingPostProcessor(ObjectProvider<ReadReplicaRouter> router) {
+        return new RoutingPostProcessor(router);
+    }
+
+    /**
+     * Roda depois do limitador de concorrência, para envolver o banco principal já limitado.
+     */
+    private static final class RoutingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<ReadReplicaRouter> router;
+
+        private RoutingPostProcessor(ObjectProvider<ReadReplicaRouter> router) {
+            this.router = router;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof LazyConnectionDataSourceProxy) {
+                return bean;
+            }
+            return new ReadReplicaRoutingDataSource(dataSource, router::getObject);
+        }
+
+        @Override
+        public int getOrder() {
+            return DatabaseConcurrencyConfig.ORDER + 10;
+        }
+    }
+
+    @Bean
+    ReadReplicaRouter readReplicaRouter(MeterRegistry meterRegistry,
+            @Value("${taxi.datasource.replica.urls}") String urls,
+            @Value("${taxi.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${taxi.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${taxi.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${taxi.datasource.replica.connection-timeout-ms:2000}") long connectionTimeoutMillis,
+            @Value("${taxi.datasource.replica.health-check-interval-ms:5000}") long healthCheckIntervalMillis,
+            @Value("${taxi.datasource.replica.read-your-writes-ms:5000}") long readYourWritesMillis,
+            @Value("${taxi.db.concurrency-limit.enabled:false}") boolean limitConcurrency) {
+        List<String> replicaUrls = Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty())
+                .toList();
+        if (replicaUrls.isEmpty()) {
+            throw new IllegalArgumentException("taxi.datasource.replica.urls must list at least one JDBC URL.");
+        }
+        return new ReadReplicaRouter(meterRegistry, replicaUrls, username, password, maximumPoolSize,
+                connectionTimeoutMillis, healthCheckIntervalMillis, readYourWritesMillis, limitConcurrency);
+    }
+
+    @Bean
+    ReadYourWritesFilter readYourWritesFilter(ReadReplicaRouter router, ApiClients apiClients) {
+        return new ReadYourWritesFilter(router, apiClients);
+    }
+}
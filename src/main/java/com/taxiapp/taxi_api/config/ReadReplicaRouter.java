@@ -0,0 +1,270 @@
+package com.taxiapp.taxi_api.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Escolhe de onde vêm as conexões das transações somente leitura: uma das
+ * réplicas saudáveis (em rodízio) ou o banco principal.
+ *
+ * <p>Cada réplica tem seu próprio pool Hikari ({@code replica-1},
+ * {@code replica-2}...), somente leitura, e, com o limitador de concorrência
+ * ligado, o seu próprio {@link ConcurrencyLimitedDataSource}, que espera por
+ * uma licença no máximo {@code connection-timeout-ms}. A thread {@code replica-health}
+ * valida uma conexão de cada réplica a cada
+ * {@code taxi.datasource.replica.health-check-interval-ms}; uma réplica que
+ * falha na validação, ou não consegue abrir conexões com o banco, sai do
+ * rodízio até a próxima verificação bem-sucedida. Um pool apenas esgotado
+ * (todas as conexões em uso até o {@code connection-timeout-ms}) não é uma
+ * queda: a réplica continua no rodízio, e só aquela leitura vai para a
+ * próxima réplica ou para o banco principal. Sem réplicas saudáveis, as
+ * leituras vão para o banco principal.</p>
+ *
+ * <p><strong>Leitura das próprias escritas:</strong> quando uma requisição
+ * usa uma conexão de escrita, o cliente que a fez ({@link ReadYourWritesFilter})
+ * passa a ler do banco principal por {@code taxi.datasource.replica.read-your-writes-ms},
+ * tempo que deve cobrir o atraso de replicação. Os demais clientes continuam
+ * nas réplicas; leituras fora de requisições (despacho, cargas iniciais) não
+ * têm cliente e sempre usam as réplicas, podendo ver dados alguns instantes
+ * atrasados.</p>
+ *
+ * <p>Métricas: {@code taxi.datasource.replica.healthy} (tag {@code replica}),
+ * {@code taxi.datasource.read-only.connections} (tag {@code route}: a réplica,
+ * {@code primary-read-your-writes} ou {@code primary-fallback}) e as métricas
+ * {@code hikaricp.*} de cada pool.</p>
+ */
+public class ReadReplicaRouter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRouter.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    /**
+     * Uma réplica, seu pool e o resultado da última verificação.
+     */
+    private static final class Replica {
+        private final String name;
+        private final HikariDataSource pool;
+        /**
+         * De onde vêm as conexões das leituras: o pool, ou o limitador em volta dele.
+         */
+        private final DataSource source;
+        private final Counter connections;
+        private volatile boolean healthy;
+
+        private Replica(String name, HikariDataSource pool, DataSource source, Counter connections) {
+            this.name = name;
+            this.pool = pool;
+            this.source = source;
+            this.connections = connections;
+        }
+    }
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * Cliente da requisição atendida pela thread atual (nulo fora de requisições).
+     */
+    private final ThreadLocal<String> currentClient = new ThreadLocal<>();
+    /**
+     * Clientes que escreveram há menos de {@code read-your-writes-ms}.
+     */
+    private final Cache<String, Boolean> recentWriters;
+
+    private final Counter readYourWrites;
+    private final Counter fallback;
+
+    private final ScheduledExecutorService healthCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-health");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param urls                   URLs JDBC das réplicas.
+     * @param username               Usuário das réplicas.
+     * @param password               Senha das réplicas.
+     * @param maximumPoolSize        Tamanho máximo do pool de cada réplica.
+     * @param connectionTimeoutMillis Espera máxima por uma conexão de réplica antes de desistir dela.
+     * @param healthCheckIntervalMillis Intervalo entre as verificações de saúde.
+     * @param readYourWritesMillis   Tempo em que um cliente lê do principal após escrever (0 desliga).
+     * @param limitConcurrency       Se cada réplica tem o seu limitador de concorrência.
+     */
+    public ReadReplicaRouter(MeterRegistry meterRegistry, List<String> urls, String username, String password,
+            int maximumPoolSize, long connectionTimeoutMillis, long healthCheckIntervalMillis,
+            long readYourWritesMillis, boolean limitConcurrency) {
+        for (String url : urls) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(url);
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setMaximumPoolSize(maximumPoolSize);
+            pool.setConnectionTimeout(connectionTimeoutMillis);
+            pool.setReadOnly(true);
+            // Abre a primeira conexão já na criação, mas uma réplica fora do ar não impede a aplicação de subir
+            pool.setInitializationFailTimeout(0);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            DataSource source = limitConcurrency
+                    ? new ConcurrencyLimitedDataSource(pool, maximumPoolSize, connectionTimeoutMillis)
+                    : pool;
+            Replica replica = new Replica(name, pool, source, routeCounter(meterRegistry, name));
+            Gauge.builder("taxi.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("Whether the read replica passed its last health check")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            replicas.add(replica);
+        }
+        this.recentWriters = (readYourWritesMillis > 0)
+                ? Caffeine.newBuilder().expireAfterWrite(Duration.ofMillis(readYourWritesMillis)).build()
+                : null;
+        this.readYourWrites = routeCounter(meterRegistry, "primary-read-your-writes");
+        this.fallback = routeCounter(meterRegistry, "primary-fallback");
+
+        checkHealth();
+        log.info("Read replicas: {}", health());
+        healthCheck.scheduleWithFixedDelay(this::checkHealth, healthCheckIntervalMillis, healthCheckIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("taxi.datasource.read-only.connections")
+                .description("Connections handed to read-only transactions, by route")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Conexão para uma transação somente leitura.
+     *
+     * @param primary O banco principal, usado na leitura das próprias escritas
+     *                e quando nenhuma réplica está disponível.
+     */
+    Connection readOnlyConnection(DataSource primary) throws SQLException {
+        String client = currentClient.get();
+        if (client != null && recentWriters != null && recentWriters.getIfPresent(client) != null) {
+            readYourWrites.increment();
+            return primary.getConnection();
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.source.getConnection();
+                replica.connections.increment();
+                return connection;
+            } catch (SQLException ex) {
+                if (isConnectionFailure(ex)) {
+                    markDown(replica, ex);
+                }
+            }
+        }
+        fallback.increment();
+        return primary.getConnection();
+    }
+
+    /**
+     * Chamado quando a thread atual obtém uma conexão de escrita do banco principal.
+     */
+    void writeConnectionAcquired() {
+        String client = currentClient.get();
+        if (client != null && recentWriters != null) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Associa a thread atual ao cliente da requisição.
+     */
+    void begin(String client) {
+        currentClient.set(client);
+    }
+
+    /**
+     * Encerra a associação feita em {@link #begin(String)}.
+     */
+    void end() {
+        currentClient.remove();
+    }
+
+    /**
+     * Resultado da última verificação de cada réplica, por nome do pool.
+     */
+    public Map<String, Boolean> health() {
+        Map<String, Boolean> health = new LinkedHashMap<>();
+        replicas.forEach(replica -> health.put(replica.name, replica.healthy));
+        return health;
+    }
+
+    /**
+     * Valida uma conexão de cada réplica e atualiza o rodízio.
+     */
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Connection validation failed");
+                }
+                if (!replica.healthy) {
+                    log.info("Read replica {} is healthy; routing read-only transactions to it", replica.name);
+                    replica.healthy = true;
+                }
+            } catch (SQLException | RuntimeException ex) {
+                markDown(replica, ex);
+            }
+        }
+    }
+
+    /**
+     * Indica se a falha ao obter uma conexão veio do banco. O Hikari sinaliza o
+     * tempo esgotado com {@link SQLTransientConnectionException}, e só inclui
+     * uma causa quando a última tentativa de abrir uma conexão falhou; sem
+     * causa, o pool apenas estava cheio.
+     */
+    private static boolean isConnectionFailure(SQLException ex) {
+        return !(ex instanceof SQLTransientConnectionException) || ex.getCause() != null;
+    }
+
+    private void markDown(Replica replica, Exception cause) {
+        if (replica.healthy) {
+            log.warn("Read replica {} is unavailable; reads fall back to the other replicas or the primary: {}",
+                    replica.name, cause.getMessage());
+        }
+        replica.healthy = false;
+    }
+
+    @Override
+    public void close() {
+        healthCheck.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+    }
+}
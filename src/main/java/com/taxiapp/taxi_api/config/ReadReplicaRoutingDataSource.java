@@ -0,0 +1,51 @@
+package com.taxiapp.taxi_api.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * {@link DataSource} da aplicação com réplicas de leitura: transações
+ * {@code @Transactional(readOnly = true)} usam uma conexão do
+ * {@link ReadReplicaRouter}; as demais, do banco principal.
+ *
+ * <p>A escolha depende do {@link LazyConnectionDataSourceProxy}: o JPA recebe
+ * uma conexão "preguiçosa", e a conexão física só é obtida no primeiro comando
+ * SQL, depois que o gerenciador de transações marcou a conexão como somente
+ * leitura ({@code setReadOnly(true)}). Por isso o {@code spring.jpa.open-in-view}
+ * precisa estar desligado: com ele, a primeira conexão da requisição seria
+ * reaproveitada pelas transações seguintes, inclusive as de escrita.</p>
+ *
+ * <p>O roteador é obtido só na primeira conexão, para que este
+ * {@link DataSource} possa ser criado antes dos demais beans.</p>
+ */
+class ReadReplicaRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    ReadReplicaRoutingDataSource(DataSource primary, Supplier<ReadReplicaRouter> router) {
+        super(new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                router.get().writeConnectionAcquired();
+                return super.getConnection();
+            }
+        });
+        setReadOnlyDataSource(new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return router.get().readOnlyConnection(primary);
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                throw new SQLFeatureNotSupportedException("Read replicas use the configured credentials");
+            }
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package com.taxiapp.taxi_api.config;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.taxiapp.taxi_api.http.ApiClients;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Informa ao {@link ReadReplicaRouter} qual cliente ({@link ApiClients}) é
+ * atendido pela thread de cada requisição, para a leitura das próprias escritas.
+ */
+class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReadReplicaRouter router;
+    private final ApiClients apiClients;
+
+    ReadYourWritesFilter(ReadReplicaRouter router, ApiClients apiClients) {
+        this.router = router;
+        this.apiClients = apiClients;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        router.begin(apiClients.identify(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            router.end();
+        }
+    }
+}
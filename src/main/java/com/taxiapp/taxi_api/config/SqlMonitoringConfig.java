@@ -0,0 +1,34 @@
+package com.taxiapp.taxi_api.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.taxiapp.taxi_api.metrics.SlowQueryStatistics;
+import com.taxiapp.taxi_api.metrics.SqlRequestTracker;
+import com.taxiapp.taxi_api.metrics.SqlStatementInspector;
+
+/**
+ * Liga o {@link SqlRequestTracker} ao Hibernate, no lugar do
+ * {@code spring.jpa.show-sql}: um {@link SqlStatementInspector} conta os
+ * comandos de cada requisição e as estatísticas ({@link SlowQueryStatistics})
+ * registram as consultas lentas.
+ *
+ * <p>As estatísticas só são coletadas com
+ * {@code spring.jpa.properties.hibernate.generate_statistics=true}; sem ela as
+ * consultas lentas não são registradas, mas a contagem por requisição continua.</p>
+ */
+@Configuration
+public class SqlMonitoringConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlMonitoringHibernateCustomizer(SqlRequestTracker tracker) {
+        StatisticsFactory statisticsFactory = sessionFactory -> new SlowQueryStatistics(sessionFactory, tracker);
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector(tracker));
+            properties.put(AvailableSettings.STATS_BUILDER, statisticsFactory);
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.taxiapp.taxi_api.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Formatos binários para as respostas (e requisições) da API, escolhidos pelo
+ * cabeçalho {@code Accept} (ou {@code Content-Type}):
+ * <ul>
+ *   <li>{@code application/cbor} (CBOR, RFC 8949);</li>
+ *   <li>{@code application/x-jackson-smile} (Smile, JSON binário do Jackson).</li>
+ * </ul>
+ * Sem o cabeçalho, a resposta continua em JSON.
+ *
+ * <p>Os conversores usam o {@link Jackson2ObjectMapperBuilder} do Spring Boot,
+ * com as mesmas opções {@code spring.jackson.*} do JSON (ex: datas em
+ * ISO-8601), para que os três formatos tragam os mesmos campos e valores. A
+ * compressão gzip de todos eles é ligada em {@code server.compression.*}.</p>
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -5,17 +5,34 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.taxiapp.taxi_api.dto.BulkDriverResultDTO;
+import com.taxiapp.taxi_api.dto.CursorPageDTO;
+import com.taxiapp.taxi_api.dto.DriverLocationPingDTO;
+import com.taxiapp.taxi_api.dto.DriverLocationRequestDTO;
 import com.taxiapp.taxi_api.dto.DriverRequestDTO;
 import com.taxiapp.taxi_api.dto.DriverResponseDTO;
+import com.taxiapp.taxi_api.dto.LocationBatchResultDTO;
+import com.taxiapp.taxi_api.dto.NearbyDriverDTO;
 import com.taxiapp.taxi_api.dto.PassengerRequestDTO;
 import com.taxiapp.taxi_api.dto.PassengerResponseDTO;
+import com.taxiapp.taxi_api.events.DriverEvent;
+import com.taxiapp.taxi_api.events.DriverEventHub;
+import com.taxiapp.taxi_api.http.ETags;
+import com.taxiapp.taxi_api.http.IdempotencyStore;
 import com.taxiapp.taxi_api.model.Passenger;
 import com.taxiapp.taxi_api.service.DriverService;
 import com.taxiapp.taxi_api.service.PassengerService;
@@ -57,6 +74,41 @@ public class DriverController {
     @Autowired
     private DriverService driverService;
 
+    /**
+     * Distribuição dos eventos de motoristas para os assinantes do stream SSE.
+     */
+    @Autowired
+    private DriverEventHub driverEventHub;
+
+    /**
+     * Respostas guardadas dos cadastros com {@code Idempotency-Key}.
+     */
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    /**
+     * Limite superior para o parâmetro {@code k} da busca por proximidade.
+     */
+    private static final int MAX_NEAREST_RESULTS = 50;
+
+    /**
+     * Tamanho máximo de página aceito na listagem.
+     */
+    @Value("${taxi.pagination.max-limit:500}")
+    private int maxPageSize;
+
+    /**
+     * Quantidade máxima de motoristas aceita em um cadastro em lote.
+     */
+    @Value("${taxi.drivers.bulk-max-size:5000}")
+    private int maxBulkSize;
+
+    /**
+     * Quantidade máxima de posições aceita em um lote de ingestão.
+     */
+    @Value("${taxi.drivers.location.batch-max-size:1000}")
+    private int maxLocationBatchSize;
+
     /**
      * <h3>Endpoint: CREATE (Criar)</h3>
      * Cria um novo motorista no sistema.
@@ -66,23 +118,55 @@ public class DriverController {
      * <p>A anotação {@link Valid} ativa as validações
      * (ex: @NotBlank, @Email) definidas no DTO.</p>
      * 
+     * <p>Com o cabeçalho {@code Idempotency-Key}, uma repetição da mesma
+     * requisição recebe a resposta da primeira, sem criar outro motorista
+     * (ver {@link IdempotencyStore}).</p>
+     * 
      * @param requestDTO O DTO {@link DriverRequestDTO} contendo os
      * dados do novo motorista.
+     * @param idempotencyKey O cabeçalho {@code Idempotency-Key} (opcional).
      * @return O {@link DriverResponseDTO} do motorista recém-criado,
      * incluindo o ID gerado e outros campos preenchidos.
      * @see DriverService#createDriver(DriverRequestDTO)
      */
     @PostMapping
-    public ResponseEntity<DriverResponseDTO> createDriver(@Valid @RequestBody DriverRequestDTO requestDTO) {
-    
-    //1. Chama o service para criar o motorista
-    DriverResponseDTO response = driverService.createDriver(requestDTO);
+    public ResponseEntity<DriverResponseDTO> createDriver(@Valid @RequestBody DriverRequestDTO requestDTO,
+            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotencyStore.execute("POST /api/drivers", idempotencyKey, requestDTO, () -> {
+            //1. Chama o service para criar o motorista
+            DriverResponseDTO response = driverService.createDriver(requestDTO);
 
-    // 2. Retorna uma resposta "201 Created" (boa prática de API)
-    // Isso inclui um cabeçalho "Location" com a URL do novo recurso
-    return ResponseEntity.created(URI.create("api/drivers/" + response.id())).body(response);
-}
+            // 2. Retorna uma resposta "201 Created" (boa prática de API)
+            // Isso inclui um cabeçalho "Location" com a URL do novo recurso
+            return ResponseEntity.created(URI.create("api/drivers/" + response.id())).body(response);
+        });
+    }
     
+    /**
+     * <h3>Endpoint: CREATE (Criar em lote)</h3>
+     * Cadastra vários motoristas de uma só vez.
+     * 
+     * <p>Mapeado para: <code>POST /api/drivers/bulk</code></p>
+     * 
+     * <p>Cada linha é validada individualmente: as válidas são criadas e as
+     * inválidas são listadas em {@code errors} com sua posição no lote.</p>
+     * 
+     * @param requests A lista (JSON array) de {@link DriverRequestDTO}.
+     * @return Um {@link ResponseEntity} com status <strong>200 OK</strong>
+     * e o {@link BulkDriverResultDTO} com os criados e os erros por linha.
+     * @see DriverService#createDriversBulk(List)
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkDriverResultDTO> createDriversBulk(@RequestBody List<DriverRequestDTO> requests) {
+        // 1. Valida o tamanho do lote
+        if (requests.isEmpty() || requests.size() > maxBulkSize) {
+            throw new IllegalArgumentException("Bulk size must be between 1 and " + maxBulkSize + ".");
+        }
+
+        // 2. Retorna 200 OK com o resultado de cada linha
+        return ResponseEntity.ok(driverService.createDriversBulk(requests));
+    }
+
     /**
      * <h3>Endpoint: READ (Ler por ID)</h3>
      * Busca um motorista específico pelo seu ID.
@@ -90,6 +174,9 @@ public class DriverController {
      * <p>Mapeado para: <code>GET /api/drivers/{id}</code></p>
      * (ex: /api/drivers/1)</p>
      * 
+     * <p>A resposta traz um ETag forte; com {@code If-None-Match} igual ao
+     * ETag atual, o Spring responde <strong>304 Not Modified</strong> sem corpo.</p>
+     * 
      * @param id O ID do motorista a ser buscado,
      * fornecido como uma variável de caminho (path variable).
      * @return Um {@link ResponseEntity} com status <strong>200 OK</strong>
@@ -102,29 +189,138 @@ public class DriverController {
         // 1. Chama o service para buscar o motorista pelo ID
         Optional<DriverResponseDTO> Driver = driverService.getDriverById(id);
 
-        // 2. Retorna 200 OK com o motorista se encontrado, ou 404 Not Found se não encontrado
-        return Driver.map(ResponseEntity::ok)
+        // 2. Retorna 200 OK com o motorista e seu ETag (ou 304), ou 404 Not Found se não encontrado
+        return Driver.map(driver -> ResponseEntity.ok().eTag(ETags.of(driver)).body(driver))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
-     * <h3> Endpoint: READ (Ler todos)</h3>
-     * Retorna uma lista com todos os motoristas cadastrados no sistema.
+     * <h3> Endpoint: READ (Listar com cursor)</h3>
+     * Retorna uma página de motoristas cadastrados, em ordem crescente de ID.
+     * 
+     * <p>Mapeado para: <code>GET /api/drivers?after=&amp;limit=</code></p>
      * 
-     * <p>Mapeado para: <code>GET /api/drivers</code></p>
+     * <p>A paginação é por cursor (keyset): para obter a próxima página,
+     * envie o {@code nextCursor} recebido no parâmetro {@code after}.</p>
      * 
+     * @param after O cursor (último ID já recebido; 0 para a primeira página).
+     * @param limit O tamanho da página (padrão {@code taxi.pagination.default-limit}).
      * @return Um {@link ResponseEntity} com status <strong>200 OK</strong>
-     * e uma lista de {@link DriverResponseDTO} no corpo.
-     * <p> Retorna uma lista vazia se não houver motoristas cadastrados.</p>
-     * @see DriverService#getAllDrivers()
+     * e um {@link CursorPageDTO} de {@link DriverResponseDTO} no corpo.
+     * @see DriverService#getDriversPage(long, int)
      */
     @GetMapping
-    public ResponseEntity<List<DriverResponseDTO>> getAllDrivers() {
-        // 1. Chama o service para obter todos os motoristas
-        List<DriverResponseDTO> drivers = driverService.getAllDrivers();
+    public ResponseEntity<CursorPageDTO<DriverResponseDTO>> getAllDrivers(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "${taxi.pagination.default-limit:50}") int limit) {
+        // 1. Valida o tamanho da página
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize + ".");
+        }
+
+        // 2. Retorna 200 OK com a página de motoristas (pode estar vazia)
+        return ResponseEntity.ok(driverService.getDriversPage(after, limit));
+    }
+
+    /**
+     * <h3>Endpoint: READ (Motoristas próximos)</h3>
+     * Retorna os {@code k} motoristas disponíveis mais próximos de um ponto.
+     *
+     * <p>Mapeado para: <code>GET /api/drivers/nearest?lat=&amp;lon=&amp;k=</code></p>
+     *
+     * <p>A busca é respondida pelo índice geoespacial em memória, sem consultar o banco.</p>
+     *
+     * @param lat Latitude do ponto de referência.
+     * @param lon Longitude do ponto de referência.
+     * @param k   Quantidade de motoristas (padrão 5, máximo 50).
+     * @return Um {@link ResponseEntity} com status <strong>200 OK</strong>
+     * e a lista de {@link NearbyDriverDTO} ordenada pela distância.
+     * @see DriverService#findNearestAvailableDrivers(double, double, int)
+     */
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearbyDriverDTO>> getNearestDrivers(@RequestParam double lat,
+            @RequestParam double lon, @RequestParam(defaultValue = "5") int k) {
+        // 1. Valida os parâmetros da busca
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            throw new IllegalArgumentException("Invalid coordinates.");
+        }
+        if (k < 1 || k > MAX_NEAREST_RESULTS) {
+            throw new IllegalArgumentException("k must be between 1 and " + MAX_NEAREST_RESULTS + ".");
+        }
+
+        // 2. Retorna 200 OK com os motoristas encontrados (pode estar vazia)
+        return ResponseEntity.ok(driverService.findNearestAvailableDrivers(lat, lon, k));
+    }
+
+    /**
+     * <h3>Endpoint: STREAM (Eventos)</h3>
+     * Abre um stream Server-Sent Events com as alterações dos motoristas
+     * (cadastro, dados, posição, disponibilidade e remoção), na ordem em que
+     * foram confirmadas.
+     *
+     * <p>Mapeado para: <code>GET /api/drivers/events</code></p>
+     *
+     * <p>Cada evento SSE tem como nome o {@code type} e como dado o
+     * {@link DriverEvent} em JSON. Só são enviadas as alterações posteriores à
+     * conexão: o estado inicial deve ser lido em {@code GET /api/drivers}.
+     * Clientes que não acompanham o ritmo dos eventos são desconectados.</p>
+     *
+     * @return Um {@link ResponseEntity} com status <strong>200 OK</strong> e o stream de eventos.
+     * <p> Retorna <strong>503 Service Unavailable</strong> se o limite de assinantes foi atingido.</p>
+     * @see DriverEventHub
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamDriverEvents() {
+        return driverEventHub.subscribe()
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    /**
+     * <h3>Endpoint: UPDATE (Posição)</h3>
+     * Atualiza a posição atual de um motorista.
+     *
+     * <p>Mapeado para: <code>PUT /api/drivers/{id}/location</code></p>
+     *
+     * @param id O ID do motorista, fornecido na URL.
+     * @param locationDTO O DTO (JSON) {@link DriverLocationRequestDTO} com a nova posição.
+     * @return Um {@link ResponseEntity} com status <strong>200 OK</strong>
+     * e o {@link DriverResponseDTO} atualizado.
+     * <p> Retorna <strong>404 Not Found</strong> se o ID do
+     * motorista não existir.</p>
+     * @see DriverService#updateDriverLocation(long, DriverLocationRequestDTO)
+     */
+    @PutMapping("/{id}/location")
+    public ResponseEntity<DriverResponseDTO> updateDriverLocation(@PathVariable Long id,
+            @Valid @RequestBody DriverLocationRequestDTO locationDTO) {
+        // 1. Chama o service para atualizar a posição (404 pelo GlobalExceptionHandler se não existir)
+        return ResponseEntity.ok(driverService.updateDriverLocation(id, locationDTO));
+    }
+
+    /**
+     * <h3>Endpoint: UPDATE (Posições em lote)</h3>
+     * Recebe as posições reportadas pelo GPS de vários motoristas.
+     *
+     * <p>Mapeado para: <code>POST /api/drivers/locations</code></p>
+     *
+     * <p>Feito para pings frequentes (a cada poucos segundos): as posições são
+     * aplicadas em memória na hora e gravadas no banco depois, em lote. Cada
+     * linha é validada individualmente; as inválidas são listadas em {@code errors}.</p>
+     *
+     * @param pings A lista (JSON array) de {@link DriverLocationPingDTO}.
+     * @return Um {@link ResponseEntity} com status <strong>202 Accepted</strong>
+     * e o {@link LocationBatchResultDTO}.
+     * @see DriverService#recordLocations(List)
+     */
+    @PostMapping("/locations")
+    public ResponseEntity<LocationBatchResultDTO> recordLocations(@RequestBody List<DriverLocationPingDTO> pings) {
+        // 1. Valida o tamanho do lote
+        if (pings.isEmpty() || pings.size() > maxLocationBatchSize) {
+            throw new IllegalArgumentException("Batch size must be between 1 and " + maxLocationBatchSize + ".");
+        }
 
-        // 2. Retorna 200 OK com a lista de motoristas (pode estar vazia)
-        return ResponseEntity.ok(drivers);
+        // 2. Retorna 202 Accepted: a gravação no banco é assíncrona
+        return ResponseEntity.accepted().body(driverService.recordLocations(pings));
     }
 
     /**
@@ -135,19 +331,23 @@ public class DriverController {
      * 
      * @param id O ID do motorista a ser atualizado, fornecido na URL.
      * @param requestDTO O DTO (JSON) {@link DriverRequestDTO} com os novos dados para o motorista.
+     * @param ifMatch O ETag lido pelo cliente (opcional), para não sobrescrever alterações de outros.
      * @return Um {@link ResponseEntity} com status <strong>200 OK</strong>
-     * e o {@link DriverResponseDTO} com os dados atualizados.
+     * e o {@link DriverResponseDTO} com os dados atualizados e o novo ETag.
      * <p> Retorna <strong>404 Not Found</strong> se o ID do 
      * motorista não existir.</p>
-     * @see DriverService#updateDriver(Long, DriverRequestDTO)
+     * <p> Retorna <strong>412 Precondition Failed</strong> se o {@code If-Match}
+     * não corresponder ao ETag atual.</p>
+     * @see DriverService#updateDriver(long, DriverRequestDTO, String)
      */
     @PutMapping("/{id}")
-    public ResponseEntity<DriverResponseDTO> updateDriver(@PathVariable Long id, @Valid @RequestBody DriverRequestDTO requestDTO) {
+    public ResponseEntity<DriverResponseDTO> updateDriver(@PathVariable Long id, @Valid @RequestBody DriverRequestDTO requestDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
             // 1. Chama o service para atualizar o motorista
-            DriverResponseDTO updatedDriver = driverService.updateDriver(id, requestDTO);
+            DriverResponseDTO updatedDriver = driverService.updateDriver(id, requestDTO, ifMatch);
 
             // 2. Retorna 200 OK com o motorista atualizado
-            return ResponseEntity.ok(updatedDriver);
+            return ResponseEntity.ok().eTag(ETags.of(updatedDriver)).body(updatedDriver);
     }
 
     /**
@@ -165,16 +365,11 @@ public class DriverController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteDriver(@PathVariable Long id) {
-        try {
-            // 1. Chama o service para deletar o motorista
-            driverService.deleteDriver(id);
-
-            // 2. Retorna 204 No Content se a deleção for bem-sucedida
-            return ResponseEntity.noContent().build();
-        } catch (IllegalArgumentException e) {
-            // Retorna 404 Not Found se o ID do motorista não existir
-            return ResponseEntity.notFound().build();
-        }
+        // 1. Chama o service para deletar o motorista (404 pelo GlobalExceptionHandler se não existir)
+        driverService.deleteDriver(id);
+
+        // 2. Retorna 204 No Content se a deleção for bem-sucedida
+        return ResponseEntity.noContent().build();
     }
 
 
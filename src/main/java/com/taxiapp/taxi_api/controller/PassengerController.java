@@ -1,10 +1,12 @@
 package com.taxiapp.taxi_api.controller;
 
 import java.net.URI;
-import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,11 +14,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.taxiapp.taxi_api.dto.CursorPageDTO;
 import com.taxiapp.taxi_api.dto.PassengerRequestDTO;
 import com.taxiapp.taxi_api.dto.PassengerResponseDTO;
+import com.taxiapp.taxi_api.http.ETags;
+import com.taxiapp.taxi_api.http.IdempotencyStore;
 import com.taxiapp.taxi_api.service.PassengerService;
 
 import jakarta.validation.Valid;
@@ -49,6 +57,18 @@ public class PassengerController {
     @Autowired
     private PassengerService passengerService;
 
+    /**
+     * Respostas guardadas dos cadastros com {@code Idempotency-Key}.
+     */
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    /**
+     * Tamanho máximo de página aceito na listagem.
+     */
+    @Value("${taxi.pagination.max-limit:500}")
+    private int maxPageSize;
+
     /**
      * <h3>Endpoint: CREATE (Criar)</h3>
      * Cria um novo passageiro no sistema.
@@ -58,22 +78,32 @@ public class PassengerController {
      * <p>A anotação {@link Valid} ativa as validações
      * (ex: @NotBlank, @Email) definidas no DTO.</p>
      *
+     * <p>Com o cabeçalho {@code Idempotency-Key}, uma repetição da mesma
+     * requisição recebe a resposta da primeira, sem criar outro passageiro
+     * (ver {@link IdempotencyStore}).</p>
+     *
      * @param requestDTO O DTO (JSON) contendo os dados do novo
      * passageiro a ser criado.
+     * @param idempotencyKey O cabeçalho {@code Idempotency-Key} (opcional).
      * @return Um {@link ResponseEntity} com status <strong>201 Created</strong>,
      * o {@link PassengerResponseDTO} do passageiro criado no corpo
      * e um cabeçalho "Location" com a URL para o novo recurso.
+     * <p>Retorna <strong>422 Unprocessable Entity</strong> se a chave já foi
+     * usada com outros dados.</p>
      * @see PassengerService#createPassenger(PassengerRequestDTO)
      */
     @PostMapping
     public ResponseEntity<PassengerResponseDTO> createPAssenger(
-            @Valid @RequestBody PassengerRequestDTO requestDTO) {
-        // 1. Chama o service para criar o passageiro
-        PassengerResponseDTO response = passengerService.createPassenger(requestDTO);
-
-        // 2. Retorna uma resposta "201 Created" (boa prática de API)
-        // Isso inclui um cabeçalho "Location" com a URL do novo recurso
-        return ResponseEntity.created(URI.create("/api/passengers/" + response.id())).body(response);
+            @Valid @RequestBody PassengerRequestDTO requestDTO,
+            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotencyStore.execute("POST /api/passengers", idempotencyKey, requestDTO, () -> {
+            // 1. Chama o service para criar o passageiro
+            PassengerResponseDTO response = passengerService.createPassenger(requestDTO);
+
+            // 2. Retorna uma resposta "201 Created" (boa prática de API)
+            // Isso inclui um cabeçalho "Location" com a URL do novo recurso
+            return ResponseEntity.created(URI.create("/api/passengers/" + response.id())).body(response);
+        });
     }
 
     /**
@@ -83,6 +113,9 @@ public class PassengerController {
      * <p>Mapeado para: <code>GET /api/passengers/{id}</code>
      * (ex: /api/passengers/1)</p>
      *
+     * <p>A resposta traz um ETag forte; com {@code If-None-Match} igual ao
+     * ETag atual, o Spring responde <strong>304 Not Modified</strong> sem corpo.</p>
+     *
      * @param id O ID (Long) do passageiro a ser buscado,
      * fornecido como uma variável de caminho (path variable).
      * @return Um {@link ResponseEntity} com status <strong>200 OK</strong>
@@ -95,28 +128,56 @@ public class PassengerController {
         // 1. Chama o service para obter o passageiro pelo ID
         Optional<PassengerResponseDTO> passenger = passengerService.getPassengerbyId(id);
 
-        // 2. Retorna 200 OK (se encontrou) ou 404 Not Found (se não encontrou)
-        return passenger.map(ResponseEntity::ok)
+        // 2. Retorna 200 OK com o ETag (ou 304, se não mudou) ou 404 Not Found (se não encontrou)
+        return passenger.map(p -> ResponseEntity.ok().eTag(ETags.of(p)).body(p))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     /**
-     * <h3>Endpoint: READ (Ler Todos)</h3>
-     * Retorna uma lista com todos os passageiros cadastrados no sistema.
+     * <h3>Endpoint: READ (Listar com cursor)</h3>
+     * Retorna uma página de passageiros cadastrados, em ordem crescente de ID.
+     *
+     * <p>Mapeado para: <code>GET /api/passengers?after=&amp;limit=</code></p>
      *
-     * <p>Mapeado para: <code>GET /api/passengers</code></p>
+     * <p>A paginação é por cursor (keyset): para obter a próxima página,
+     * envie o {@code nextCursor} recebido no parâmetro {@code after}.</p>
      *
+     * @param after O cursor (último ID já recebido; 0 para a primeira página).
+     * @param limit O tamanho da página (padrão {@code taxi.pagination.default-limit}).
      * @return Um {@link ResponseEntity} com status <strong>200 OK</strong>
-     * e uma {@link List} de {@link PassengerResponseDTO} no corpo.
-     * <p>A lista pode estar vazia se não houver passageiros.</p>
-     * @see PassengerService#getAllPassengers()
+     * e um {@link CursorPageDTO} de {@link PassengerResponseDTO} no corpo.
+     * @see PassengerService#getPassengersPage(long, int)
      */
     @GetMapping
-    public ResponseEntity<List<PassengerResponseDTO>> getAllPassengers() {
-        // 1. Chama o service para obter todos os passageiros
-        List<PassengerResponseDTO> passengers = passengerService.getAllPassengers();
-        // 2. Retorna 200 OK com a lista (pode ser vazia)
-        return ResponseEntity.ok(passengers);
+    public ResponseEntity<CursorPageDTO<PassengerResponseDTO>> getAllPassengers(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "${taxi.pagination.default-limit:50}") int limit) {
+        // 1. Valida o tamanho da página
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize + ".");
+        }
+        // 2. Retorna 200 OK com a página (pode ser vazia)
+        return ResponseEntity.ok(passengerService.getPassengersPage(after, limit));
+    }
+
+    /**
+     * <h3>Endpoint: READ (Exportar todos)</h3>
+     * Exporta todos os passageiros em NDJSON (um {@link PassengerResponseDTO} por linha).
+     *
+     * <p>Mapeado para: <code>GET /api/passengers/export</code></p>
+     *
+     * <p>A resposta é escrita em streaming ({@link StreamingResponseBody}) à
+     * medida que as linhas são lidas do banco, com uso de memória constante.</p>
+     *
+     * @return Um {@link ResponseEntity} com status <strong>200 OK</strong>
+     * e o corpo em <code>application/x-ndjson</code>.
+     * @see PassengerService#exportPassengers(java.io.OutputStream)
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPassengers() {
+        // O corpo é escrito em outra thread, dentro da transação aberta pelo service
+        StreamingResponseBody body = passengerService::exportPassengers;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     /**
@@ -127,25 +188,26 @@ public class PassengerController {
      *
      * @param id O ID (Long) do passageiro a ser atualizado (da URL).
      * @param requestDTO O DTO (JSON) com os novos dados para o passageiro.
+     * @param ifMatch O ETag lido pelo cliente (opcional), para não sobrescrever alterações de outros.
      * @return Um {@link ResponseEntity} com status <strong>200 OK</strong>
-     * e o {@link PassengerResponseDTO} com os dados atualizados.
+     * e o {@link PassengerResponseDTO} com os dados atualizados e o novo ETag.
      * <p>Retorna <strong>404 Not Found</strong> se o ID do
      * passageiro não for encontrado.</p>
-     * @see PassengerService#updatePassenger(Long, PassengerRequestDTO)
+     * <p>Retorna <strong>400 Bad Request</strong> se o email, username ou
+     * telefone já estiverem em uso por outro passageiro.</p>
+     * <p>Retorna <strong>412 Precondition Failed</strong> se o {@code If-Match}
+     * não corresponder ao ETag atual.</p>
+     * @see PassengerService#updatePassenger(long, PassengerRequestDTO, String)
      */
     @PutMapping("/{id}")
     public ResponseEntity<PassengerResponseDTO> updatePassenger(@PathVariable Long id,
-            @Valid @RequestBody PassengerRequestDTO requestDTO) {
-        try {
-            // Chama o service para atualizar o passageiro
-            PassengerResponseDTO updatedPassenger = passengerService.updatePassenger(id, requestDTO);
-
-            // Retorna 200 OK (se atualizou)
-            return ResponseEntity.ok(updatedPassenger);
-        } catch (IllegalArgumentException e) {
-            // Se o service lançou exceção (ex: "Passenger not found"), retorna 404
-            return ResponseEntity.notFound().build();
-        }
+            @Valid @RequestBody PassengerRequestDTO requestDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // Chama o service para atualizar o passageiro (404 pelo GlobalExceptionHandler se não existir)
+        PassengerResponseDTO updatedPassenger = passengerService.updatePassenger(id, requestDTO, ifMatch);
+
+        // Retorna 200 OK (se atualizou) com o novo ETag
+        return ResponseEntity.ok().eTag(ETags.of(updatedPassenger)).body(updatedPassenger);
     }
 
     /**
@@ -163,16 +225,10 @@ public class PassengerController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePassenger(@PathVariable Long id) {
-        try {
-            // Chama o service para deletar o passageiro
-            passengerService.deletePassenger(id);
-            // Retorna 204 No Content (sucesso, sem corpo de resposta)
-            return ResponseEntity.noContent().build();
-        } catch (IllegalStateException e) {
-            // Se o service lançou exceção (ex: "Passenger not found"), retorna 404
-            return ResponseEntity.notFound().build();
-        }
-
+        // Chama o service para deletar o passageiro (404 pelo GlobalExceptionHandler se não existir)
+        passengerService.deletePassenger(id);
+        // Retorna 204 No Content (sucesso, sem corpo de resposta)
+        return ResponseEntity.noContent().build();
     }
 
 }
\ No newline at end of file
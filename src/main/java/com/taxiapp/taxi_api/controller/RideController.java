@@ -0,0 +1,122 @@
+package com.taxiapp.taxi_api.controller;
+
+import java.net.URI;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.taxiapp.taxi_api.dto.RideRequestDTO;
+import com.taxiapp.taxi_api.dto.RideResponseDTO;
+import com.taxiapp.taxi_api.model.Ride;
+import com.taxiapp.taxi_api.service.RideService;
+
+import jakarta.validation.Valid;
+
+/**
+ * Controlador REST API para gerenciar a entidade {@link Ride}.
+ *
+ * <p>A atribuição de motoristas não é exposta aqui: ela é feita de forma
+ * assíncrona pelo {@link com.taxiapp.taxi_api.dispatch.DispatchEngine}.
+ * O cliente acompanha a corrida consultando <code>GET /api/rides/{id}</code>.</p>
+ *
+ * @see RideService
+ * @see RideRequestDTO
+ * @see RideResponseDTO
+ */
+@RestController
+@RequestMapping("/api/rides")
+public class RideController {
+
+    /**
+     * Injeção da camada de serviço (Service) das corridas.
+     */
+    @Autowired
+    private RideService rideService;
+
+    /**
+     * <h3>Endpoint: CREATE (Solicitar)</h3>
+     * Solicita uma nova corrida, que nasce com status REQUESTED.
+     *
+     * <p>Mapeado para: <code>POST /api/rides</code></p>
+     *
+     * @param requestDTO O DTO {@link RideRequestDTO} com os dados da corrida.
+     * @return Um {@link ResponseEntity} com status <strong>201 Created</strong>
+     * e o {@link RideResponseDTO} da corrida criada.
+     * @see RideService#createRide(RideRequestDTO)
+     */
+    @PostMapping
+    public ResponseEntity<RideResponseDTO> createRide(@Valid @RequestBody RideRequestDTO requestDTO) {
+        RideResponseDTO response = rideService.createRide(requestDTO);
+        return ResponseEntity.created(URI.create("/api/rides/" + response.id())).body(response);
+    }
+
+    /**
+     * <h3>Endpoint: READ (Ler por ID)</h3>
+     * Busca uma corrida pelo seu ID.
+     *
+     * <p>Mapeado para: <code>GET /api/rides/{id}</code></p>
+     *
+     * @param id O ID da corrida.
+     * @return <strong>200 OK</strong> com o {@link RideResponseDTO},
+     * ou <strong>404 Not Found</strong> se não existir.
+     * @see RideService#getRideById(long)
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<RideResponseDTO> getRideById(@PathVariable Long id) {
+        return rideService.getRideById(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * <h3>Endpoint: UPDATE (Iniciar)</h3>
+     * Marca a corrida como IN_PROGRESS.
+     *
+     * <p>Mapeado para: <code>PUT /api/rides/{id}/start</code></p>
+     *
+     * @param id O ID da corrida.
+     * @return <strong>200 OK</strong> com o {@link RideResponseDTO} atualizado.
+     * @see RideService#startRide(long)
+     */
+    @PutMapping("/{id}/start")
+    public ResponseEntity<RideResponseDTO> startRide(@PathVariable Long id) {
+        return ResponseEntity.ok(rideService.startRide(id));
+    }
+
+    /**
+     * <h3>Endpoint: UPDATE (Finalizar)</h3>
+     * Marca a corrida como COMPLETED e libera o motorista.
+     *
+     * <p>Mapeado para: <code>PUT /api/rides/{id}/complete</code></p>
+     *
+     * @param id O ID da corrida.
+     * @return <strong>200 OK</strong> com o {@link RideResponseDTO} atualizado.
+     * @see RideService#completeRide(long)
+     */
+    @PutMapping("/{id}/complete")
+    public ResponseEntity<RideResponseDTO> completeRide(@PathVariable Long id) {
+        return ResponseEntity.ok(rideService.completeRide(id));
+    }
+
+    /**
+     * <h3>Endpoint: UPDATE (Cancelar)</h3>
+     * Cancela uma corrida REQUESTED ou ACCEPTED.
+     *
+     * <p>Mapeado para: <code>PUT /api/rides/{id}/cancel</code></p>
+     *
+     * @param id O ID da corrida.
+     * @return <strong>200 OK</strong> com o {@link RideResponseDTO} atualizado.
+     * @see RideService#cancelRide(long)
+     */
+    @PutMapping("/{id}/cancel")
+    public ResponseEntity<RideResponseDTO> cancelRide(@PathVariable Long id) {
+        return ResponseEntity.ok(rideService.cancelRide(id));
+    }
+}
@@ -0,0 +1,22 @@
+package com.taxiapp.taxi_api.dispatch;
+
+import com.taxiapp.taxi_api.geo.DriverPosition;
+
+/**
+ * Par corrida/motorista reivindicado em memória pelo {@link DispatchEngine}
+ * e ainda não confirmado no banco de dados.
+ *
+ * @param request        O pedido de despacho original.
+ * @param driverPosition A posição do motorista no momento da reivindicação
+ *                       (usada para devolvê-lo ao índice se a atribuição falhar).
+ */
+public record Assignment(DispatchRequest request, DriverPosition driverPosition) {
+
+    public long rideId() {
+        return request.rideId();
+    }
+
+    public long driverId() {
+        return driverPosition.driverId();
+    }
+}
@@ -0,0 +1,10 @@
+package com.taxiapp.taxi_api.dispatch;
+
+/**
+ * Resultado da confirmação de uma {@link Assignment} no banco de dados.
+ */
+public enum AssignmentOutcome {
+    ASSIGNED,             // A corrida foi aceita pelo motorista
+    DRIVER_UNAVAILABLE,   // O motorista já estava indisponível no banco (índice desatualizado)
+    RIDE_NOT_REQUESTED    // A corrida não estava mais REQUESTED (ex: foi cancelada)
+}
@@ -0,0 +1,114 @@
+package com.taxiapp.taxi_api.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import com.taxiapp.taxi_api.config.CacheConfig;
+import com.taxiapp.taxi_api.events.DriverEvent;
+import com.taxiapp.taxi_api.model.Driver;
+import com.taxiapp.taxi_api.repository.DriverRepository;
+import com.taxiapp.taxi_api.repository.RideRepository;
+
+/**
+ * Persiste no banco de dados as atribuições feitas pelo {@link DispatchEngine}.
+ *
+ * <p>Um lote inteiro de atribuições é confirmado em <strong>uma única transação</strong>.
+ * Cada atribuição usa duas atualizações condicionais: o motorista só é
+ * reivindicado se ainda estiver disponível, e a corrida só é aceita se ainda
+ * estiver REQUESTED. Assim, mesmo que o índice em memória esteja desatualizado,
+ * o banco nunca registra uma atribuição dupla.</p>
+ *
+ * <p>Após o commit, os motoristas reivindicados são removidos do cache
+ * {@value CacheConfig#DRIVERS} e do cache de segundo nível do Hibernate, já que
+ * mudaram de disponibilidade por UPDATEs nativos, e os que ficaram com uma
+ * corrida são anunciados como indisponíveis ({@link DriverEvent}).</p>
+ */
+@Component
+public class DispatchAssignmentWriter {
+
+    private final DriverRepository driverRepository;
+
+    private final RideRepository rideRepository;
+
+    private final CacheManager cacheManager;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Construtor para Injeção de Dependência.
+     */
+    public DispatchAssignmentWriter(DriverRepository driverRepository, RideRepository rideRepository,
+            CacheManager cacheManager, EntityManagerFactory entityManagerFactory,
+            ApplicationEventPublisher eventPublisher) {
+        this.driverRepository = driverRepository;
+        this.rideRepository = rideRepository;
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Confirma um lote de atribuições.
+     *
+     * @param assignments As atribuições reivindicadas em memória.
+     * @return O resultado de cada atribuição, na mesma ordem da entrada.
+     */
+    @Transactional
+    public List<AssignmentOutcome> persist(List<Assignment> assignments) {
+        List<AssignmentOutcome> outcomes = new ArrayList<>(assignments.size());
+        List<Long> claimedDrivers = new ArrayList<>(assignments.size());
+        for (Assignment assignment : assignments) {
+            // 1. Reivindica o motorista (falha se outro processo já o ocupou)
+            if (driverRepository.claimIfAvailable(assignment.driverId()) == 0) {
+                outcomes.add(AssignmentOutcome.DRIVER_UNAVAILABLE);
+                continue;
+            }
+            claimedDrivers.add(assignment.driverId());
+
+            // 2. Aceita a corrida (falha se ela foi cancelada nesse meio tempo)
+            int updated = rideRepository.assignDriver(assignment.rideId(),
+                    driverRepository.getReferenceById(assignment.driverId()));
+            if (updated == 0) {
+                driverRepository.release(assignment.driverId());
+                outcomes.add(AssignmentOutcome.RIDE_NOT_REQUESTED);
+                continue;
+            }
+
+            outcomes.add(AssignmentOutcome.ASSIGNED);
+            eventPublisher.publishEvent(DriverEvent.availability(assignment.driverId(), false));
+        }
+        evictAfterCommit(claimedDrivers);
+        return outcomes;
+    }
+
+    private void evictAfterCommit(List<Long> driverIds) {
+        if (driverIds.isEmpty()) {
+            return;
+        }
+        Cache drivers = cacheManager.getCache(CacheConfig.DRIVERS);
+        jakarta.persistence.Cache entityCache = entityManagerFactory.getCache();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (Long driverId : driverIds) {
+                    entityCache.evict(Driver.class, driverId);
+                    if (drivers != null) {
+                        drivers.evict(driverId);
+                    }
+                }
+            }
+        });
+    }
+}
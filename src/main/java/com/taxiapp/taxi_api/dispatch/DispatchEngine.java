@@ -0,0 +1,420 @@
+package com.taxiapp.taxi_api.dispatch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.taxiapp.taxi_api.dto.NearbyDriverDTO;
+import com.taxiapp.taxi_api.geo.DriverLocationIndex;
+import com.taxiapp.taxi_api.geo.DriverPosition;
+import com.taxiapp.taxi_api.geo.GeoUtils;
+
+/**
+ * Motor de despacho que atribui motoristas disponíveis às corridas REQUESTED.
+ *
+ * <p>O motor segue o modelo <strong>single-writer</strong>: qualquer thread pode
+ * enfileirar pedidos com {@link #submit(DispatchRequest)}, mas apenas a thread
+ * {@code ride-dispatcher} consome a fila e faz o casamento. Para cada corrida ela
+ * consulta o {@link DriverLocationIndex} e reivindica o motorista mais próximo
+ * removendo-o do índice (operação atômica), sem nenhum lock ou acesso ao banco.</p>
+ *
+ * <p>Os pedidos são drenados em lotes e cada lote é confirmado com uma única
+ * transação pelo {@link DispatchAssignmentWriter}. Corridas sem motorista
+ * disponível voltam para uma fila de novas tentativas, também confinada à
+ * thread do despachante.</p>
+ *
+ * <p>No modo {@link DispatchMode#BATCH} o despachante acumula as corridas durante
+ * {@code taxi.dispatch.batch-window-ms} e resolve uma atribuição de custo mínimo
+ * (soma das distâncias de busca) entre as corridas da janela e os motoristas
+ * próximos a elas, com o {@link HungarianAssignmentSolver}. Em rajadas de
+ * demanda isso reduz o tempo total de busca em relação ao casamento guloso.</p>
+ */
+@Component
+public class DispatchEngine implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(DispatchEngine.class);
+
+    private final DriverLocationIndex locationIndex;
+
+    private final DispatchAssignmentWriter writer;
+
+    private final HungarianAssignmentSolver solver = new HungarianAssignmentSolver();
+
+    /**
+     * Fila de entrada (multi-producer, single-consumer).
+     */
+    private final BlockingQueue<DispatchRequest> inbox;
+
+    /**
+     * Corridas aguardando nova tentativa, ordenadas pelo instante de vencimento.
+     * Acessada apenas pela thread do despachante.
+     */
+    private final ArrayDeque<PendingRetry> retries = new ArrayDeque<>();
+
+    /**
+     * Corridas aceitas por {@link #submit} e ainda não resolvidas (na fila de
+     * entrada, em um lote ou aguardando nova tentativa), com a marca de
+     * cancelamento. Só guarda as corridas pendentes: o cancelamento de uma
+     * corrida que não está aqui é ignorado.
+     */
+    private final ConcurrentHashMap<Long, Boolean> pending = new ConcurrentHashMap<>();
+
+    private final int maxBatchSize;
+
+    private final int candidatesPerRide;
+
+    private final long retryDelayNanos;
+
+    private final long pollTimeoutMillis;
+
+    private final DispatchMode mode;
+
+    private final long batchWindowNanos;
+
+    private final int batchMaxRides;
+
+    private final int batchCandidatesPerRide;
+
+    private final int batchMaxDrivers;
+
+    private volatile boolean running;
+
+    private Thread dispatcherThread;
+
+    /**
+     * Construtor para Injeção de Dependência.
+     *
+     * @param locationIndex     Índice de motoristas disponíveis.
+     * @param writer            Responsável por confirmar os lotes no banco.
+     * @param queueCapacity     Capacidade da fila de entrada.
+     * @param maxBatchSize      Máximo de corridas processadas por lote/transação.
+     * @param candidatesPerRide Quantos motoristas próximos são tentados por corrida.
+     * @param retryDelayMillis  Espera antes de tentar novamente uma corrida sem motorista.
+     * @param pollTimeoutMillis Espera máxima por novos pedidos antes de revisar as novas tentativas.
+     * @param mode              Estratégia de casamento (GREEDY ou BATCH).
+     * @param batchWindowMillis Duração da janela de acumulação no modo BATCH.
+     * @param batchMaxRides    Máximo de corridas resolvidas por janela no modo BATCH.
+     * @param batchCandidatesPerRide Motoristas próximos considerados por corrida no modo BATCH.
+     * @param batchMaxDrivers   Máximo de motoristas (colunas da matriz) por janela no modo BATCH.
+     */
+    public DispatchEngine(DriverLocationIndex locationIndex, DispatchAssignmentWriter writer,
+            @Value("${taxi.dispatch.queue-capacity:100000}") int queueCapacity,
+            @Value("${taxi.dispatch.max-batch-size:256}") int maxBatchSize,
+            @Value("${taxi.dispatch.candidates-per-ride:8}") int candidatesPerRide,
+            @Value("${taxi.dispatch.retry-delay-ms:1000}") long retryDelayMillis,
+            @Value("${taxi.dispatch.poll-timeout-ms:50}") long pollTimeoutMillis,
+            @Value("${taxi.dispatch.mode:GREEDY}") DispatchMode mode,
+            @Value("${taxi.dispatch.batch-window-ms:2000}") long batchWindowMillis,
+            @Value("${taxi.dispatch.batch-max-rides:2000}") int batchMaxRides,
+            @Value("${taxi.dispatch.batch-candidates-per-ride:16}") int batchCandidatesPerRide,
+            @Value("${taxi.dispatch.batch-max-drivers:2000}") int batchMaxDrivers) {
+        this.locationIndex = locationIndex;
+        this.writer = writer;
+        this.inbox = new LinkedBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.candidatesPerRide = candidatesPerRide;
+        this.retryDelayNanos = TimeUnit.MILLISECONDS.toNanos(retryDelayMillis);
+        this.pollTimeoutMillis = pollTimeoutMillis;
+        this.mode = mode;
+        this.batchWindowNanos = TimeUnit.MILLISECONDS.toNanos(batchWindowMillis);
+        this.batchMaxRides = batchMaxRides;
+        this.batchCandidatesPerRide = batchCandidatesPerRide;
+        this.batchMaxDrivers = batchMaxDrivers;
+    }
+
+    /**
+     * Enfileira uma corrida para despacho.
+     *
+     * @param request O pedido de despacho.
+     * @return {@code true} se o pedido foi aceito, {@code false} se a fila está cheia
+     * (a corrida continua REQUESTED e será recuperada na próxima inicialização).
+     */
+    public boolean submit(DispatchRequest request) {
+        pending.put(request.rideId(), Boolean.FALSE);
+        boolean accepted = inbox.offer(request);
+        if (!accepted) {
+            pending.remove(request.rideId());
+            log.warn("Dispatch queue full, ride {} left in REQUESTED", request.rideId());
+        }
+        return accepted;
+    }
+
+    /**
+     * Informa que uma corrida foi cancelada antes de receber um motorista.
+     * Nada é feito se a corrida não está pendente no despachante.
+     *
+     * @param rideId O ID da corrida.
+     */
+    public void cancel(long rideId) {
+        pending.replace(rideId, Boolean.FALSE, Boolean.TRUE);
+    }
+
+    /**
+     * Número de pedidos aguardando na fila de entrada.
+     *
+     * @return O tamanho da fila.
+     */
+    public int pendingRequests() {
+        return inbox.size();
+    }
+
+    // --- Loop do despachante (thread única) ---
+
+    private void runLoop() {
+        int limit = (mode == DispatchMode.BATCH) ? batchMaxRides : maxBatchSize;
+        List<DispatchRequest> batch = new ArrayList<>(limit);
+        while (running) {
+            try {
+                if (mode == DispatchMode.BATCH) {
+                    collectWindow(batch);
+                } else {
+                    DispatchRequest first = inbox.poll(pollTimeoutMillis, TimeUnit.MILLISECONDS);
+                    if (first != null) {
+                        batch.add(first);
+                        inbox.drainTo(batch, maxBatchSize - 1);
+                    }
+                }
+                collectDueRetries(batch, limit);
+                if (!batch.isEmpty()) {
+                    dispatch(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in dispatch loop", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Acumula pedidos até o fim da janela ou até atingir {@code batchMaxRides}.
+     */
+    private void collectWindow(List<DispatchRequest> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + batchWindowNanos;
+        long remaining;
+        while (running && batch.size() < batchMaxRides && (remaining = deadline - System.nanoTime()) > 0) {
+            DispatchRequest request = inbox.poll(remaining, TimeUnit.NANOSECONDS);
+            if (request != null) {
+                batch.add(request);
+                inbox.drainTo(batch, batchMaxRides - batch.size());
+            }
+        }
+    }
+
+    private void dispatch(List<DispatchRequest> batch) {
+        List<DispatchRequest> open = new ArrayList<>(batch.size());
+        for (DispatchRequest request : batch) {
+            if (Boolean.TRUE.equals(pending.get(request.rideId()))) {
+                pending.remove(request.rideId());
+            } else {
+                open.add(request);
+            }
+        }
+        List<Assignment> claimed = (mode == DispatchMode.BATCH) ? matchOptimal(open) : matchGreedy(open);
+
+        // Confirma em transações de no máximo maxBatchSize atribuições
+        for (int from = 0; from < claimed.size(); from += maxBatchSize) {
+            confirm(claimed.subList(from, Math.min(claimed.size(), from + maxBatchSize)));
+        }
+    }
+
+    private List<Assignment> matchGreedy(List<DispatchRequest> requests) {
+        List<Assignment> claimed = new ArrayList<>(requests.size());
+        for (DispatchRequest request : requests) {
+            Assignment assignment = claimNearest(request);
+            if (assignment == null) {
+                scheduleRetry(request);
+            } else {
+                claimed.add(assignment);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Casa as corridas da janela com os motoristas próximos a elas minimizando a
+     * soma das distâncias de busca. Corridas que ficam sem motorista (ou cujo
+     * motorista escolhido não pôde ser reivindicado) voltam para novas tentativas.
+     */
+    private List<Assignment> matchOptimal(List<DispatchRequest> requests) {
+        List<Assignment> claimed = new ArrayList<>(requests.size());
+        if (requests.isEmpty()) {
+            return claimed;
+        }
+
+        // 1. Candidatos: união dos motoristas mais próximos de cada corrida, por ordem de
+        //    proximidade (o 1º de cada corrida, depois o 2º...) até batchMaxDrivers colunas
+        List<List<NearbyDriverDTO>> nearestByRide = new ArrayList<>(requests.size());
+        for (DispatchRequest request : requests) {
+            nearestByRide.add(locationIndex.nearest(request.latitude(), request.longitude(), batchCandidatesPerRide));
+        }
+        Map<Long, Integer> columnByDriver = new HashMap<>();
+        List<NearbyDriverDTO> drivers = new ArrayList<>();
+        for (int rank = 0; rank < batchCandidatesPerRide && drivers.size() < batchMaxDrivers; rank++) {
+            for (List<NearbyDriverDTO> nearest : nearestByRide) {
+                if (rank < nearest.size() && drivers.size() < batchMaxDrivers
+                        && columnByDriver.putIfAbsent(nearest.get(rank).id(), drivers.size()) == null) {
+                    drivers.add(nearest.get(rank));
+                }
+            }
+        }
+        if (drivers.isEmpty()) {
+            requests.forEach(this::scheduleRetry);
+            return claimed;
+        }
+
+        // 2. Matriz de custos: distância de cada motorista até o embarque
+        int rows = requests.size();
+        int columns = drivers.size();
+        double[] costs = new double[rows * columns];
+        for (int r = 0; r < rows; r++) {
+            DispatchRequest request = requests.get(r);
+            for (int c = 0; c < columns; c++) {
+                NearbyDriverDTO driver = drivers.get(c);
+                costs[r * columns + c] = GeoUtils.haversineMeters(request.latitude(), request.longitude(),
+                        driver.latitude(), driver.longitude());
+            }
+        }
+
+        // 3. Atribuição de custo mínimo e reivindicação no índice
+        int[] assignedColumn = solver.solve(costs, rows, columns);
+        for (int r = 0; r < rows; r++) {
+            DispatchRequest request = requests.get(r);
+            int column = assignedColumn[r];
+            if (column == HungarianAssignmentSolver.UNASSIGNED) {
+                scheduleRetry(request);
+                continue;
+            }
+            NearbyDriverDTO driver = drivers.get(column);
+            if (locationIndex.remove(driver.id())) {
+                claimed.add(new Assignment(request,
+                        new DriverPosition(driver.id(), driver.latitude(), driver.longitude(), 0L)));
+            } else {
+                retryNow(request);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Reivindica o motorista disponível mais próximo da corrida.
+     * Só a thread que remove o motorista do índice fica com ele.
+     */
+    private Assignment claimNearest(DispatchRequest request) {
+        for (NearbyDriverDTO candidate : locationIndex.nearest(request.latitude(), request.longitude(), candidatesPerRide)) {
+            if (locationIndex.remove(candidate.id())) {
+                return new Assignment(request,
+                        new DriverPosition(candidate.id(), candidate.latitude(), candidate.longitude(), 0L));
+            }
+        }
+        return null;
+    }
+
+    private void confirm(List<Assignment> claimed) {
+        List<AssignmentOutcome> outcomes;
+        try {
+            outcomes = writer.persist(claimed);
+        } catch (RuntimeException e) {
+            // A transação inteira foi desfeita: devolve os motoristas e tenta de novo depois
+            log.error("Failed to persist {} dispatch assignments", claimed.size(), e);
+            for (Assignment assignment : claimed) {
+                restoreDriver(assignment);
+                scheduleRetry(assignment.request());
+            }
+            return;
+        }
+
+        for (int i = 0; i < claimed.size(); i++) {
+            Assignment assignment = claimed.get(i);
+            onConfirmed(assignment, outcomes.get(i));
+        }
+    }
+
+    /**
+     * Aplica em memória o resultado de uma atribuição confirmada pelo banco.
+     *
+     * @param assignment A atribuição.
+     * @param outcome    O resultado retornado pelo {@link DispatchAssignmentWriter}.
+     */
+    private void onConfirmed(Assignment assignment, AssignmentOutcome outcome) {
+        switch (outcome) {
+            case ASSIGNED -> pending.remove(assignment.rideId());
+            // O motorista não está disponível no banco: fica fora do índice e a corrida tenta outro
+            case DRIVER_UNAVAILABLE -> retryNow(assignment.request());
+            // A corrida foi cancelada: o motorista já foi liberado no banco, devolve ao índice
+            case RIDE_NOT_REQUESTED -> {
+                pending.remove(assignment.rideId());
+                restoreDriver(assignment);
+            }
+        }
+    }
+
+    private void restoreDriver(Assignment assignment) {
+        DriverPosition position = assignment.driverPosition();
+        locationIndex.update(position.driverId(), position.latitude(), position.longitude());
+    }
+
+    private void scheduleRetry(DispatchRequest request) {
+        retries.addLast(new PendingRetry(request, System.nanoTime() + retryDelayNanos));
+    }
+
+    private void retryNow(DispatchRequest request) {
+        retries.addFirst(new PendingRetry(request, System.nanoTime()));
+    }
+
+    private void collectDueRetries(List<DispatchRequest> batch, int limit) {
+        long now = System.nanoTime();
+        while (batch.size() < limit && !retries.isEmpty() && retries.peekFirst().dueNanos() - now <= 0) {
+            batch.add(retries.pollFirst().request());
+        }
+    }
+
+    /**
+     * Corrida aguardando nova tentativa de despacho.
+     */
+    private record PendingRetry(DispatchRequest request, long dueNanos) {
+    }
+
+    // --- Ciclo de vida (SmartLifecycle) ---
+
+    @Override
+    public void start() {
+        running = true;
+        dispatcherThread = new Thread(this::runLoop, "ride-dispatcher");
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (dispatcherThread != null) {
+            dispatcherThread.interrupt();
+            try {
+                dispatcherThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
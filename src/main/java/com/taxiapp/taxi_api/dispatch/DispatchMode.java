@@ -0,0 +1,9 @@
+package com.taxiapp.taxi_api.dispatch;
+
+/**
+ * Estratégia de casamento usada pelo {@link DispatchEngine}.
+ */
+public enum DispatchMode {
+    GREEDY,   // Cada corrida recebe imediatamente o motorista livre mais próximo
+    BATCH     // Corridas são acumuladas por uma janela e casadas com custo total mínimo
+}
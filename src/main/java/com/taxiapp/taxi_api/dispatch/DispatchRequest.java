@@ -0,0 +1,11 @@
+package com.taxiapp.taxi_api.dispatch;
+
+/**
+ * Pedido de despacho de uma corrida REQUESTED, enfileirado no {@link DispatchEngine}.
+ *
+ * @param rideId    O ID da corrida.
+ * @param latitude  Latitude do ponto de embarque.
+ * @param longitude Longitude do ponto de embarque.
+ */
+public record DispatchRequest(long rideId, double latitude, double longitude) {
+}
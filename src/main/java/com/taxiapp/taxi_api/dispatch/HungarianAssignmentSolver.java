@@ -0,0 +1,194 @@
+package com.taxiapp.taxi_api.dispatch;
+
+import java.util.Arrays;
+
+/**
+ * Resolve o problema de atribuição bipartida de custo mínimo
+ * (algoritmo Húngaro, versão de caminhos aumentantes com potenciais).
+ *
+ * <p>Recebe uma matriz de custos {@code rows x columns} em formato linear
+ * (linha por linha) e devolve, para cada linha, a coluna atribuída. Quando há
+ * mais linhas que colunas, a matriz é transposta internamente, de modo que a
+ * complexidade é sempre O(n² · m) com n = min(linhas, colunas).</p>
+ *
+ * <p>Um custo {@link Double#POSITIVE_INFINITY} marca um par inviável: a
+ * atribuição devolvida tem o máximo possível de pares viáveis e, entre essas,
+ * o menor custo; as linhas que só teriam pares inviáveis ficam sem coluna.</p>
+ *
+ * <p>A classe não guarda estado entre chamadas e é segura para uso concorrente.</p>
+ */
+public final class HungarianAssignmentSolver {
+
+    /**
+     * Indica, no resultado, uma linha que ficou sem coluna atribuída.
+     */
+    public static final int UNASSIGNED = -1;
+
+    /**
+     * Resolve a atribuição de custo mínimo.
+     *
+     * @param costs   Matriz de custos linearizada ({@code costs[row * columns + column]});
+     *                {@link Double#POSITIVE_INFINITY} para um par inviável.
+     * @param rows    Número de linhas (ex: corridas).
+     * @param columns Número de colunas (ex: motoristas).
+     * @return Vetor com {@code rows} posições contendo a coluna atribuída a cada
+     * linha, ou {@link #UNASSIGNED} se a linha ficou de fora (quando há mais
+     * linhas que colunas, ou sem coluna viável para ela).
+     */
+    public int[] solve(double[] costs, int rows, int columns) {
+        if (costs.length != rows * columns) {
+            throw new IllegalArgumentException("Cost matrix must have rows * columns elements.");
+        }
+        int[] result = new int[rows];
+        Arrays.fill(result, UNASSIGNED);
+        if (rows == 0 || columns == 0) {
+            return result;
+        }
+
+        double[] solvable = withFiniteCosts(costs, Math.min(rows, columns));
+        if (rows <= columns) {
+            int[] columnOwner = solveRowsAtMostColumns(solvable, rows, columns, false);
+            for (int column = 0; column < columns; column++) {
+                if (columnOwner[column] != UNASSIGNED) {
+                    result[columnOwner[column]] = column;
+                }
+            }
+        } else {
+            // Transposta: as colunas viram linhas, e cada coluna recebe exatamente uma linha
+            int[] rowOwner = solveRowsAtMostColumns(solvable, columns, rows, true);
+            for (int row = 0; row < rows; row++) {
+                if (rowOwner[row] != UNASSIGNED) {
+                    result[row] = rowOwner[row];
+                }
+            }
+        }
+        if (solvable != costs) {
+            for (int row = 0; row < rows; row++) {
+                if (result[row] != UNASSIGNED && costs[row * columns + result[row]] == Double.POSITIVE_INFINITY) {
+                    result[row] = UNASSIGNED;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Troca os custos infinitos por um custo finito {@code M} maior que qualquer
+     * diferença entre os custos viáveis de duas atribuições de {@code n} pares:
+     * assim, uma atribuição com menos pares inviáveis é sempre mais barata.
+     * Sem custos infinitos, devolve o próprio vetor.
+     */
+    private static double[] withFiniteCosts(double[] costs, int n) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        boolean infeasible = false;
+        for (double cost : costs) {
+            if (cost == Double.POSITIVE_INFINITY) {
+                infeasible = true;
+            } else {
+                min = Math.min(min, cost);
+                max = Math.max(max, cost);
+            }
+        }
+        if (!infeasible) {
+            return costs;
+        }
+        double penalty = (max < min) ? 1.0 : n * (max - min) + Math.abs(max) + 1.0;
+        double[] finite = costs.clone();
+        for (int k = 0; k < finite.length; k++) {
+            if (finite[k] == Double.POSITIVE_INFINITY) {
+                finite[k] = penalty;
+            }
+        }
+        return finite;
+    }
+
+    /**
+     * Núcleo do algoritmo para {@code n <= m}. Devolve, para cada uma das m colunas,
+     * a linha atribuída a ela (ou {@link #UNASSIGNED}).
+     *
+     * <p>As distâncias do caminho mais curto são acumuladas de forma "preguiçosa":
+     * em vez de descontar o delta de todas as colunas a cada passo, guarda-se a
+     * distância absoluta e os potenciais são corrigidos uma única vez por linha.
+     * Apenas as colunas ainda não visitadas são percorridas, mantidas em um vetor
+     * compacto.</p>
+     *
+     * @param transposed Se {@code true}, lê {@code costs} como a transposta da matriz original.
+     */
+    private int[] solveRowsAtMostColumns(double[] costs, int n, int m, boolean transposed) {
+        // Índices 1-based; a posição 0 é a coluna fictícia do algoritmo
+        double[] u = new double[n + 1];
+        double[] v = new double[m + 1];
+        int[] match = new int[m + 1];
+        int[] way = new int[m + 1];
+        double[] distance = new double[m + 1];
+        int[] free = new int[m];
+        int[] visited = new int[m + 1];
+
+        for (int i = 1; i <= n; i++) {
+            match[0] = i;
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            distance[0] = 0;
+            for (int k = 0; k < m; k++) {
+                free[k] = k + 1;
+            }
+            int freeCount = m;
+            int visitedCount = 0;
+            visited[visitedCount++] = 0;
+
+            int j0 = 0;
+            double reached = 0;
+            while (true) {
+                int i0 = match[j0];
+                double offset = reached - u[i0];
+                int rowBase = (i0 - 1) * m;
+                double best = Double.POSITIVE_INFINITY;
+                int bestSlot = -1;
+
+                for (int k = 0; k < freeCount; k++) {
+                    int j = free[k];
+                    double cost = transposed ? costs[(j - 1) * n + (i0 - 1)] : costs[rowBase + (j - 1)];
+                    double candidate = offset + cost - v[j];
+                    if (candidate < distance[j]) {
+                        distance[j] = candidate;
+                        way[j] = j0;
+                    }
+                    if (distance[j] < best) {
+                        best = distance[j];
+                        bestSlot = k;
+                    }
+                }
+
+                int j1 = free[bestSlot];
+                free[bestSlot] = free[--freeCount];
+                reached = best;
+                j0 = j1;
+                if (match[j1] == 0) {
+                    break;
+                }
+                visited[visitedCount++] = j1;
+            }
+
+            // Corrige os potenciais das colunas visitadas (e das linhas casadas a elas)
+            for (int k = 0; k < visitedCount; k++) {
+                int j = visited[k];
+                double increment = reached - distance[j];
+                u[match[j]] += increment;
+                v[j] -= increment;
+            }
+
+            // Inverte o caminho aumentante encontrado
+            do {
+                int j1 = way[j0];
+                match[j0] = match[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        int[] owner = new int[m];
+        for (int j = 1; j <= m; j++) {
+            owner[j - 1] = (match[j] == 0) ? UNASSIGNED : match[j] - 1;
+        }
+        return owner;
+    }
+}
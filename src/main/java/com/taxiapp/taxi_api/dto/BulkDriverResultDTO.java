@@ -0,0 +1,20 @@
+package com.taxiapp.taxi_api.dto;
+
+import java.util.List;
+
+/**
+ * DTO de resposta do cadastro de motoristas em lote.
+ *
+ * <p>As linhas válidas são criadas mesmo que outras linhas do lote falhem;
+ * cada linha rejeitada aparece em {@code errors} com sua posição na requisição.</p>
+ *
+ * @param received Quantidade de linhas recebidas.
+ * @param created  Os motoristas criados, na ordem da requisição.
+ * @param errors   Os erros das linhas rejeitadas.
+ */
+public record BulkDriverResultDTO(
+    int received,
+    List<DriverResponseDTO> created,
+    List<BulkRowErrorDTO> errors
+) {
+}
@@ -0,0 +1,15 @@
+package com.taxiapp.taxi_api.dto;
+
+/**
+ * DTO que descreve o erro de uma linha em uma operação em lote.
+ *
+ * @param index   A posição (0-based) da linha na requisição.
+ * @param field   O campo com problema (ou {@code null} se o erro não for de um campo).
+ * @param message A mensagem de erro.
+ */
+public record BulkRowErrorDTO(
+    int index,
+    String field,
+    String message
+) {
+}
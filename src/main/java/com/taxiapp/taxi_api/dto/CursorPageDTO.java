@@ -0,0 +1,39 @@
+package com.taxiapp.taxi_api.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * DTO genérico de resposta para listagens paginadas por cursor (keyset).
+ *
+ * <p>O cliente pede a próxima página enviando {@code nextCursor} no parâmetro
+ * {@code after}. Como o cursor é o último ID retornado, a consulta de qualquer
+ * página usa {@code WHERE id > ? ORDER BY id LIMIT ?} e custa o mesmo que a primeira.</p>
+ *
+ * @param <T>        O tipo dos itens da página.
+ * @param items      Os itens da página, em ordem crescente de ID.
+ * @param nextCursor O cursor da próxima página, ou {@code null} se esta for a última.
+ */
+public record CursorPageDTO<T>(
+    List<T> items,
+    Long nextCursor
+) {
+
+    /**
+     * Monta uma página a partir de uma consulta que buscou {@code limit + 1} itens:
+     * o item excedente apenas indica que existe uma próxima página.
+     *
+     * @param <T>       O tipo dos itens.
+     * @param fetched   Os itens buscados (no máximo {@code limit + 1}).
+     * @param limit     O tamanho da página solicitado.
+     * @param idOf      Função que extrai o ID de um item.
+     * @return A página com no máximo {@code limit} itens e o próximo cursor.
+     */
+    public static <T> CursorPageDTO<T> of(List<T> fetched, int limit, Function<T, Long> idOf) {
+        if (fetched.size() <= limit) {
+            return new CursorPageDTO<>(fetched, null);
+        }
+        List<T> page = fetched.subList(0, limit);
+        return new CursorPageDTO<>(List.copyOf(page), idOf.apply(page.get(limit - 1)));
+    }
+}
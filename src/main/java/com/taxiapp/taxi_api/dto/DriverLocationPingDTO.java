@@ -0,0 +1,33 @@
+package com.taxiapp.taxi_api.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Data Transfer Object (DTO) de uma posição reportada pelo GPS de um motorista,
+ * recebida em lote por {@code POST /api/drivers/locations}.
+ * <p>
+ * Utiliza um Java Record para imutabilidade e redução de boilerplate.
+ *
+ * @param driverId  O ID do motorista.
+ * @param latitude  Latitude em graus decimais (-90 a 90).
+ * @param longitude Longitude em graus decimais (-180 a 180).
+ */
+public record DriverLocationPingDTO(
+
+    @NotNull(message = "Driver ID cannot be null")
+    Long driverId,
+
+    @NotNull(message = "Latitude cannot be null")
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    Double latitude,
+
+    @NotNull(message = "Longitude cannot be null")
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    Double longitude
+
+) {
+}
@@ -15,6 +15,8 @@ package com.taxiapp.taxi_api.dto;
  * @param phone         O telefone do motorista.
  * @param vehiclePlate  A placa do veículo.
  * @param available     O status de disponibilidade (true = disponível).
+ * @param latitude      A última latitude conhecida (pode ser nula).
+ * @param longitude     A última longitude conhecida (pode ser nula).
  */
 public record DriverResponseDTO(
     Long id,
@@ -23,7 +25,17 @@ public record DriverResponseDTO(
     String address,
     String phone,
     String vehiclePlate,
-    Boolean available
+    Boolean available,
+    Double latitude,
+    Double longitude
 ) {
     // Getters, construtor, toString, equals e hashCode são gerados automaticamente.
+
+    /**
+     * Cópia deste DTO com outra posição.
+     */
+    public DriverResponseDTO withPosition(double latitude, double longitude) {
+        return new DriverResponseDTO(id, name, licenseNumber, address, phone, vehiclePlate, available,
+                latitude, longitude);
+    }
 }
\ No newline at end of file
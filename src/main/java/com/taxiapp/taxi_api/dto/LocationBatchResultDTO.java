@@ -0,0 +1,20 @@
+package com.taxiapp.taxi_api.dto;
+
+import java.util.List;
+
+/**
+ * DTO de resposta da ingestão de posições em lote.
+ *
+ * <p>As posições aceitas já valem para as leituras e para a busca por
+ * proximidade; a gravação no banco acontece depois, em lote.</p>
+ *
+ * @param received Quantidade de posições recebidas.
+ * @param accepted Quantidade de posições aceitas.
+ * @param errors   Os erros das posições rejeitadas.
+ */
+public record LocationBatchResultDTO(
+    int received,
+    int accepted,
+    List<BulkRowErrorDTO> errors
+) {
+}
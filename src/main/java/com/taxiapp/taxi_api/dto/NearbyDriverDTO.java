@@ -0,0 +1,20 @@
+package com.taxiapp.taxi_api.dto;
+
+/**
+ * Data Transfer Object (DTO) de resposta da busca por motoristas próximos.
+ * <p>
+ * Contém apenas os dados mantidos no índice geoespacial em memória,
+ * para que a busca não precise consultar o banco de dados.
+ *
+ * @param id             O identificador único do motorista.
+ * @param latitude       A latitude atual do motorista.
+ * @param longitude      A longitude atual do motorista.
+ * @param distanceMeters A distância (em metros) até o ponto consultado.
+ */
+public record NearbyDriverDTO(
+    Long id,
+    double latitude,
+    double longitude,
+    double distanceMeters
+) {
+}
@@ -0,0 +1,62 @@
+package com.taxiapp.taxi_api.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Data Transfer Object (DTO) para receber a solicitação de uma nova Corrida.
+ * <p>
+ * Utiliza um Java Record para imutabilidade e redução de boilerplate.
+ *
+ * @param passengerId     O ID do passageiro que solicita a corrida.
+ * @param pickupLocation  Endereço de embarque (máx 100 caracteres).
+ * @param dropoffLocation Endereço de destino (máx 100 caracteres).
+ * @param pickupLatitude  Latitude do ponto de embarque.
+ * @param pickupLongitude Longitude do ponto de embarque.
+ * @param dropoffLatitude  Latitude do destino (opcional; usada na cotação da tarifa).
+ * @param dropoffLongitude Longitude do destino (opcional).
+ */
+public record RideRequestDTO(
+
+    @NotNull(message = "Passenger ID cannot be null")
+    Long passengerId,
+
+    @NotBlank(message = "Pickup location cannot be blank")
+    @Size(max = 100, message = "Pickup location must not exceed 100 characters")
+    String pickupLocation,
+
+    @NotBlank(message = "Dropoff location cannot be blank")
+    @Size(max = 100, message = "Dropoff location must not exceed 100 characters")
+    String dropoffLocation,
+
+    @NotNull(message = "Pickup latitude cannot be null")
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    Double pickupLatitude,
+
+    @NotNull(message = "Pickup longitude cannot be null")
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    Double pickupLongitude,
+
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    Double dropoffLatitude,
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    Double dropoffLongitude
+
+) {
+
+    /**
+     * Solicitação sem as coordenadas do destino.
+     */
+    public RideRequestDTO(Long passengerId, String pickupLocation, String dropoffLocation, Double pickupLatitude,
+            Double pickupLongitude) {
+        this(passengerId, pickupLocation, dropoffLocation, pickupLatitude, pickupLongitude, null, null);
+    }
+}
@@ -0,0 +1,42 @@
+package com.taxiapp.taxi_api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.taxiapp.taxi_api.model.RideStatus;
+
+/**
+ * Data Transfer Object (DTO) para enviar as informações de uma Corrida ao cliente.
+ * <p>
+ * Utiliza um Java Record para imutabilidade e redução de boilerplate.
+ *
+ * @param id              O identificador único da corrida.
+ * @param passengerId     O ID do passageiro.
+ * @param driverId        O ID do motorista atribuído (nulo enquanto REQUESTED).
+ * @param pickupLocation  Endereço de embarque.
+ * @param dropoffLocation Endereço de destino.
+ * @param pickupLatitude  Latitude do ponto de embarque.
+ * @param pickupLongitude Longitude do ponto de embarque.
+ * @param dropoffLatitude  Latitude do destino (nula se não informada).
+ * @param dropoffLongitude Longitude do destino (nula se não informada).
+ * @param status          O status atual da corrida.
+ * @param createdAt       A data e hora da solicitação.
+ * @param quotedFare      A tarifa cotada na solicitação, já com o multiplicador.
+ * @param surgeMultiplier O multiplicador dinâmico aplicado à tarifa (1.0 sem surge).
+ */
+public record RideResponseDTO(
+    Long id,
+    Long passengerId,
+    Long driverId,
+    String pickupLocation,
+    String dropoffLocation,
+    Double pickupLatitude,
+    Double pickupLongitude,
+    Double dropoffLatitude,
+    Double dropoffLongitude,
+    RideStatus status,
+    LocalDateTime createdAt,
+    BigDecimal quotedFare,
+    BigDecimal surgeMultiplier
+) {
+}
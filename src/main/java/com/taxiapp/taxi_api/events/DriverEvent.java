@@ -0,0 +1,42 @@
+package com.taxiapp.taxi_api.events;
+
+import com.taxiapp.taxi_api.dto.DriverResponseDTO;
+
+/**
+ * Alteração de um motorista, publicada como evento da aplicação e repassada
+ * (após o commit) aos assinantes do {@link DriverEventHub}.
+ *
+ * @param type      O tipo da alteração.
+ * @param driverId  O ID do motorista.
+ * @param available A disponibilidade após a alteração ({@code null} em {@link DriverEventType#DELETED}).
+ * @param driver    Os dados completos do motorista, quando conhecidos por quem publicou;
+ *                  {@code null} nas mudanças de disponibilidade feitas pelas corridas e na remoção.
+ */
+public record DriverEvent(
+    DriverEventType type,
+    long driverId,
+    Boolean available,
+    DriverResponseDTO driver
+) {
+
+    /**
+     * Evento com os dados completos do motorista.
+     */
+    public static DriverEvent of(DriverEventType type, DriverResponseDTO driver) {
+        return new DriverEvent(type, driver.id(), driver.available(), driver);
+    }
+
+    /**
+     * Mudança de disponibilidade feita sem carregar o motorista (ex: despacho).
+     */
+    public static DriverEvent availability(long driverId, boolean available) {
+        return new DriverEvent(DriverEventType.AVAILABILITY, driverId, available, null);
+    }
+
+    /**
+     * Remoção do motorista.
+     */
+    public static DriverEvent deleted(long driverId) {
+        return new DriverEvent(DriverEventType.DELETED, driverId, null, null);
+    }
+}
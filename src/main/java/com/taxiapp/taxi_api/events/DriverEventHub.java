@@ -0,0 +1,215 @@
+package com.taxiapp.taxi_api.events;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Distribui os {@link DriverEvent}s aos assinantes do stream SSE
+ * {@code GET /api/drivers/events}.
+ *
+ * <p>Os eventos são recebidos após o commit da transação que os publicou
+ * ({@link TransactionalEventListener}; sem transação, na hora) e apenas
+ * enfileirados: cada assinante tem uma fila limitada a
+ * {@code taxi.drivers.events.buffer-size} mensagens, esvaziada por uma thread
+ * virtual própria, de modo que quem publica nunca espera pela rede. Um
+ * assinante cuja fila enche (cliente lento ou parado) é desconectado e conta
+ * em {@code taxi.drivers.events.dropped}; o {@code EventSource} do navegador
+ * reconecta sozinho. Rajadas maiores que a fila (ex: um cadastro em lote
+ * grande) também desconectam clientes rápidos, que então releem o estado.</p>
+ *
+ * <p>Um comentário de heartbeat é enviado a cada
+ * {@code taxi.drivers.events.heartbeat-seconds} para detectar conexões mortas e
+ * manter proxies abertos. Não há reenvio de eventos perdidos: após conectar (ou
+ * reconectar), o cliente deve reler o estado em {@code GET /api/drivers}.</p>
+ */
+@Component
+public class DriverEventHub {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverEventHub.class);
+
+    /**
+     * Mensagem enfileirada para um assinante; {@code event == null} é um heartbeat.
+     */
+    private record Message(long id, DriverEvent event) {
+    }
+
+    private static final Message HEARTBEAT = new Message(0, null);
+
+    /**
+     * Conexão SSE de um assinante e sua fila de mensagens pendentes.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        /**
+         * Enfileira sem bloquear; devolve {@code false} se a fila está cheia.
+         */
+        private boolean offer(Message message) {
+            if (!queue.offer(message)) {
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+            return true;
+        }
+
+        private void drain() {
+            while (!closed) {
+                Message message = queue.poll();
+                if (message == null) {
+                    draining.set(false);
+                    // Outra mensagem pode ter chegado entre o poll e o set
+                    if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    emitter.send(message.event() == null
+                            ? SseEmitter.event().comment("heartbeat")
+                            : SseEmitter.event()
+                                    .id(Long.toString(message.id()))
+                                    .name(message.event().type().name())
+                                    .data(message.event(), MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException ex) {
+                    // Cliente desconectado: o container encerra a requisição
+                    unsubscribe(this);
+                    return;
+                }
+            }
+        }
+    }
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Uma thread virtual por envio em andamento (no máximo uma por assinante).
+     */
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("driver-events-", 0).factory());
+
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "driver-events-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+
+    private final Counter published;
+    private final Counter dropped;
+
+    /**
+     * Construtor para Injeção de Dependência.
+     */
+    public DriverEventHub(MeterRegistry meterRegistry,
+            @Value("${taxi.drivers.events.buffer-size:256}") int bufferSize,
+            @Value("${taxi.drivers.events.max-subscribers:1000}") int maxSubscribers,
+            @Value("${taxi.drivers.events.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${taxi.drivers.events.heartbeat-seconds:15}") long heartbeatSeconds) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+        this.published = Counter.builder("taxi.drivers.events.published")
+                .description("Driver events fanned out to SSE subscribers")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("taxi.drivers.events.dropped")
+                .description("SSE subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("taxi.drivers.events.subscribers", subscribers, Set::size)
+                .description("Connected SSE subscribers of driver events")
+                .register(meterRegistry);
+        heartbeat.scheduleAtFixedRate(() -> broadcast(HEARTBEAT), heartbeatSeconds, heartbeatSeconds,
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * Abre uma nova assinatura.
+     *
+     * @return O {@link SseEmitter} da conexão, ou vazio se o limite de
+     * {@code taxi.drivers.events.max-subscribers} foi atingido.
+     */
+    public Optional<SseEmitter> subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(ex -> unsubscribe(subscriber));
+        subscribers.add(subscriber);
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Repassa o evento a todos os assinantes, após o commit da transação que o publicou.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDriverEvent(DriverEvent event) {
+        published.increment();
+        broadcast(new Message(sequence.incrementAndGet(), event));
+    }
+
+    private void broadcast(Message message) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.offer(message)) {
+                dropped.increment();
+                log.warn("Disconnecting slow driver events subscriber ({} messages pending)", bufferSize);
+                unsubscribe(subscriber);
+                // complete() espera o envio em andamento; fica fora da thread de quem publica
+                senders.execute(subscriber.emitter::complete);
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        subscribers.forEach(subscriber -> {
+            unsubscribe(subscriber);
+            subscriber.emitter.complete();
+        });
+        senders.shutdownNow();
+    }
+}
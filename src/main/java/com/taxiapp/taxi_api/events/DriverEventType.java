@@ -0,0 +1,17 @@
+package com.taxiapp.taxi_api.events;
+
+/**
+ * Tipos de alteração de motorista enviados pelo {@link DriverEventHub}.
+ */
+public enum DriverEventType {
+    /** Motorista cadastrado (individualmente ou em lote). */
+    CREATED,
+    /** Dados cadastrais alterados. */
+    UPDATED,
+    /** Nova posição informada. */
+    LOCATION,
+    /** Motorista ocupado por uma corrida ou liberado ao fim dela. */
+    AVAILABILITY,
+    /** Motorista removido. */
+    DELETED
+}
@@ -5,6 +5,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -26,6 +27,50 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    // --- Classificação das Exceções ---
+
+    /**
+     * Retorna o status HTTP com que uma exceção é respondida por este handler.
+     * <p>
+     * Usado também pelas métricas de latência
+     * ({@link com.taxiapp.taxi_api.metrics.MethodTimingAspect}), para que a tag
+     * {@code outcome} corresponda à resposta que o cliente recebe.
+     *
+     * @param ex A exceção.
+     * @return O {@link HttpStatus} correspondente (500 para exceções não mapeadas).
+     */
+    public static HttpStatus statusFor(Throwable ex) {
+        if (ex instanceof ResourceNotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (ex instanceof IllegalArgumentException) {
+            return isConflict(ex.getMessage()) ? HttpStatus.CONFLICT : HttpStatus.BAD_REQUEST;
+        }
+        if (ex instanceof MethodArgumentNotValidException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        if (ex instanceof DataIntegrityViolationException || ex instanceof OptimisticLockingFailureException
+                || ex instanceof IdempotentRequestInProgressException) {
+            return HttpStatus.CONFLICT;
+        }
+        if (ex instanceof PreconditionFailedException) {
+            return HttpStatus.PRECONDITION_FAILED;
+        }
+        if (ex instanceof IdempotencyKeyReusedException) {
+            return HttpStatus.UNPROCESSABLE_ENTITY;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    /**
+     * Indica se a mensagem de um {@link IllegalArgumentException} descreve
+     * uma duplicidade ("registered" ou "já existe").
+     */
+    private static boolean isConflict(String msg) {
+        String lowerMsg = (msg == null) ? "" : msg.toLowerCase();
+        return lowerMsg.contains("registered") || lowerMsg.contains("já existe");
+    }
+
     // --- Métodos de Construção da Resposta (Helpers) ---
 
     /**
@@ -91,6 +136,63 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage());
     }
 
+    /**
+     * Captura {@link PreconditionFailedException}.
+     * <p>
+     * Lançada pelos serviços quando o {@code If-Match} de uma atualização não
+     * corresponde ao ETag atual do recurso.
+     *
+     * @param ex A exceção capturada.
+     * @return Um ResponseEntity com status 412 (Precondition Failed).
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Object> handlePreconditionFailed(PreconditionFailedException ex) {
+        return buildErrorResponse(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+    }
+
+    /**
+     * Captura {@link IdempotencyKeyReusedException}.
+     * <p>
+     * Lançada quando um {@code Idempotency-Key} já usado chega com outro corpo
+     * de requisição.
+     *
+     * @param ex A exceção capturada.
+     * @return Um ResponseEntity com status 422 (Unprocessable Entity).
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Object> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        return buildErrorResponse(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage());
+    }
+
+    /**
+     * Captura {@link IdempotentRequestInProgressException}.
+     * <p>
+     * Lançada quando a repetição de um {@code Idempotency-Key} desiste de
+     * esperar pela primeira requisição, ainda em andamento.
+     *
+     * @param ex A exceção capturada.
+     * @return Um ResponseEntity com status 409 (Conflict).
+     */
+    @ExceptionHandler(IdempotentRequestInProgressException.class)
+    public ResponseEntity<Object> handleIdempotentRequestInProgress(IdempotentRequestInProgressException ex) {
+        return buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    /**
+     * Captura {@link OptimisticLockingFailureException}.
+     * <p>
+     * Ocorre quando duas atualizações do mesmo registro são confirmadas ao
+     * mesmo tempo: a coluna de versão faz a segunda falhar em vez de
+     * sobrescrever a primeira.
+     *
+     * @param ex A exceção capturada.
+     * @return Um ResponseEntity com status 409 (Conflict).
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        return buildErrorResponse(HttpStatus.CONFLICT, "The resource was modified concurrently; reload and retry.");
+    }
+
     /**
      * Captura {@link IllegalArgumentException} (nossas regras de negócio).
      * <p>
@@ -105,16 +207,8 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Object> handleIllegalArgument(IllegalArgumentException ex) {
-        String msg = ex.getMessage();
-        String lowerMsg = (msg == null) ? "" : msg.toLowerCase();
-
-        // Se for um erro de duplicidade, é um CONFLITO (409)
-        if (lowerMsg.contains("registered") || lowerMsg.contains("já existe")) {
-            return buildErrorResponse(HttpStatus.CONFLICT, msg);
-        }
-
-        // Outros argumentos ilegais são uma Requisição Inválida (400)
-        return buildErrorResponse(HttpStatus.BAD_REQUEST, msg);
+        // Duplicidade é um CONFLITO (409); outros argumentos ilegais, Requisição Inválida (400)
+        return buildErrorResponse(statusFor(ex), ex.getMessage());
     }
 
     /**
@@ -155,7 +249,8 @@ public class GlobalExceptionHandler {
         String simplifiedMessage = "Violação de integridade de dados.";
 
         // Tenta extrair uma mensagem mais amigável
-        if (cause.contains("violates unique constraint")) {
+        if (cause.contains("violates unique constraint") || cause.contains("Duplicate entry")
+                || cause.contains("Unique index or primary key violation")) {
             simplifiedMessage = "Erro: Já existe um registro com estes dados.";
         } else if (cause.contains("violates foreign key constraint")) {
             simplifiedMessage = "Erro: Este registro está associado a outros dados e não pode ser alterado/excluído.";
@@ -0,0 +1,23 @@
+package com.taxiapp.taxi_api.exception;
+
+/**
+ * Exceção customizada para um {@code Idempotency-Key} reutilizado com outro
+ * corpo de requisição (HTTP 422).
+ * <p>
+ * Lançada pelo {@link com.taxiapp.taxi_api.http.IdempotencyStore} quando o
+ * cliente envia a mesma chave de uma requisição anterior, mas com dados
+ * diferentes: a resposta guardada não corresponde a esta requisição.
+ * <p>
+ * Ela será capturada pelo {@link GlobalExceptionHandler} para
+ * gerar uma resposta HTTP 422 padronizada.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    /**
+     * Construtor que aceita uma mensagem de erro.
+     * @param message A mensagem detalhando o erro (ex: "Idempotency-Key was already used with a different request.").
+     */
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.taxiapp.taxi_api.exception;
+
+/**
+ * Exceção customizada para a repetição de um {@code Idempotency-Key} cuja
+ * primeira requisição ainda está em andamento (HTTP 409).
+ * <p>
+ * Lançada pelo {@link com.taxiapp.taxi_api.http.IdempotencyStore} quando a
+ * repetição esperou {@code taxi.idempotency.wait-ms} sem que a primeira
+ * requisição terminasse: o cliente deve tentar de novo mais tarde.
+ * <p>
+ * Ela será capturada pelo {@link GlobalExceptionHandler} para
+ * gerar uma resposta HTTP 409 padronizada.
+ */
+public class IdempotentRequestInProgressException extends RuntimeException {
+
+    /**
+     * Construtor que aceita uma mensagem de erro.
+     * @param message A mensagem detalhando o erro (ex: "A request with this Idempotency-Key is still in progress.").
+     */
+    public IdempotentRequestInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.taxiapp.taxi_api.exception;
+
+/**
+ * Exceção customizada para uma pré-condição HTTP não atendida (HTTP 412).
+ * <p>
+ * Lançada pela camada de serviço quando o {@code If-Match} de uma atualização
+ * não corresponde ao ETag atual do recurso, ou seja, o cliente editou uma
+ * versão que outro cliente já alterou.
+ * <p>
+ * Ela será capturada pelo {@link GlobalExceptionHandler} para
+ * gerar uma resposta HTTP 412 padronizada.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * Construtor que aceita uma mensagem de erro.
+     * @param message A mensagem detalhando o erro (ex: "Driver 5 was modified (ETag mismatch).").
+     */
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
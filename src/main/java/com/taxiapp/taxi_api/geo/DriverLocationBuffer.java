@@ -0,0 +1,219 @@
+package com.taxiapp.taxi_api.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taxiapp.taxi_api.dto.DriverResponseDTO;
+import com.taxiapp.taxi_api.model.Driver;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Buffer de escrita (write-behind) das posições reportadas pelos motoristas.
+ *
+ * <p>Cada posição recebida apenas substitui a anterior do mesmo motorista em
+ * um {@link ConcurrentHashMap}: com GPS a cada 2–4 segundos, só a última
+ * importa, e o custo por ping é um {@code put} em memória. A cada
+ * {@code taxi.drivers.location.flush-interval-ms}, a thread
+ * {@code driver-location-flush} grava todas as posições pendentes com
+ * <strong>um único UPDATE em lote</strong> (JDBC batch de
+ * {@code taxi.drivers.location.flush-batch-size} linhas), em uma transação.</p>
+ *
+ * <p>Enquanto não é gravada, a posição pendente é a "verdade": os DTOs lidos
+ * pelo {@code DriverService} passam por {@link #overlay(DriverResponseDTO)}.
+ * Após o commit, cada motorista gravado é removido do cache de segundo nível do
+ * Hibernate (o UPDATE não passa pelo JPA) e só então sai do buffer, e apenas se
+ * nenhuma posição mais nova chegou nesse meio tempo. Se a gravação falhar, as
+ * posições continuam pendentes e são regravadas no ciclo seguinte.</p>
+ *
+ * <p>Métricas: {@code taxi.drivers.location.received},
+ * {@code taxi.drivers.location.flushed}, {@code taxi.drivers.location.pending}
+ * e o timer {@code taxi.drivers.location.flush}.</p>
+ */
+@Component
+public class DriverLocationBuffer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverLocationBuffer.class);
+
+    private static final String UPDATE_POSITION = "update driver set latitude = ?, longitude = ? where id = ?";
+
+    /**
+     * Última posição recebida de um motorista, ainda não gravada.
+     */
+    public record BufferedPosition(double latitude, double longitude) {
+    }
+
+    private final ConcurrentHashMap<Long, BufferedPosition> pending = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final long flushIntervalMillis;
+    private final int flushBatchSize;
+
+    private final Counter received;
+    private final Counter flushed;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread flushThread;
+
+    /**
+     * Construtor para Injeção de Dependência.
+     */
+    public DriverLocationBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry,
+            @Value("${taxi.drivers.location.flush-interval-ms:1000}") long flushIntervalMillis,
+            @Value("${taxi.drivers.location.flush-batch-size:500}") int flushBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flushBatchSize = flushBatchSize;
+        this.received = Counter.builder("taxi.drivers.location.received")
+                .description("Driver positions received by the write-behind buffer")
+                .register(meterRegistry);
+        this.flushed = Counter.builder("taxi.drivers.location.flushed")
+                .description("Coalesced driver positions written to the database")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("taxi.drivers.location.flush")
+                .description("Time to write a batch of coalesced driver positions")
+                .register(meterRegistry);
+        Gauge.builder("taxi.drivers.location.pending", pending, Map::size)
+                .description("Driver positions waiting to be written to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Guarda a posição mais recente de um motorista, substituindo a anterior.
+     */
+    public void record(long driverId, double latitude, double longitude) {
+        pending.put(driverId, new BufferedPosition(latitude, longitude));
+        received.increment();
+    }
+
+    /**
+     * Posição ainda não gravada de um motorista.
+     *
+     * @return A posição pendente, ou vazio se o banco já está atualizado.
+     */
+    public Optional<BufferedPosition> get(long driverId) {
+        return Optional.ofNullable(pending.get(driverId));
+    }
+
+    /**
+     * Descarta a posição pendente de um motorista (ex: posição gravada
+     * diretamente pelo JPA, ou motorista removido).
+     */
+    public void discard(long driverId) {
+        pending.remove(driverId);
+    }
+
+    /**
+     * Aplica ao DTO a posição pendente do motorista, se houver.
+     */
+    public DriverResponseDTO overlay(DriverResponseDTO driver) {
+        BufferedPosition position = (driver.id() == null) ? null : pending.get(driver.id());
+        return (position == null) ? driver : driver.withPosition(position.latitude(), position.longitude());
+    }
+
+    /**
+     * Grava as posições pendentes no banco.
+     *
+     * @return Quantidade de posições gravadas.
+     */
+    public int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<Map.Entry<Long, BufferedPosition>> snapshot = new ArrayList<>(pending.size());
+        pending.forEach((driverId, position) -> snapshot.add(Map.entry(driverId, position)));
+
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_POSITION, snapshot,
+                flushBatchSize, (statement, entry) -> {
+                    statement.setDouble(1, entry.getValue().latitude());
+                    statement.setDouble(2, entry.getValue().longitude());
+                    statement.setLong(3, entry.getKey());
+                }));
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        // Primeiro invalida o cache de segundo nível, depois deixa de sobrepor a posição
+        jakarta.persistence.Cache entityCache = entityManagerFactory.getCache();
+        for (Map.Entry<Long, BufferedPosition> entry : snapshot) {
+            entityCache.evict(Driver.class, entry.getKey());
+            pending.remove(entry.getKey(), entry.getValue());
+        }
+        flushed.increment(snapshot.size());
+        return snapshot.size();
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                Thread.sleep(flushIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush {} driver positions; retrying in {} ms", pending.size(),
+                        flushIntervalMillis, e);
+            }
+        }
+    }
+
+    // --- Ciclo de vida (SmartLifecycle) ---
+
+    @Override
+    public void start() {
+        running = true;
+        flushThread = new Thread(this::runLoop, "driver-location-flush");
+        flushThread.setDaemon(true);
+        flushThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flushThread != null) {
+            flushThread.interrupt();
+            try {
+                flushThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Última gravação antes de fechar o pool de conexões
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} driver positions on shutdown", pending.size(), e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,306 @@
+package com.taxiapp.taxi_api.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.taxiapp.taxi_api.dto.NearbyDriverDTO;
+
+/**
+ * Índice geoespacial em memória dos motoristas <strong>disponíveis</strong>.
+ *
+ * <p>O plano (latitude/longitude) é dividido em uma grade de células quadradas
+ * de {@code taxi.geo.cell-size-degrees} graus. Cada célula guarda o conjunto de
+ * IDs dos motoristas posicionados nela, e um segundo mapa guarda a posição atual
+ * de cada motorista. Mover um motorista custa O(1): ele só troca de célula quando
+ * cruza uma borda.</p>
+ *
+ * <p>A busca pelos k mais próximos percorre anéis de células ao redor do ponto
+ * consultado e para assim que nenhum anel ainda não visitado pode conter um
+ * motorista mais próximo que o k-ésimo já encontrado. Nenhuma consulta ao banco
+ * de dados é feita.</p>
+ *
+ * <p>Todas as operações são thread-safe. As alterações de um mesmo motorista
+ * são serializadas por {@link ConcurrentHashMap#compute}, o que torna
+ * {@link #remove(long)} uma operação atômica de "reivindicação": apenas uma
+ * thread recebe {@code true} para o mesmo motorista.</p>
+ *
+ * <p>Motoristas disponíveis que ainda não têm posição (ex: recém-cadastrados)
+ * ficam registrados à parte, por {@link #markAvailable(long)}, para que a
+ * primeira posição recebida em lote ({@link #updateIfAvailable}) os inclua
+ * no índice.</p>
+ *
+ * <p>A grade não trata a passagem pelo antimeridiano (±180°), o que não é
+ * relevante na escala de uma cidade.</p>
+ */
+@Component
+public class DriverLocationIndex {
+
+    /**
+     * Tamanho do lado de cada célula, em graus.
+     */
+    private final double cellSizeDegrees;
+
+    /**
+     * Número máximo de anéis de células percorridos em uma busca.
+     */
+    private final int maxSearchRings;
+
+    /**
+     * Conjunto de IDs de motoristas por célula da grade.
+     */
+    private final ConcurrentHashMap<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    /**
+     * Posição atual de cada motorista indexado.
+     */
+    private final ConcurrentHashMap<Long, DriverPosition> positions = new ConcurrentHashMap<>();
+
+    /**
+     * Motoristas disponíveis ainda sem posição no índice. Só é alterado dentro
+     * de {@link ConcurrentHashMap#compute} de {@code positions} para o mesmo
+     * motorista, e portanto de forma atômica em relação a {@link #remove(long)}.
+     */
+    private final Set<Long> unpositioned = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Construtor para Injeção de Dependência.
+     *
+     * @param cellSizeDegrees Tamanho da célula, em graus (padrão 0.01 ≈ 1,1 km).
+     * @param maxSearchRings  Máximo de anéis percorridos por busca.
+     */
+    public DriverLocationIndex(
+            @Value("${taxi.geo.cell-size-degrees:0.01}") double cellSizeDegrees,
+            @Value("${taxi.geo.max-search-rings:50}") int maxSearchRings) {
+        if (cellSizeDegrees <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive.");
+        }
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.maxSearchRings = maxSearchRings;
+    }
+
+    /**
+     * Insere ou move um motorista no índice.
+     *
+     * @param driverId  O ID do motorista.
+     * @param latitude  A nova latitude.
+     * @param longitude A nova longitude.
+     */
+    public void update(long driverId, double latitude, double longitude) {
+        long newCell = cellKey(row(latitude), column(longitude));
+        positions.compute(driverId, (id, previous) -> {
+            unpositioned.remove(id);
+            if (previous == null || previous.cellKey() != newCell) {
+                if (previous != null) {
+                    removeFromCell(previous.cellKey(), id);
+                }
+                addToCell(newCell, id);
+            }
+            return new DriverPosition(id, latitude, longitude, newCell);
+        });
+    }
+
+    /**
+     * Registra um motorista disponível que ainda não tem posição: ele entra no
+     * índice na primeira chamada a {@link #updateIfAvailable}. Nada é feito se
+     * o motorista já está indexado.
+     *
+     * @param driverId O ID do motorista.
+     */
+    public void markAvailable(long driverId) {
+        positions.compute(driverId, (id, previous) -> {
+            if (previous == null) {
+                unpositioned.add(id);
+            }
+            return previous;
+        });
+    }
+
+    /**
+     * Move um motorista disponível: um motorista já indexado, ou registrado
+     * por {@link #markAvailable(long)}. Motoristas indisponíveis (removidos ou
+     * nunca registrados) são ignorados, de forma atômica em relação a
+     * {@link #remove(long)}.
+     *
+     * @param driverId  O ID do motorista.
+     * @param latitude  A nova latitude.
+     * @param longitude A nova longitude.
+     * @return {@code true} se o motorista estava disponível e foi movido (ou incluído).
+     */
+    public boolean updateIfAvailable(long driverId, double latitude, double longitude) {
+        long newCell = cellKey(row(latitude), column(longitude));
+        boolean[] moved = new boolean[1];
+        positions.compute(driverId, (id, previous) -> {
+            if (previous == null) {
+                if (!unpositioned.remove(id)) {
+                    return null;
+                }
+                addToCell(newCell, id);
+            } else if (previous.cellKey() != newCell) {
+                removeFromCell(previous.cellKey(), id);
+                addToCell(newCell, id);
+            }
+            moved[0] = true;
+            return new DriverPosition(id, latitude, longitude, newCell);
+        });
+        return moved[0];
+    }
+
+    /**
+     * Remove um motorista do índice (ex: ficou indisponível ou foi deletado),
+     * inclusive do registro de motoristas disponíveis sem posição.
+     *
+     * @param driverId O ID do motorista.
+     * @return {@code true} se esta chamada removeu o motorista,
+     * {@code false} se ele não estava indexado.
+     */
+    public boolean remove(long driverId) {
+        boolean[] removed = new boolean[1];
+        positions.compute(driverId, (id, previous) -> {
+            unpositioned.remove(id);
+            if (previous != null) {
+                removeFromCell(previous.cellKey(), id);
+                removed[0] = true;
+            }
+            return null;
+        });
+        return removed[0];
+    }
+
+    /**
+     * Retorna a posição indexada de um motorista.
+     *
+     * @param driverId O ID do motorista.
+     * @return Um {@link Optional} com a posição, ou vazio se o motorista não está indexado.
+     */
+    public Optional<DriverPosition> get(long driverId) {
+        return Optional.ofNullable(positions.get(driverId));
+    }
+
+    /**
+     * Número de motoristas atualmente indexados.
+     *
+     * @return A quantidade de motoristas.
+     */
+    public int size() {
+        return positions.size();
+    }
+
+    /**
+     * Percorre as posições de todos os motoristas indexados. A iteração não
+     * bloqueia as atualizações e pode ou não refletir as feitas durante ela.
+     *
+     * @param action A ação executada para cada posição.
+     */
+    public void forEach(Consumer<DriverPosition> action) {
+        positions.values().forEach(action);
+    }
+
+    /**
+     * Busca os {@code k} motoristas indexados mais próximos de um ponto.
+     *
+     * @param latitude  Latitude do ponto de referência.
+     * @param longitude Longitude do ponto de referência.
+     * @param k         Quantidade máxima de motoristas retornados.
+     * @return Lista ordenada da menor para a maior distância (pode ter menos de k itens).
+     */
+    public List<NearbyDriverDTO> nearest(double latitude, double longitude, int k) {
+        if (k <= 0 || positions.isEmpty()) {
+            return List.of();
+        }
+
+        // Max-heap pela distância: o topo é o pior dos k melhores até agora
+        PriorityQueue<NearbyDriverDTO> best = new PriorityQueue<>(k,
+                Comparator.comparingDouble(NearbyDriverDTO::distanceMeters).reversed());
+        Set<Long> seen = new HashSet<>();
+
+        int centerRow = row(latitude);
+        int centerColumn = column(longitude);
+
+        for (int ring = 0; ring <= maxSearchRings; ring++) {
+            for (int dr = -ring; dr <= ring; dr++) {
+                boolean edgeRow = Math.abs(dr) == ring;
+                // Em linhas internas do anel, apenas as duas colunas das bordas pertencem a ele
+                int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                for (int dc = -ring; dc <= ring; dc += step) {
+                    collect(cells.get(cellKey(centerRow + dr, centerColumn + dc)),
+                            latitude, longitude, k, best, seen);
+                }
+            }
+            // Qualquer célula fora dos anéis já visitados está a pelo menos 'ring' células de distância
+            if (best.size() == k && best.peek().distanceMeters() <= ring * minCellMeters(latitude, ring + 1)) {
+                break;
+            }
+        }
+
+        List<NearbyDriverDTO> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(NearbyDriverDTO::distanceMeters));
+        return result;
+    }
+
+    private void collect(Set<Long> cell, double latitude, double longitude, int k,
+            PriorityQueue<NearbyDriverDTO> best, Set<Long> seen) {
+        if (cell == null) {
+            return;
+        }
+        for (Long driverId : cell) {
+            DriverPosition position = positions.get(driverId);
+            if (position == null || !seen.add(driverId)) {
+                continue;
+            }
+            double distance = GeoUtils.haversineMeters(latitude, longitude,
+                    position.latitude(), position.longitude());
+            if (best.size() < k) {
+                best.add(new NearbyDriverDTO(driverId, position.latitude(), position.longitude(), distance));
+            } else if (distance < best.peek().distanceMeters()) {
+                best.poll();
+                best.add(new NearbyDriverDTO(driverId, position.latitude(), position.longitude(), distance));
+            }
+        }
+    }
+
+    /**
+     * Menor extensão (em metros) de uma célula situada a até {@code rings} anéis da
+     * latitude informada, considerando o encolhimento da longitude em direção aos polos.
+     */
+    private double minCellMeters(double latitude, int rings) {
+        double farthestLatitude = Math.min(89.0, Math.abs(latitude) + rings * cellSizeDegrees);
+        return cellSizeDegrees * GeoUtils.METERS_PER_DEGREE * Math.cos(Math.toRadians(farthestLatitude));
+    }
+
+    private void addToCell(long cellKey, long driverId) {
+        cells.compute(cellKey, (key, members) -> {
+            Set<Long> target = (members != null) ? members : ConcurrentHashMap.newKeySet();
+            target.add(driverId);
+            return target;
+        });
+    }
+
+    private void removeFromCell(long cellKey, long driverId) {
+        cells.computeIfPresent(cellKey, (key, members) -> {
+            members.remove(driverId);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor(latitude / cellSizeDegrees);
+    }
+
+    private int column(double longitude) {
+        return (int) Math.floor(longitude / cellSizeDegrees);
+    }
+
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,12 @@
+package com.taxiapp.taxi_api.geo;
+
+/**
+ * Posição de um motorista mantida pelo {@link DriverLocationIndex}.
+ *
+ * @param driverId  O ID do motorista.
+ * @param latitude  Latitude em graus decimais.
+ * @param longitude Longitude em graus decimais.
+ * @param cellKey   A chave da célula da grade que contém a posição.
+ */
+public record DriverPosition(long driverId, double latitude, double longitude, long cellKey) {
+}
@@ -0,0 +1,39 @@
+package com.taxiapp.taxi_api.geo;
+
+/**
+ * Funções utilitárias de geometria esférica usadas pelo índice de motoristas.
+ */
+public final class GeoUtils {
+
+    /**
+     * Raio médio da Terra, em metros.
+     */
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    /**
+     * Comprimento aproximado de um grau de latitude, em metros.
+     */
+    public static final double METERS_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_METERS;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Calcula a distância do grande círculo (fórmula de Haversine) entre dois pontos.
+     *
+     * @param lat1 Latitude do primeiro ponto.
+     * @param lon1 Longitude do primeiro ponto.
+     * @param lat2 Latitude do segundo ponto.
+     * @param lon2 Longitude do segundo ponto.
+     * @return A distância em metros.
+     */
+    public static double haversineMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLon = Math.sin(dLon / 2);
+        double a = sinLat * sinLat
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
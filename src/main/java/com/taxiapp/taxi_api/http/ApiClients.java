@@ -0,0 +1,61 @@
+package com.taxiapp.taxi_api.http;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Identificação do cliente (integrador) que fez uma requisição à API.
+ *
+ * <p>Usada pelo limite de requisições por cliente e pela leitura das próprias
+ * escritas nas réplicas. O cliente é o endereço IP (atrás de um proxy,
+ * configure {@code server.forward-headers-strategy}).</p>
+ *
+ * <p>O cabeçalho {@code taxi.api.client-header} (padrão {@code X-Client-Id})
+ * só identifica o cliente quando o valor está em {@code taxi.api.trusted-client-ids}:
+ * sem autenticação, quem controla o cabeçalho poderia trocar de valor a cada
+ * requisição para escapar do limite (e encher o cache de clientes). Os valores
+ * confiáveis são identificadores, e não segredos, pois aparecem nas métricas.
+ * Valores com mais de {@value #MAX_CLIENT_ID_LENGTH} caracteres são ignorados.</p>
+ */
+@Component
+public class ApiClients {
+
+    static final int MAX_CLIENT_ID_LENGTH = 64;
+
+    private final String clientHeader;
+    private final Set<String> trustedClientIds;
+
+    /**
+     * Construtor para Injeção de Dependência.
+     *
+     * @param clientHeader     Nome do cabeçalho com o identificador do cliente.
+     * @param trustedClientIds Identificadores aceitos no cabeçalho, separados por vírgula.
+     */
+    public ApiClients(@Value("${taxi.api.client-header:X-Client-Id}") String clientHeader,
+            @Value("${taxi.api.trusted-client-ids:}") String trustedClientIds) {
+        this.clientHeader = clientHeader;
+        this.trustedClientIds = Arrays.stream(trustedClientIds.split(",")).map(String::trim)
+                .filter(id -> !id.isEmpty()).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Chave do cliente da requisição: {@code id:<cabeçalho>} para um
+     * identificador confiável, senão {@code ip:<endereço>}.
+     */
+    public String identify(HttpServletRequest request) {
+        String clientId = request.getHeader(clientHeader);
+        if (clientId != null && clientId.length() <= MAX_CLIENT_ID_LENGTH) {
+            clientId = clientId.trim();
+            if (trustedClientIds.contains(clientId)) {
+                return "id:" + clientId;
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,49 @@
+package com.taxiapp.taxi_api.http;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.util.DigestUtils;
+
+/**
+ * ETags fortes dos recursos da API, calculados a partir do DTO de resposta.
+ *
+ * <p>O ETag é o MD5 da representação do DTO (um {@code record}, cujo
+ * {@code toString} inclui todos os campos), então muda sempre que qualquer
+ * campo devolvido muda, inclusive os alterados fora do JPA (posição gravada em
+ * lote, disponibilidade alterada pelo despacho). Como o DTO vem do cache de
+ * leitura, responder a um {@code If-None-Match} normalmente não consulta o banco.</p>
+ *
+ * <p>O {@code If-None-Match} dos GETs é tratado pelo próprio Spring MVC a
+ * partir do ETag da {@code ResponseEntity}; o {@code If-Match} das
+ * atualizações é conferido pelos serviços com {@link #matches(String, Object)}.</p>
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * ETag forte (entre aspas) da representação.
+     */
+    public static String of(Object representation) {
+        return "\"" + DigestUtils.md5DigestAsHex(representation.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Comparação forte de um cabeçalho {@code If-Match} com a representação atual.
+     *
+     * @param ifMatch        O valor do cabeçalho (um ou mais ETags separados por vírgula, ou {@code *}).
+     * @param representation O DTO atual do recurso.
+     * @return {@code true} se algum ETag do cabeçalho corresponde (ETags fracos nunca correspondem).
+     */
+    public static boolean matches(String ifMatch, Object representation) {
+        String current = of(representation);
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
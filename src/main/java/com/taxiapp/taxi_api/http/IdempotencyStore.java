@@ -0,0 +1,176 @@
+package com.taxiapp.taxi_api.http;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taxiapp.taxi_api.exception.IdempotencyKeyReusedException;
+import com.taxiapp.taxi_api.exception.IdempotentRequestInProgressException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Respostas já enviadas dos cadastros com cabeçalho {@code Idempotency-Key},
+ * para que a repetição de uma requisição (ex: o app reenvia após perder a
+ * conexão) receba a mesma resposta <strong>201 Created</strong> sem passar
+ * de novo pelas validações de unicidade nem pelo banco.
+ *
+ * <p>As chaves ficam em um cache Caffeine limitado a
+ * {@code taxi.idempotency.max-keys} entradas, que expiram
+ * {@code taxi.idempotency.ttl-minutes} após a primeira requisição. Cada
+ * entrada guarda um {@link CompletableFuture} criado <em>antes</em> da
+ * execução: uma repetição que chega enquanto a primeira ainda está em
+ * andamento espera pelo mesmo resultado em vez de executar outra vez, por no
+ * máximo {@code taxi.idempotency.wait-ms}; depois disso, desiste com 409
+ * (a primeira continua, e o cliente pode repetir mais tarde). Se a
+ * primeira falhar, as que esperavam recebem o mesmo erro e a chave é liberada
+ * (erros não são guardados; o cliente pode tentar de novo).</p>
+ *
+ * <p>A chave vale por rota (a API não tem autenticação para separá-la por
+ * cliente) e fica associada a um hash do corpo da requisição: a mesma chave
+ * com outro corpo é recusada com 422. Respostas repetidas trazem o cabeçalho
+ * {@code Idempotent-Replayed: true}.</p>
+ *
+ * <p>Métricas: {@code taxi.idempotency.replayed} e as métricas do cache
+ * {@code idempotency} ({@code cache.gets}, {@code cache.size} etc.).</p>
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    /**
+     * Uma requisição com chave: o hash do corpo e a resposta (pendente enquanto executa).
+     */
+    private record IdempotentRequest(String fingerprint, CompletableFuture<ResponseEntity<?>> response) {
+    }
+
+    private final Cache<String, IdempotentRequest> requests;
+    private final Counter replayed;
+    private final long waitMillis;
+
+    /**
+     * Construtor para Injeção de Dependência.
+     */
+    public IdempotencyStore(MeterRegistry meterRegistry,
+            @Value("${taxi.idempotency.max-keys:100000}") long maxKeys,
+            @Value("${taxi.idempotency.ttl-minutes:1440}") long ttlMinutes,
+            @Value("${taxi.idempotency.wait-ms:10000}") long waitMillis) {
+        this.requests = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        this.replayed = Counter.builder("taxi.idempotency.replayed")
+                .description("Requests answered with the stored response of an earlier Idempotency-Key")
+                .register(meterRegistry);
+        // Mesmas chaves de tag das métricas dos caches do Spring (cache, cache.manager, name):
+        // o Prometheus recusa medidores de mesmo nome com outras chaves
+        CaffeineCacheMetrics.monitor(meterRegistry, requests, "idempotency",
+                Tags.of("cache.manager", "idempotency", "name", "idempotency"));
+        this.waitMillis = waitMillis;
+    }
+
+    /**
+     * Executa a ação uma única vez por chave e rota.
+     *
+     * @param scope   A rota (ex: {@code POST /api/passengers}).
+     * @param key     O valor do cabeçalho {@code Idempotency-Key}; se nulo, a ação apenas é executada.
+     * @param request O corpo da requisição, comparado com o da primeira execução.
+     * @param action  A execução do cadastro.
+     * @return A resposta da ação, ou a da primeira execução com a mesma chave.
+     * @throws IllegalArgumentException       Se a chave for vazia ou longa demais.
+     * @throws IdempotencyKeyReusedException  Se a chave já foi usada com outro corpo.
+     * @throws IdempotentRequestInProgressException Se a primeira requisição com a
+     *         chave não terminou dentro da espera máxima.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request,
+            Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(IDEMPOTENCY_KEY + " must have between 1 and " + MAX_KEY_LENGTH
+                    + " characters.");
+        }
+
+        // 1. Reserva a chave; se já existe, esta requisição é uma repetição
+        String fingerprint = DigestUtils.md5DigestAsHex(request.toString().getBytes(StandardCharsets.UTF_8));
+        IdempotentRequest mine = new IdempotentRequest(fingerprint, new CompletableFuture<>());
+        ConcurrentMap<String, IdempotentRequest> map = requests.asMap();
+        String cacheKey = scope + " " + key;
+        IdempotentRequest existing = map.putIfAbsent(cacheKey, mine);
+        if (existing != null) {
+            return (ResponseEntity<T>) replay(existing, fingerprint);
+        }
+
+        // 2. Primeira requisição com esta chave: executa e publica o resultado
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error ex) {
+            map.remove(cacheKey, mine);
+            mine.response().completeExceptionally(ex);
+            throw ex;
+        }
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            map.remove(cacheKey, mine);
+        }
+        mine.response().complete(response);
+        return response;
+    }
+
+    /**
+     * Espera a resposta da primeira requisição (se ainda em andamento, por no
+     * máximo {@code waitMillis}) e a devolve marcada como repetida.
+     */
+    private ResponseEntity<?> replay(IdempotentRequest existing, String fingerprint) {
+        if (!existing.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException(
+                    IDEMPOTENCY_KEY + " was already used with a different request body.");
+        }
+        ResponseEntity<?> original;
+        try {
+            original = existing.response().get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            // A primeira requisição falhou: esta recebe o mesmo erro
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new IdempotentRequestInProgressException(
+                    "A request with this " + IDEMPOTENCY_KEY + " is still in progress; retry later.");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotentRequestInProgressException(
+                    "A request with this " + IDEMPOTENCY_KEY + " is still in progress; retry later.");
+        }
+        replayed.increment();
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(original.getHeaders());
+        headers.set(REPLAYED, "true");
+        return new ResponseEntity<>(original.getBody(), headers, original.getStatusCode());
+    }
+}
@@ -0,0 +1,171 @@
+package com.taxiapp.taxi_api.http;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Limita a taxa de requisições de cada cliente da API ({@code /api/**}) e
+ * responde <strong>429 Too Many Requests</strong> às excedentes antes de
+ * chegarem aos controllers, serviços e ao pool de conexões.
+ *
+ * <p>O cliente é identificado por {@link ApiClients} (endereço IP, ou o
+ * cabeçalho {@code X-Client-Id} com um identificador confiável). Cada um tem um balde de
+ * {@code taxi.ratelimit.burst} fichas reposto a
+ * {@code taxi.ratelimit.requests-per-second}.</p>
+ *
+ * <p>O balde é implementado como GCRA (<em>generic cell rate algorithm</em>):
+ * o estado de um cliente é um único {@link AtomicLong} com o instante teórico
+ * da próxima requisição, e cada requisição custa um {@code compareAndSet},
+ * sem lock global nem thread de reposição. Os estados ficam em um cache
+ * Caffeine limitado a {@code taxi.ratelimit.max-clients} e descartados após
+ * ficarem ociosos pelo tempo de encher o balde (quando voltariam ao estado
+ * inicial de qualquer forma).</p>
+ *
+ * <p>Métricas: {@code taxi.ratelimit.rejected} (tag {@code client}; os
+ * clientes além dos primeiros {@value #MAX_TAGGED_CLIENTS} são somados em
+ * {@code (other)}) e {@code taxi.ratelimit.clients}. Desligado com
+ * {@code taxi.ratelimit.enabled=false}.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "taxi.ratelimit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Máximo de clientes com contador próprio de rejeições (limita as tags das métricas).
+     */
+    private static final int MAX_TAGGED_CLIENTS = 100;
+    private static final String OTHER = "(other)";
+
+    private final Cache<String, AtomicLong> clients;
+    private final ConcurrentHashMap<String, Counter> rejected = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    private final ApiClients apiClients;
+    /**
+     * Intervalo entre fichas ({@code T}) e folga acumulável ({@code T * burst}), em nanossegundos.
+     */
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+
+    /**
+     * Construtor para Injeção de Dependência.
+     */
+    public RateLimitFilter(MeterRegistry meterRegistry, ObjectMapper objectMapper, ApiClients apiClients,
+            @Value("${taxi.ratelimit.requests-per-second:100}") double requestsPerSecond,
+            @Value("${taxi.ratelimit.burst:200}") int burst,
+            @Value("${taxi.ratelimit.max-clients:100000}") long maxClients) {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("taxi.ratelimit.requests-per-second and burst must be positive.");
+        }
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.apiClients = apiClients;
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(burstToleranceNanos))
+                .build();
+        Gauge.builder("taxi.ratelimit.clients", clients, Cache::estimatedSize)
+                .description("API clients with rate limit state")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String client = apiClients.identify(request);
+        long waitNanos = tryAcquire(client);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        rejectedCounter(client).increment();
+        reject(response, waitNanos);
+    }
+
+    /**
+     * Consome uma ficha do balde do cliente.
+     *
+     * @return 0 se a requisição foi aceita; senão, quanto falta (em nanossegundos) para a próxima ficha.
+     */
+    long tryAcquire(String client) {
+        AtomicLong theoreticalArrival = clients.get(client, key -> new AtomicLong(System.nanoTime()));
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, now) + emissionIntervalNanos;
+            long excess = next - now - burstToleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private Counter rejectedCounter(String client) {
+        Counter counter = rejected.get(client);
+        if (counter != null) {
+            return counter;
+        }
+        String tag = (rejected.size() < MAX_TAGGED_CLIENTS) ? client : OTHER;
+        return rejected.computeIfAbsent(tag, key -> Counter.builder("taxi.ratelimit.rejected")
+                .description("Requests rejected with 429 because the client exceeded its rate limit")
+                .tag("client", key)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Responde 429 no mesmo formato de erro do {@code GlobalExceptionHandler}, com {@code Retry-After}.
+     */
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", Instant.now().toString());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
+        body.put("message", "Rate limit exceeded; retry in " + retryAfterSeconds + " s.");
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
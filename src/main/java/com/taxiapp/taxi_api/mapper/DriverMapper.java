@@ -69,7 +69,9 @@ public class DriverMapper {
                 driver.getAddress(),
                 driver.getPhone(),
                 driver.getVehiclePlate(),
-                driver.getAvailable()
+                driver.getAvailable(),
+                driver.getLatitude(),
+                driver.getLongitude()
         );
 
     }
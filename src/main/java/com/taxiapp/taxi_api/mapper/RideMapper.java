@@ -0,0 +1,61 @@
+package com.taxiapp.taxi_api.mapper;
+
+import org.springframework.stereotype.Component;
+
+import com.taxiapp.taxi_api.dto.RideRequestDTO;
+import com.taxiapp.taxi_api.dto.RideResponseDTO;
+import com.taxiapp.taxi_api.model.Passenger;
+import com.taxiapp.taxi_api.model.Ride;
+
+/**
+ * Classe Mapper responsável pela conversão de dados entre a entidade
+ * {@link Ride} e seus DTOs (Data Transfer Objects).
+ *
+ * @see Ride
+ * @see RideRequestDTO
+ * @see RideResponseDTO
+ */
+@Component
+public class RideMapper {
+
+    /**
+     * Converte um DTO de Requisição ({@link RideRequestDTO}) em uma nova
+     * entidade {@link Ride} com status REQUESTED.
+     *
+     * @param requestDTO O DTO (record) de entrada.
+     * @param passenger  O passageiro (já carregado) que solicita a corrida.
+     * @return Uma nova instância da entidade {@link Ride}.
+     */
+    public Ride toEntity(RideRequestDTO requestDTO, Passenger passenger) {
+        Ride ride = new Ride(passenger, requestDTO.pickupLocation(), requestDTO.dropoffLocation());
+        ride.setPickupLatitude(requestDTO.pickupLatitude());
+        ride.setPickupLongitude(requestDTO.pickupLongitude());
+        ride.setDropoffLatitude(requestDTO.dropoffLatitude());
+        ride.setDropoffLongitude(requestDTO.dropoffLongitude());
+        return ride;
+    }
+
+    /**
+     * Converte uma entidade {@link Ride} em um DTO de Resposta ({@link RideResponseDTO}).
+     *
+     * @param ride A entidade {@link Ride} a ser convertida.
+     * @return Um {@link RideResponseDTO} preenchido com os dados da entidade.
+     */
+    public RideResponseDTO toResponseDTO(Ride ride) {
+        return new RideResponseDTO(
+                ride.getId(),
+                ride.getPassenger().getId(),
+                ride.getDriver() != null ? ride.getDriver().getId() : null,
+                ride.getPickupLocation(),
+                ride.getDropoffLocation(),
+                ride.getPickupLatitude(),
+                ride.getPickupLongitude(),
+                ride.getDropoffLatitude(),
+                ride.getDropoffLongitude(),
+                ride.getStatus(),
+                ride.getCreatedAt(),
+                ride.getQuotedFare(),
+                ride.getSurgeMultiplier()
+        );
+    }
+}
@@ -0,0 +1,124 @@
+package com.taxiapp.taxi_api.metrics;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import com.taxiapp.taxi_api.exception.GlobalExceptionHandler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mede a latência de todos os métodos públicos dos serviços e de todos os
+ * métodos dos repositórios Spring Data (consultas derivadas, {@code @Query},
+ * {@code save}, {@code findById} etc.).
+ *
+ * <p>Métricas:</p>
+ * <ul>
+ *   <li>{@code taxi.service}: tags {@code class}, {@code method}, {@code outcome} e {@code exception};</li>
+ *   <li>{@code taxi.repository}: tags {@code repository}, {@code method}, {@code outcome} e {@code exception}.</li>
+ * </ul>
+ *
+ * <p>{@code outcome} é {@code SUCCESS} ou o status HTTP com que a exceção é
+ * respondida pelo {@link GlobalExceptionHandler} (ex: {@code CONFLICT},
+ * {@code NOT_FOUND}); {@code exception} é o nome simples da classe da exceção
+ * ou {@code none}. Como as chamadas aos repositórios acontecem dentro dos
+ * serviços, um cadastro lento pode ser decomposto nas consultas que fez.</p>
+ *
+ * <p>Os histogramas de percentis são ligados em
+ * {@code management.metrics.distribution.*} no {@code application.properties}.
+ * Os {@link Timer}s ficam em cache por método e resultado, sem custo de
+ * registro por chamada.</p>
+ */
+@Aspect
+@Component
+public class MethodTimingAspect {
+
+    private static final String SERVICE_TIMER = "taxi.service";
+    private static final String REPOSITORY_TIMER = "taxi.repository";
+
+    private static final String SUCCESS = "SUCCESS";
+    private static final String NO_EXCEPTION = "none";
+
+    /**
+     * Chave do cache de timers: um por método, resultado e tipo de exceção.
+     */
+    private record TimerKey(String name, Class<?> owner, Method method, String outcome, Class<?> exception) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Class<?>, Class<?>> repositoryInterfaces = new ConcurrentHashMap<>();
+
+    /**
+     * Construtor para Injeção de Dependência.
+     */
+    public MethodTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Métodos públicos das classes do pacote {@code service}.
+     */
+    @Around("execution(public * com.taxiapp.taxi_api.service..*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> owner = joinPoint.getSignature().getDeclaringType();
+        return time(joinPoint, SERVICE_TIMER, "class", owner);
+    }
+
+    /**
+     * Métodos de qualquer repositório Spring Data da aplicação.
+     */
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> owner = repositoryInterfaces.computeIfAbsent(joinPoint.getThis().getClass(),
+                MethodTimingAspect::repositoryInterface);
+        return time(joinPoint, REPOSITORY_TIMER, "repository", owner);
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String name, String ownerTag, Class<?> owner) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = SUCCESS;
+        Class<?> exception = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            outcome = GlobalExceptionHandler.statusFor(ex).name();
+            exception = ex.getClass();
+            throw ex;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            TimerKey key = new TimerKey(name, owner, method, outcome, exception);
+            timers.computeIfAbsent(key, k -> Timer.builder(k.name())
+                    .tag(ownerTag, k.owner().getSimpleName())
+                    .tag("method", k.method().getName())
+                    .tag("outcome", k.outcome())
+                    .tag("exception", k.exception() == null ? NO_EXCEPTION : k.exception().getSimpleName())
+                    .register(meterRegistry))
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Interface do repositório da aplicação implementada pelo proxy
+     * (ex: {@code DriverRepository}), em vez de {@code CrudRepository}.
+     */
+    private static Class<?> repositoryInterface(Class<?> proxyClass) {
+        for (Class<?> candidate : proxyClass.getInterfaces()) {
+            if (Repository.class.isAssignableFrom(candidate)
+                    && !candidate.getName().startsWith("org.springframework.")) {
+                return candidate;
+            }
+        }
+        return proxyClass;
+    }
+}
@@ -0,0 +1,28 @@
+package com.taxiapp.taxi_api.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+/**
+ * Estatísticas padrão do Hibernate ({@code hibernate.generate_statistics}) que
+ * também repassam ao {@link SqlRequestTracker} o tempo de cada consulta
+ * executada, para registrar as que passam do limite configurado.
+ *
+ * <p>Criada pela {@code StatisticsFactory} registrada em
+ * {@code hibernate.stats.factory} pelo {@link com.taxiapp.taxi_api.config.SqlMonitoringConfig}.</p>
+ */
+public class SlowQueryStatistics extends StatisticsImpl {
+
+    private final SqlRequestTracker tracker;
+
+    public SlowQueryStatistics(SessionFactoryImplementor sessionFactory, SqlRequestTracker tracker) {
+        super(sessionFactory);
+        this.tracker = tracker;
+    }
+
+    @Override
+    public void queryExecuted(String query, int rows, long time) {
+        super.queryExecuted(query, rows, time);
+        tracker.queryExecuted(query, rows, time);
+    }
+}
@@ -0,0 +1,44 @@
+package com.taxiapp.taxi_api.metrics;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Delimita cada requisição HTTP para a contagem de comandos SQL do
+ * {@link SqlRequestTracker}. Os endpoints do actuator não são contados.
+ */
+@Component
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private final SqlRequestTracker tracker;
+
+    /**
+     * Construtor para Injeção de Dependência.
+     */
+    public SqlBudgetFilter(SqlRequestTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        tracker.begin(request);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            tracker.end();
+        }
+    }
+}
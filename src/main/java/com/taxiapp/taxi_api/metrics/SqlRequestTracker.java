@@ -0,0 +1,257 @@
+package com.taxiapp.taxi_api.metrics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Conta os comandos SQL de cada requisição HTTP e guarda as requisições e
+ * consultas mais custosas, expostas pelo {@link SqlStatsEndpoint}.
+ *
+ * <p>A contagem é feita por thread: o {@link SqlBudgetFilter} abre o contexto
+ * da requisição, o {@link SqlStatementInspector} do Hibernate incrementa o
+ * contador a cada comando preparado e o {@link SlowQueryStatistics} registra
+ * as consultas acima de {@code taxi.sql.slow-query-threshold-ms}. Comandos
+ * executados fora de uma requisição (ex: despacho, carga inicial) ou em outra
+ * thread (ex: exportação assíncrona) não são contados.</p>
+ *
+ * <p>Requisições com mais de {@code taxi.sql.statement-budget} comandos são
+ * registradas em log (WARN) e no contador {@code taxi.sql.budget.exceeded}; a
+ * distribuição de comandos por requisição fica em {@code taxi.sql.statements}.
+ * Ambas as métricas são marcadas pelo padrão da rota (ex: {@code GET /api/drivers/{id}}).</p>
+ */
+@Component
+public class SqlRequestTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlRequestTracker.class);
+
+    /**
+     * Máximo de rotas e de consultas distintas guardadas; as excedentes são somadas em {@link #OTHER}.
+     */
+    private static final int MAX_TRACKED = 500;
+    private static final String OTHER = "(other)";
+    private static final String UNMATCHED = "UNMATCHED";
+
+    /**
+     * Contador de comandos da requisição em andamento nesta thread.
+     */
+    private static final class RequestStatements {
+        private final HttpServletRequest request;
+        private int statements;
+
+        private RequestStatements(HttpServletRequest request) {
+            this.request = request;
+        }
+    }
+
+    /**
+     * Totais de uma rota.
+     */
+    private static final class EndpointStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder overBudget = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+    }
+
+    /**
+     * Totais de uma consulta lenta.
+     */
+    private static final class SlowQueryStats {
+        private final LongAdder occurrences = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final AtomicLong maxMillis = new AtomicLong();
+        private volatile String lastEndpoint;
+    }
+
+    /**
+     * Uma rota e seus comandos SQL por requisição.
+     */
+    public record EndpointReport(String endpoint, long requests, double averageStatements, long maxStatements,
+            long overBudget) {
+    }
+
+    /**
+     * Uma consulta que passou do limite de tempo.
+     */
+    public record SlowQueryReport(String query, long occurrences, long maxMillis, double averageMillis,
+            String lastEndpoint) {
+    }
+
+    private final ThreadLocal<RequestStatements> current = new ThreadLocal<>();
+    private final ConcurrentHashMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SlowQueryStats> slowQueries = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    private final long slowQueryThresholdMillis;
+
+    /**
+     * Construtor para Injeção de Dependência.
+     */
+    public SqlRequestTracker(MeterRegistry meterRegistry,
+            @Value("${taxi.sql.statement-budget:10}") int statementBudget,
+            @Value("${taxi.sql.slow-query-threshold-ms:100}") long slowQueryThresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
+
+    /**
+     * Inicia a contagem para a requisição atendida pela thread atual.
+     */
+    void begin(HttpServletRequest request) {
+        current.set(new RequestStatements(request));
+    }
+
+    /**
+     * Encerra a contagem da requisição atual e atualiza os totais da rota.
+     */
+    void end() {
+        RequestStatements request = current.get();
+        if (request == null) {
+            return;
+        }
+        current.remove();
+        String endpoint = endpoint(request.request);
+        int statements = request.statements;
+
+        EndpointStats stats = tracked(endpoints, endpoint, EndpointStats::new);
+        stats.requests.increment();
+        stats.statements.add(statements);
+        stats.maxStatements.accumulateAndGet(statements, Math::max);
+        DistributionSummary.builder("taxi.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tag("uri", endpoint)
+                .register(meterRegistry)
+                .record(statements);
+
+        if (statements > statementBudget) {
+            stats.overBudget.increment();
+            Counter.builder("taxi.sql.budget.exceeded")
+                    .description("HTTP requests that executed more SQL statements than the budget")
+                    .tag("uri", endpoint)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} executed {} SQL statements (budget {})", endpoint, statements, statementBudget);
+        }
+    }
+
+    /**
+     * Chamado a cada comando SQL preparado pelo Hibernate.
+     */
+    void statementPrepared() {
+        RequestStatements request = current.get();
+        if (request != null) {
+            request.statements++;
+        }
+    }
+
+    /**
+     * Chamado pelas estatísticas do Hibernate a cada consulta executada.
+     *
+     * @param query  A consulta (HQL ou SQL nativo).
+     * @param rows   Linhas retornadas ou afetadas.
+     * @param millis Tempo de execução, em milissegundos.
+     */
+    void queryExecuted(String query, int rows, long millis) {
+        if (millis < slowQueryThresholdMillis) {
+            return;
+        }
+        RequestStatements request = current.get();
+        String endpoint = (request == null) ? "-" : endpoint(request.request);
+        SlowQueryStats stats = tracked(slowQueries, query, SlowQueryStats::new);
+        stats.occurrences.increment();
+        stats.totalMillis.add(millis);
+        stats.maxMillis.accumulateAndGet(millis, Math::max);
+        stats.lastEndpoint = endpoint;
+        log.warn("Slow query ({} ms, {} rows) during {}: {}", millis, rows, endpoint, query);
+    }
+
+    /**
+     * As rotas com mais comandos SQL por requisição.
+     *
+     * @param limit Quantidade máxima de itens.
+     * @return As rotas ordenadas pelo máximo de comandos, do maior para o menor.
+     */
+    public List<EndpointReport> worstEndpoints(int limit) {
+        return endpoints.entrySet().stream()
+                .map(entry -> {
+                    EndpointStats stats = entry.getValue();
+                    long requests = stats.requests.sum();
+                    return new EndpointReport(entry.getKey(), requests,
+                            requests == 0 ? 0 : stats.statements.sum() / (double) requests,
+                            stats.maxStatements.get(), stats.overBudget.sum());
+                })
+                .sorted(Comparator.comparingLong(EndpointReport::maxStatements)
+                        .thenComparingDouble(EndpointReport::averageStatements).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * As consultas mais lentas entre as que passaram do limite.
+     *
+     * @param limit Quantidade máxima de itens.
+     * @return As consultas ordenadas pelo maior tempo, do maior para o menor.
+     */
+    public List<SlowQueryReport> slowestQueries(int limit) {
+        return slowQueries.entrySet().stream()
+                .map(entry -> {
+                    SlowQueryStats stats = entry.getValue();
+                    long occurrences = stats.occurrences.sum();
+                    return new SlowQueryReport(entry.getKey(), occurrences, stats.maxMillis.get(),
+                            occurrences == 0 ? 0 : stats.totalMillis.sum() / (double) occurrences, stats.lastEndpoint);
+                })
+                .sorted(Comparator.comparingLong(SlowQueryReport::maxMillis).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Descarta os totais acumulados.
+     */
+    public void reset() {
+        endpoints.clear();
+        slowQueries.clear();
+    }
+
+    public int getStatementBudget() {
+        return statementBudget;
+    }
+
+    public long getSlowQueryThresholdMillis() {
+        return slowQueryThresholdMillis;
+    }
+
+    /**
+     * Método HTTP e padrão da rota atendida (sem os valores das variáveis, para manter poucas tags).
+     */
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern == null ? UNMATCHED : pattern);
+    }
+
+    private static <T> T tracked(ConcurrentHashMap<String, T> map, String key, Supplier<T> factory) {
+        T stats = map.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        String trackedKey = (map.size() < MAX_TRACKED) ? key : OTHER;
+        return map.computeIfAbsent(trackedKey, k -> factory.get());
+    }
+}
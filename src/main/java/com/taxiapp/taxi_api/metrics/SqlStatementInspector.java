@@ -0,0 +1,25 @@
+package com.taxiapp.taxi_api.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * {@link StatementInspector} do Hibernate que apenas conta os comandos SQL
+ * preparados na requisição atual; o SQL é devolvido sem alterações.
+ *
+ * <p>Registrado em {@code hibernate.session_factory.statement_inspector} pelo
+ * {@link com.taxiapp.taxi_api.config.SqlMonitoringConfig}.</p>
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    private final SqlRequestTracker tracker;
+
+    public SqlStatementInspector(SqlRequestTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        tracker.statementPrepared();
+        return sql;
+    }
+}
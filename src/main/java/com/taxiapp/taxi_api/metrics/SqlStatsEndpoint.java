@@ -0,0 +1,91 @@
+package com.taxiapp.taxi_api.metrics;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Endpoint do actuator ({@code /actuator/sqlstats}) com as rotas que mais
+ * executam comandos SQL por requisição, as consultas acima do limite de tempo e
+ * as consultas com maior tempo máximo segundo as estatísticas do Hibernate.
+ *
+ * <p>{@code DELETE /actuator/sqlstats} zera os totais (inclusive as
+ * estatísticas do Hibernate), útil antes de uma rodada de carga.</p>
+ */
+@Component
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private static final int TOP = 20;
+
+    /**
+     * Resumo devolvido pelo endpoint.
+     */
+    public record SqlStatsReport(int statementBudget, long slowQueryThresholdMillis,
+            List<SqlRequestTracker.EndpointReport> endpoints, List<SqlRequestTracker.SlowQueryReport> slowQueries,
+            HibernateReport hibernate) {
+    }
+
+    /**
+     * Totais das estatísticas do Hibernate.
+     */
+    public record HibernateReport(long statements, long queries, long entityLoads, long collectionFetches,
+            long secondLevelCacheHits, long secondLevelCacheMisses, String slowestQuery, long slowestQueryMillis,
+            List<QueryReport> queriesByMaxTime) {
+    }
+
+    /**
+     * Uma consulta segundo as estatísticas do Hibernate.
+     */
+    public record QueryReport(String query, long executions, long maxMillis, double averageMillis, long rows) {
+    }
+
+    private final SqlRequestTracker tracker;
+    private final Statistics statistics;
+
+    /**
+     * Construtor para Injeção de Dependência.
+     */
+    public SqlStatsEndpoint(SqlRequestTracker tracker, EntityManagerFactory entityManagerFactory) {
+        this.tracker = tracker;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public SqlStatsReport sqlStats() {
+        return new SqlStatsReport(tracker.getStatementBudget(), tracker.getSlowQueryThresholdMillis(),
+                tracker.worstEndpoints(TOP), tracker.slowestQueries(TOP), hibernateReport());
+    }
+
+    @DeleteOperation
+    public void reset() {
+        tracker.reset();
+        statistics.clear();
+    }
+
+    private HibernateReport hibernateReport() {
+        List<QueryReport> queries = Arrays.stream(statistics.getQueries())
+                .map(query -> {
+                    QueryStatistics stats = statistics.getQueryStatistics(query);
+                    return new QueryReport(query, stats.getExecutionCount(), stats.getExecutionMaxTime(),
+                            stats.getExecutionAvgTimeAsDouble(), stats.getExecutionRowCount());
+                })
+                .sorted(Comparator.comparingLong(QueryReport::maxMillis).reversed())
+                .limit(TOP)
+                .toList();
+        return new HibernateReport(statistics.getPrepareStatementCount(), statistics.getQueryExecutionCount(),
+                statistics.getEntityLoadCount(), statistics.getCollectionFetchCount(),
+                statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount(),
+                statistics.getQueryExecutionMaxTimeQueryString(), statistics.getQueryExecutionMaxTime(), queries);
+    }
+}
@@ -0,0 +1,12 @@
+package com.taxiapp.taxi_api.pricing;
+
+import java.math.BigDecimal;
+
+/**
+ * Tarifa cotada para uma corrida pelo {@link SurgePricingEngine}.
+ *
+ * @param fare            A tarifa estimada, já com o multiplicador (2 casas decimais).
+ * @param surgeMultiplier O multiplicador dinâmico da zona de embarque (1.0 sem surge).
+ */
+public record FareQuote(BigDecimal fare, BigDecimal surgeMultiplier) {
+}
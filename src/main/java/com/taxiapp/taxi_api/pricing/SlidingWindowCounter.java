@@ -0,0 +1,49 @@
+package com.taxiapp.taxi_api.pricing;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador de uma janela deslizante: um anel de {@link LongAdder}, um por
+ * intervalo ("balde") da janela.
+ *
+ * <p>Quem escreve só soma no balde atual, sem locks; sob disputa, o
+ * {@link LongAdder} espalha as somas entre células. Qual é o balde atual, e
+ * quando um balde antigo é zerado para ser reaproveitado, é decidido por quem
+ * usa o contador ({@link SurgePricingEngine}).</p>
+ */
+final class SlidingWindowCounter {
+
+    private final LongAdder[] buckets;
+
+    SlidingWindowCounter(int bucketCount) {
+        this.buckets = new LongAdder[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Soma {@code value} ao balde informado.
+     */
+    void add(int bucket, long value) {
+        buckets[bucket].add(value);
+    }
+
+    /**
+     * Total da janela (todos os baldes).
+     */
+    long sum() {
+        long total = 0;
+        for (LongAdder bucket : buckets) {
+            total += bucket.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Zera um balde antes de ele voltar a ser o atual.
+     */
+    void reset(int bucket) {
+        buckets[bucket].reset();
+    }
+}
@@ -0,0 +1,331 @@
+package com.taxiapp.taxi_api.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.taxiapp.taxi_api.geo.DriverLocationIndex;
+import com.taxiapp.taxi_api.geo.GeoUtils;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Preço dinâmico (surge) por zona, calculado em memória, sem consultas ao banco.
+ *
+ * <p>As zonas são células de {@code taxi.pricing.zone-size-degrees} graus. Cada
+ * zona tem dois {@link SlidingWindowCounter} com a janela de
+ * {@code taxi.pricing.window-seconds}, dividida em {@code taxi.pricing.buckets}
+ * baldes:</p>
+ * <ul>
+ *   <li><strong>demanda</strong>: corridas solicitadas (REQUESTED) com embarque
+ *       na zona, somadas por {@link #recordRequest(double, double)};</li>
+ *   <li><strong>oferta</strong>: motoristas disponíveis na zona, amostrados do
+ *       {@link DriverLocationIndex} a cada recálculo (a média das amostras da
+ *       janela).</li>
+ * </ul>
+ *
+ * <p>A cada {@code taxi.pricing.recompute-interval-ms}, a thread
+ * {@code surge-pricing} avança o balde atual quando o intervalo dele termina,
+ * amostra a oferta e recalcula os multiplicadores: com {@code r} pedidos na
+ * janela por motorista disponível, o multiplicador é
+ * {@code 1 + (r - surge-threshold) * surge-sensitivity}, limitado a
+ * {@code max-multiplier} e arredondado em degraus de 0,1. Os multiplicadores
+ * maiores que 1 são publicados em um mapa imutável, e a cotação
+ * ({@link #quote(double, double, Double, Double)}) faz só uma busca nele e
+ * a conta da tarifa: leva microssegundos.</p>
+ *
+ * <p>Métricas: {@code taxi.pricing.zones}, {@code taxi.pricing.surge.zones},
+ * {@code taxi.pricing.surge.max-multiplier} e o timer {@code taxi.pricing.recompute}.</p>
+ */
+@Component
+public class SurgePricingEngine implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(SurgePricingEngine.class);
+
+    private static final BigDecimal NO_SURGE = BigDecimal.valueOf(1.0);
+
+    /**
+     * Contadores de uma zona.
+     */
+    private static final class Zone {
+        private final SlidingWindowCounter demand;
+        private final SlidingWindowCounter supply;
+
+        private Zone(int buckets) {
+            this.demand = new SlidingWindowCounter(buckets);
+            this.supply = new SlidingWindowCounter(buckets);
+        }
+    }
+
+    private final DriverLocationIndex locationIndex;
+
+    private final double zoneSizeDegrees;
+    private final int bucketCount;
+    private final long bucketNanos;
+    private final long recomputeIntervalMillis;
+    private final double surgeThreshold;
+    private final double surgeSensitivity;
+    private final double maxMultiplier;
+    private final BigDecimal baseFare;
+    private final BigDecimal perKm;
+    private final BigDecimal minimumFare;
+    private final double routeFactor;
+
+    private final ConcurrentHashMap<Long, Zone> zones = new ConcurrentHashMap<>();
+
+    /**
+     * Balde em que as somas entram agora, igual para todas as zonas.
+     */
+    private volatile int currentBucket;
+    /**
+     * Referência do relógio monotônico ({@link System#nanoTime()}) para numerar os intervalos.
+     */
+    private final long originNanos = System.nanoTime();
+    /**
+     * Intervalo (tempo desde {@code originNanos} / duração do balde) do balde
+     * atual; só usado pela thread de recálculo.
+     */
+    private long currentEpoch;
+    /**
+     * Quantas amostras de oferta cada balde recebeu; só usado pela thread de recálculo.
+     */
+    private final long[] supplySamples;
+
+    /**
+     * Multiplicadores maiores que 1, por zona; substituído inteiro a cada recálculo.
+     */
+    private volatile Map<Long, BigDecimal> multipliers = Map.of();
+
+    private final Timer recomputeTimer;
+
+    private volatile boolean running;
+    private Thread recomputeThread;
+
+    /**
+     * Construtor para Injeção de Dependência.
+     */
+    public SurgePricingEngine(DriverLocationIndex locationIndex, MeterRegistry meterRegistry,
+            @Value("${taxi.pricing.zone-size-degrees:0.02}") double zoneSizeDegrees,
+            @Value("${taxi.pricing.window-seconds:300}") long windowSeconds,
+            @Value("${taxi.pricing.buckets:30}") int bucketCount,
+            @Value("${taxi.pricing.recompute-interval-ms:1000}") long recomputeIntervalMillis,
+            @Value("${taxi.pricing.surge-threshold:1.0}") double surgeThreshold,
+            @Value("${taxi.pricing.surge-sensitivity:0.5}") double surgeSensitivity,
+            @Value("${taxi.pricing.max-multiplier:3.0}") double maxMultiplier,
+            @Value("${taxi.pricing.base-fare:5.00}") BigDecimal baseFare,
+            @Value("${taxi.pricing.per-km:2.50}") BigDecimal perKm,
+            @Value("${taxi.pricing.minimum-fare:8.00}") BigDecimal minimumFare,
+            @Value("${taxi.pricing.route-factor:1.3}") double routeFactor) {
+        if (zoneSizeDegrees <= 0 || bucketCount < 2 || windowSeconds * 1000 < bucketCount) {
+            throw new IllegalArgumentException("Invalid surge pricing zone size or window.");
+        }
+        this.locationIndex = locationIndex;
+        this.zoneSizeDegrees = zoneSizeDegrees;
+        this.bucketCount = bucketCount;
+        this.bucketNanos = TimeUnit.SECONDS.toNanos(windowSeconds) / bucketCount;
+        this.recomputeIntervalMillis = recomputeIntervalMillis;
+        this.surgeThreshold = surgeThreshold;
+        this.surgeSensitivity = surgeSensitivity;
+        this.maxMultiplier = maxMultiplier;
+        this.baseFare = baseFare;
+        this.perKm = perKm;
+        this.minimumFare = minimumFare;
+        this.routeFactor = routeFactor;
+        this.supplySamples = new long[bucketCount];
+
+        this.recomputeTimer = Timer.builder("taxi.pricing.recompute")
+                .description("Time to rotate the surge windows, sample supply and recompute the multipliers")
+                .register(meterRegistry);
+        Gauge.builder("taxi.pricing.zones", zones, Map::size)
+                .description("Zones with ride requests or available drivers in the surge window")
+                .register(meterRegistry);
+        Gauge.builder("taxi.pricing.surge.zones", this, engine -> engine.multipliers.size())
+                .description("Zones currently priced above the base fare")
+                .register(meterRegistry);
+        Gauge.builder("taxi.pricing.surge.max-multiplier", this, SurgePricingEngine::maxCurrentMultiplier)
+                .description("Highest surge multiplier among all zones")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Conta uma corrida solicitada com embarque no ponto informado.
+     */
+    public void recordRequest(double latitude, double longitude) {
+        zone(zoneKey(latitude, longitude)).demand.add(currentBucket, 1);
+    }
+
+    /**
+     * Multiplicador atual da zona do ponto (1.0 sem surge).
+     */
+    public BigDecimal multiplier(double latitude, double longitude) {
+        return multipliers.getOrDefault(zoneKey(latitude, longitude), NO_SURGE);
+    }
+
+    /**
+     * Cota a tarifa de uma corrida: {@code base-fare + per-km * km}, com a
+     * distância em linha reta até o destino multiplicada por {@code route-factor},
+     * no mínimo {@code minimum-fare}, vezes o multiplicador da zona de embarque.
+     * Sem as coordenadas do destino, a tarifa base é a mínima.
+     *
+     * @param pickupLatitude   Latitude do embarque.
+     * @param pickupLongitude  Longitude do embarque.
+     * @param dropoffLatitude  Latitude do destino (opcional).
+     * @param dropoffLongitude Longitude do destino (opcional).
+     * @return A {@link FareQuote} com a tarifa e o multiplicador aplicado.
+     */
+    public FareQuote quote(double pickupLatitude, double pickupLongitude, Double dropoffLatitude,
+            Double dropoffLongitude) {
+        BigDecimal fare = minimumFare;
+        if (dropoffLatitude != null && dropoffLongitude != null) {
+            double km = GeoUtils.haversineMeters(pickupLatitude, pickupLongitude, dropoffLatitude, dropoffLongitude)
+                    / 1000 * routeFactor;
+            fare = fare.max(baseFare.add(perKm.multiply(BigDecimal.valueOf(km))));
+        }
+        // Mesma escala da coluna Ride.surgeMultiplier: a corrida sai igual no POST e no GET
+        BigDecimal multiplier = multiplier(pickupLatitude, pickupLongitude).setScale(2, RoundingMode.HALF_UP);
+        return new FareQuote(fare.multiply(multiplier).setScale(2, RoundingMode.HALF_UP), multiplier);
+    }
+
+    /**
+     * Avança os baldes, amostra a oferta e recalcula os multiplicadores. Chamado
+     * pela thread {@code surge-pricing} (público para os benchmarks).
+     */
+    public void recompute() {
+        recompute(System.nanoTime() - originNanos);
+    }
+
+    /**
+     * {@link #recompute()} no instante {@code elapsedNanos} após a criação do motor.
+     */
+    void recompute(long elapsedNanos) {
+        long start = System.nanoTime();
+
+        // 1. Avança o balde atual, zerando os baldes que saem da janela antes de reaproveitá-los
+        // (o relógio é monotônico: o intervalo nunca volta)
+        long epoch = elapsedNanos / bucketNanos;
+        if (epoch > currentEpoch) {
+            long steps = Math.min(bucketCount, epoch - currentEpoch);
+            int bucket = currentBucket;
+            for (long i = 0; i < steps; i++) {
+                bucket = (bucket + 1) % bucketCount;
+                for (Zone zone : zones.values()) {
+                    zone.demand.reset(bucket);
+                    zone.supply.reset(bucket);
+                }
+                supplySamples[bucket] = 0;
+            }
+            currentBucket = bucket;
+            currentEpoch = epoch;
+        }
+
+        // 2. Amostra da oferta: motoristas disponíveis por zona, do índice em memória
+        Map<Long, long[]> available = new HashMap<>();
+        locationIndex.forEach(position -> available.computeIfAbsent(
+                zoneKey(position.latitude(), position.longitude()), key -> new long[1])[0]++);
+        int bucket = currentBucket;
+        available.forEach((key, count) -> zone(key).supply.add(bucket, count[0]));
+        supplySamples[bucket]++;
+        long samples = 0;
+        for (long sample : supplySamples) {
+            samples += sample;
+        }
+
+        // 3. Multiplicadores; zonas sem pedidos nem motoristas na janela são descartadas
+        // (uma soma feita na zona durante o descarte se perde)
+        Map<Long, BigDecimal> next = new HashMap<>();
+        for (Iterator<Map.Entry<Long, Zone>> it = zones.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<Long, Zone> entry = it.next();
+            long demand = entry.getValue().demand.sum();
+            long supply = entry.getValue().supply.sum();
+            if (demand == 0 && supply == 0) {
+                it.remove();
+                continue;
+            }
+            double multiplier = multiplierFor(demand, (double) supply / samples);
+            if (multiplier > 1.0) {
+                next.put(entry.getKey(), BigDecimal.valueOf(multiplier));
+            }
+        }
+        multipliers = Map.copyOf(next);
+        recomputeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Multiplicador para {@code demand} pedidos na janela e uma média de
+     * {@code supply} motoristas disponíveis.
+     */
+    double multiplierFor(long demand, double supply) {
+        double ratio = demand / Math.max(supply, 1.0);
+        if (ratio <= surgeThreshold) {
+            return 1.0;
+        }
+        double multiplier = Math.min(maxMultiplier, 1.0 + (ratio - surgeThreshold) * surgeSensitivity);
+        return Math.round(multiplier * 10) / 10.0;
+    }
+
+    private double maxCurrentMultiplier() {
+        return multipliers.values().stream().mapToDouble(BigDecimal::doubleValue).max().orElse(1.0);
+    }
+
+    private Zone zone(long key) {
+        Zone zone = zones.get(key);
+        return (zone != null) ? zone : zones.computeIfAbsent(key, k -> new Zone(bucketCount));
+    }
+
+    private long zoneKey(double latitude, double longitude) {
+        long row = (long) Math.floor(latitude / zoneSizeDegrees);
+        long column = (long) Math.floor(longitude / zoneSizeDegrees);
+        return (row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                Thread.sleep(recomputeIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                recompute();
+            } catch (RuntimeException e) {
+                log.warn("Failed to recompute surge multipliers; retrying in {} ms", recomputeIntervalMillis, e);
+            }
+        }
+    }
+
+    // --- Ciclo de vida (SmartLifecycle) ---
+
+    @Override
+    public void start() {
+        running = true;
+        recomputeThread = new Thread(this::runLoop, "surge-pricing");
+        recomputeThread.setDaemon(true);
+        recomputeThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (recomputeThread != null) {
+            recomputeThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,23 @@
+package com.taxiapp.taxi_api.repository;
+
+import java.util.Optional;
+
+import com.taxiapp.taxi_api.model.Driver;
+
+/**
+ * Fragmento do {@link DriverRepository} com buscas pelo natural id do motorista.
+ *
+ * <p>Diferente de uma consulta JPQL, a busca por natural id passa pelos caches
+ * de segundo nível do Hibernate (natural id → ID → entidade) e só vai ao banco
+ * quando o motorista ainda não está em cache.</p>
+ */
+public interface DriverNaturalIdRepository {
+
+    /**
+     * Busca um motorista pelo número da sua licença (CNH), via natural id.
+     *
+     * @param licenseNumber O número da licença a ser buscada.
+     * @return um Optional contendo o Driver se encontrado, ou vazio caso contrário.
+     */
+    Optional<Driver> findByNaturalLicenseNumber(String licenseNumber);
+}
@@ -0,0 +1,26 @@
+package com.taxiapp.taxi_api.repository;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+
+import com.taxiapp.taxi_api.model.Driver;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Implementação do {@link DriverNaturalIdRepository} com a API de natural id do Hibernate.
+ */
+class DriverNaturalIdRepositoryImpl implements DriverNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Driver> findByNaturalLicenseNumber(String licenseNumber) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Driver.class)
+                .loadOptional(licenseNumber);
+    }
+}
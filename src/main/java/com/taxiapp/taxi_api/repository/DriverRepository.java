@@ -1,11 +1,24 @@
 package com.taxiapp.taxi_api.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.AvailableHints;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.taxiapp.taxi_api.dto.DriverResponseDTO;
 import com.taxiapp.taxi_api.model.Driver;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Abstrai a camada de persistência para a entidade {@link Driver}.
  * <p>
@@ -16,7 +29,7 @@ import com.taxiapp.taxi_api.model.Driver;
  * @see com.taxiapp.taxi_api.service.DriverService
  */
 
-public interface  DriverRepository extends JpaRepository<Driver, Long> {
+public interface  DriverRepository extends JpaRepository<Driver, Long>, DriverNaturalIdRepository {
     
     /**
      * Busca um motorista pelo número da sua licença (CNH).
@@ -31,5 +44,116 @@ public interface  DriverRepository extends JpaRepository<Driver, Long> {
      * @return um Optional contendo o Driver se encontrado, ou vazio caso contrário.
      */
     Optional<Driver> findByVehiclePlate(String vehiclePlate);
-    
+
+    /**
+     * Busca todos os motoristas disponíveis que já reportaram uma posição.
+     * <p>
+     * Usado apenas na inicialização para carregar o índice geoespacial em memória.
+     * @return a lista de motoristas disponíveis com latitude e longitude preenchidas.
+     */
+    List<Driver> findByAvailableTrueAndLatitudeIsNotNullAndLongitudeIsNotNull();
+
+    /**
+     * Busca os IDs dos motoristas disponíveis que ainda não reportaram uma posição.
+     * <p>
+     * Usado apenas na inicialização, para que a primeira posição recebida em
+     * lote os inclua no índice geoespacial.
+     * @return os IDs dos motoristas disponíveis sem latitude ou longitude.
+     */
+    @Query("select d.id from Driver d where d.available = true and (d.latitude is null or d.longitude is null)")
+    List<Long> findAvailableIdsWithoutPosition();
+
+    /**
+     * Busca uma página de motoristas por cursor (keyset), já como
+     * {@link DriverResponseDTO}: {@code WHERE id > :after ORDER BY id LIMIT :limit}.
+     * <p>
+     * Usa uma expressão de construtor: o DTO é montado direto das colunas, sem
+     * criar entidades gerenciadas (sem snapshot para dirty checking nem entrada
+     * no contexto de persistência).
+     * @param after O último ID já entregue ao cliente (0 para a primeira página).
+     * @param limit O número máximo de motoristas retornados.
+     * @return a lista de motoristas com ID maior que {@code after}, em ordem crescente.
+     */
+    @Query("select new com.taxiapp.taxi_api.dto.DriverResponseDTO(d.id, d.name, d.licenseNumber, d.address, "
+            + "d.phone, d.vehiclePlate, d.available, d.latitude, d.longitude) "
+            + "from Driver d where d.id > :after order by d.id")
+    List<DriverResponseDTO> findResponsePage(@Param("after") Long after, Limit limit);
+
+    /**
+     * Dentre os números de CNH informados, retorna os que já estão cadastrados.
+     * <p>
+     * Permite validar um lote inteiro com uma única consulta.
+     * @param licenseNumbers Os números de CNH a verificar.
+     * @return os números de CNH já em uso.
+     */
+    @Query("select d.licenseNumber from Driver d where d.licenseNumber in :licenseNumbers")
+    List<String> findExistingLicenseNumbers(@Param("licenseNumbers") Collection<String> licenseNumbers);
+
+    /**
+     * Dentre as placas informadas, retorna as que já estão cadastradas.
+     * <p>
+     * Permite validar um lote inteiro com uma única consulta.
+     * @param vehiclePlates As placas a verificar.
+     * @return as placas já em uso.
+     */
+    @Query("select d.vehiclePlate from Driver d where d.vehiclePlate in :vehiclePlates")
+    List<String> findExistingVehiclePlates(@Param("vehiclePlates") Collection<String> vehiclePlates);
+
+    /**
+     * Marca o motorista como indisponível, desde que ele ainda esteja disponível.
+     * <p>
+     * É a garantia final contra atribuição dupla: apenas uma transação
+     * consegue "reivindicar" o mesmo motorista.
+     * <p>
+     * É um UPDATE nativo sincronizado com um query space próprio
+     * ({@value #CLAIM_QUERY_SPACE}): um UPDATE em lote JPQL esvaziaria a região
+     * inteira de {@link Driver} no cache de segundo nível. Quem chama deve
+     * remover do cache apenas o motorista alterado.
+     * @param id O ID do motorista.
+     * @return 1 se o motorista foi reivindicado, 0 se já estava indisponível.
+     */
+    @Modifying
+    @Query(value = "update driver set available = false where id = :id and available = true", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CLAIM_QUERY_SPACE))
+    int claimIfAvailable(@Param("id") Long id);
+
+    /**
+     * Marca o motorista como disponível novamente (ex: corrida finalizada ou cancelada).
+     * <p>
+     * Assim como {@link #claimIfAvailable(Long)}, não invalida a região de cache
+     * inteira; quem chama deve remover do cache o motorista alterado.
+     * @param id O ID do motorista.
+     * @return o número de linhas alteradas.
+     */
+    @Modifying
+    @Query(value = "update driver set available = true where id = :id", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CLAIM_QUERY_SPACE))
+    int release(@Param("id") Long id);
+
+    /**
+     * Query space dos UPDATEs de disponibilidade, que não corresponde a nenhuma
+     * região de cache de entidade.
+     */
+    String CLAIM_QUERY_SPACE = "driver_availability";
+
+
+    /**
+     * Percorre todos os números de CNH cadastrados, para carregar o filtro de unicidade.
+     * Precisa ser chamado dentro de uma transação; o stream deve ser fechado após o uso.
+     *
+     * @return um {@link Stream} com todos os números de CNH.
+     */
+    @Query("select d.licenseNumber from Driver d")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllLicenseNumbers();
+
+    /**
+     * Percorre todas as placas cadastradas, para carregar o filtro de unicidade.
+     * Precisa ser chamado dentro de uma transação; o stream deve ser fechado após o uso.
+     *
+     * @return um {@link Stream} com todas as placas.
+     */
+    @Query("select d.vehiclePlate from Driver d")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllVehiclePlates();
 }
@@ -0,0 +1,95 @@
+package com.taxiapp.taxi_api.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.taxiapp.taxi_api.model.PassengerDirectoryEntry;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+/**
+ * Repositório Spring Data JPA do diretório de passageiros
+ * ({@link PassengerDirectoryEntry}), no banco principal.
+ *
+ * <p>Usado apenas com os passageiros distribuídos em shards, pelo
+ * {@link com.taxiapp.taxi_api.sharding.ShardedPassengerRepository}.</p>
+ */
+@Repository
+public interface PassengerDirectoryRepository extends JpaRepository<PassengerDirectoryEntry, Long> {
+
+    /**
+     * Busca o ID do passageiro com o telefone informado.
+     *
+     * @param phone O telefone do passageiro.
+     * @return um {@link Optional} com o ID, ou vazio se não for encontrado.
+     */
+    @Query("select d.id from PassengerDirectoryEntry d where d.phone = :phone")
+    Optional<Long> findIdByPhone(@Param("phone") String phone);
+
+    /**
+     * Busca a entrada do passageiro com uma trava compartilhada (FOR SHARE),
+     * mantida até o fim da transação. Precisa ser chamado dentro de uma transação.
+     *
+     * @param id O ID do passageiro.
+     * @return um {@link Optional} com a entrada, ou vazio se não existir.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select d from PassengerDirectoryEntry d where d.id = :id")
+    Optional<PassengerDirectoryEntry> findByIdForShare(@Param("id") Long id);
+
+    /**
+     * Busca a entrada do passageiro com uma trava exclusiva (FOR UPDATE),
+     * mantida até o fim da transação. Precisa ser chamado dentro de uma transação.
+     *
+     * @param id O ID do passageiro.
+     * @return um {@link Optional} com a entrada, ou vazio se não existir.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select d from PassengerDirectoryEntry d where d.id = :id")
+    Optional<PassengerDirectoryEntry> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Busca, em uma única consulta, os passageiros que já usam o e-mail,
+     * o nome de usuário ou o telefone informados, em todos os shards.
+     *
+     * @see PassengerRepository#findUniqueKeyConflicts(String, String, String)
+     */
+    @Query("select new com.taxiapp.taxi_api.repository.PassengerUniqueKeys(d.id, d.email, d.username, d.phone) "
+            + "from PassengerDirectoryEntry d where d.email = :email or d.username = :username or d.phone = :phone")
+    List<PassengerUniqueKeys> findUniqueKeyConflicts(@Param("email") String email,
+            @Param("username") String username, @Param("phone") String phone);
+
+    /**
+     * Percorre todos os e-mails cadastrados. Precisa ser chamado dentro de uma
+     * transação; o stream deve ser fechado após o uso.
+     */
+    @Query("select d.email from PassengerDirectoryEntry d")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllEmails();
+
+    /**
+     * Percorre todos os nomes de usuário cadastrados. Precisa ser chamado dentro
+     * de uma transação; o stream deve ser fechado após o uso.
+     */
+    @Query("select d.username from PassengerDirectoryEntry d")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllUsernames();
+
+    /**
+     * Percorre todos os telefones cadastrados. Precisa ser chamado dentro de uma
+     * transação; o stream deve ser fechado após o uso.
+     */
+    @Query("select d.phone from PassengerDirectoryEntry d")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllPhones();
+}
@@ -1,12 +1,22 @@
 package com.taxiapp.taxi_api.repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.taxiapp.taxi_api.dto.PassengerResponseDTO;
 import com.taxiapp.taxi_api.model.Passenger;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repositório Spring Data JPA para a entidade {@link Passenger}.
  *
@@ -17,13 +27,32 @@ import com.taxiapp.taxi_api.model.Passenger;
  * <p>Também define métodos de consulta personalizados (query methods) derivados
  * dos nomes dos atributos da entidade Passenger.</p>
  *
+ * <p>Os serviços usam este repositório pela interface {@link PassengerStore};
+ * com os passageiros distribuídos em shards, quem a implementa é o
+ * {@link com.taxiapp.taxi_api.sharding.ShardedPassengerRepository}.</p>
+ *
  * @see Passenger
  * @see JpaRepository
  * @author [Seu Nome/Equipe]
  * @version 1.0.0
  */
 @Repository
-public interface PassengerRepository extends JpaRepository<Passenger, Long> {
+public interface PassengerRepository extends JpaRepository<Passenger, Long>, PassengerStore {
+
+    /*
+     * findById, existsById e deleteById vêm do JpaRepository e do PassengerStore;
+     * redeclarados aqui (com a implementação padrão do Spring Data) para que as
+     * chamadas pelo repositório não sejam ambíguas.
+     */
+
+    @Override
+    Optional<Passenger> findById(Long id);
+
+    @Override
+    boolean existsById(Long id);
+
+    @Override
+    void deleteById(Long id);
 
     /**
      * Busca um passageiro pelo seu nome completo.
@@ -63,4 +92,103 @@ public interface PassengerRepository extends JpaRepository<Passenger, Long> {
      * {@link Optional#empty()} se não for encontrado.
      */
     Optional<Passenger> findByUsername(String username);
-}
\ No newline at end of file
+
+    /**
+     * Busca, em uma única consulta, os passageiros que já usam o e-mail,
+     * o nome de usuário ou o telefone informados.
+     * <p>
+     * Retorna apenas a projeção {@link PassengerUniqueKeys} (no máximo uma linha
+     * por campo), o que permite validar os três campos únicos com uma ida ao banco.
+     *
+     * @param email    O e-mail a verificar.
+     * @param username O nome de usuário a verificar.
+     * @param phone    O telefone a verificar.
+     * @return os passageiros que conflitam com pelo menos um dos valores.
+     */
+    @Query("select new com.taxiapp.taxi_api.repository.PassengerUniqueKeys(p.id, p.email, p.username, p.phone) "
+            + "from Passenger p where p.email = :email or p.username = :username or p.phone = :phone")
+    List<PassengerUniqueKeys> findUniqueKeyConflicts(@Param("email") String email,
+            @Param("username") String username, @Param("phone") String phone);
+
+    /**
+     * Busca um passageiro pelo ID já como {@link PassengerResponseDTO}.
+     * <p>
+     * As consultas {@code findResponse...} usam expressões de construtor: o
+     * DTO é montado direto das colunas, sem criar entidades gerenciadas (sem
+     * snapshot para dirty checking nem entrada no contexto de persistência).
+     *
+     * @param id O ID do passageiro.
+     * @return um {@link Optional} com o DTO, ou vazio se não for encontrado.
+     */
+    @Query("select new com.taxiapp.taxi_api.dto.PassengerResponseDTO(p.id, p.name, p.username, p.address, p.phone, p.email, p.createdAt) "
+            + "from Passenger p where p.id = :id")
+    Optional<PassengerResponseDTO> findResponseById(@Param("id") Long id);
+
+    /**
+     * Busca um passageiro pelo telefone já como {@link PassengerResponseDTO}.
+     *
+     * @param phone O número de telefone do passageiro.
+     * @return um {@link Optional} com o DTO, ou vazio se não for encontrado.
+     */
+    @Query("select new com.taxiapp.taxi_api.dto.PassengerResponseDTO(p.id, p.name, p.username, p.address, p.phone, p.email, p.createdAt) "
+            + "from Passenger p where p.phone = :phone")
+    Optional<PassengerResponseDTO> findResponseByPhone(@Param("phone") String phone);
+
+    /**
+     * Busca uma página de passageiros por cursor (keyset), já como DTOs:
+     * {@code WHERE id > :after ORDER BY id LIMIT :limit}.
+     *
+     * @param after O último ID já entregue ao cliente (0 para a primeira página).
+     * @param limit O número máximo de passageiros retornados.
+     * @return a lista de passageiros com ID maior que {@code after}, em ordem crescente.
+     */
+    @Query("select new com.taxiapp.taxi_api.dto.PassengerResponseDTO(p.id, p.name, p.username, p.address, p.phone, p.email, p.createdAt) "
+            + "from Passenger p where p.id > :after order by p.id")
+    List<PassengerResponseDTO> findResponsePage(@Param("after") Long after, Limit limit);
+
+    /**
+     * Percorre todos os passageiros em ordem de ID como um {@link Stream} de DTOs.
+     * <p>
+     * As linhas são lidas do banco em blocos de {@code fetchSize} (no MySQL isso
+     * exige {@code useCursorFetch=true} na URL de conexão), sem materializar a
+     * tabela inteira. Como o resultado são DTOs, nenhuma entidade se acumula no
+     * contexto de persistência. Precisa ser chamado dentro de uma transação, e o
+     * stream deve ser fechado ao final.
+     *
+     * @return um {@link Stream} de {@link PassengerResponseDTO} que deve ser fechado após o uso.
+     */
+    @Query("select new com.taxiapp.taxi_api.dto.PassengerResponseDTO(p.id, p.name, p.username, p.address, p.phone, p.email, p.createdAt) "
+            + "from Passenger p order by p.id")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<PassengerResponseDTO> streamAllResponses();
+
+    /**
+     * Percorre todos os e-mails cadastrados, para carregar o filtro de unicidade.
+     * Precisa ser chamado dentro de uma transação; o stream deve ser fechado após o uso.
+     *
+     * @return um {@link Stream} com todos os e-mails.
+     */
+    @Query("select p.email from Passenger p")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllEmails();
+
+    /**
+     * Percorre todos os nomes de usuário cadastrados, para carregar o filtro de unicidade.
+     * Precisa ser chamado dentro de uma transação; o stream deve ser fechado após o uso.
+     *
+     * @return um {@link Stream} com todos os nomes de usuário.
+     */
+    @Query("select p.username from Passenger p")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllUsernames();
+
+    /**
+     * Percorre todos os telefones cadastrados, para carregar o filtro de unicidade.
+     * Precisa ser chamado dentro de uma transação; o stream deve ser fechado após o uso.
+     *
+     * @return um {@link Stream} com todos os telefones.
+     */
+    @Query("select p.phone from Passenger p")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllPhones();
+}
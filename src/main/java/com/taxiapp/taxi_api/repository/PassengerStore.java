@@ -0,0 +1,140 @@
+package com.taxiapp.taxi_api.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Limit;
+
+import com.taxiapp.taxi_api.dto.PassengerResponseDTO;
+import com.taxiapp.taxi_api.model.Passenger;
+
+/**
+ * Operações de dados de passageiros usadas pelos serviços.
+ *
+ * <p>Implementada pelo {@link PassengerRepository} (uma única base, via JPA) e,
+ * com {@code taxi.sharding.passengers.enabled=true}, pelo
+ * {@link com.taxiapp.taxi_api.sharding.ShardedPassengerRepository}, que
+ * distribui os passageiros entre vários bancos. Os serviços dependem desta
+ * interface, e não do repositório JPA, para funcionar com os dois.</p>
+ *
+ * <p>Os métodos do {@link org.springframework.data.jpa.repository.JpaRepository}
+ * são redeclarados aqui com os mesmos nomes e assinaturas; no repositório JPA,
+ * o Spring Data continua usando a implementação padrão.</p>
+ */
+public interface PassengerStore {
+
+    /**
+     * Insere (sem ID) ou atualiza (com ID) um passageiro.
+     *
+     * @param passenger O passageiro a salvar.
+     * @return o passageiro salvo, com ID e data de criação preenchidos.
+     */
+    <S extends Passenger> S save(S passenger);
+
+    /**
+     * Insere ou atualiza vários passageiros de uma vez.
+     *
+     * @param passengers Os passageiros a salvar.
+     * @return os passageiros salvos.
+     */
+    <S extends Passenger> List<S> saveAll(Iterable<S> passengers);
+
+    /**
+     * Busca a entidade de um passageiro pelo ID.
+     *
+     * @param id O ID do passageiro.
+     * @return um {@link Optional} com o passageiro, ou vazio se não existir.
+     */
+    Optional<Passenger> findById(Long id);
+
+    /**
+     * Indica se existe um passageiro com o ID.
+     *
+     * @param id O ID do passageiro.
+     * @return {@code true} se o passageiro existir.
+     */
+    boolean existsById(Long id);
+
+    /**
+     * Indica se existe um passageiro com o ID e o protege até o fim da
+     * transação: com {@code exclusive}, antes de removê-lo; sem, antes de
+     * criar uma corrida dele, para que uma remoção concorrente não deixe a
+     * corrida órfã.
+     *
+     * <p>Em uma única base, a chave estrangeira {@code ride.passenger_id} já
+     * garante isso, e basta {@link #existsById(Long)}. Com os passageiros em
+     * shards, a linha do diretório é travada.</p>
+     *
+     * @param id        O ID do passageiro.
+     * @param exclusive {@code true} para a remoção; {@code false} para criar uma corrida.
+     * @return {@code true} se o passageiro existir.
+     */
+    default boolean lockIfExists(Long id, boolean exclusive) {
+        return existsById(id);
+    }
+
+    /**
+     * Remove um passageiro pelo ID.
+     *
+     * @param id O ID do passageiro.
+     */
+    void deleteById(Long id);
+
+    /**
+     * Conta os passageiros cadastrados.
+     *
+     * @return o total de passageiros.
+     */
+    long count();
+
+    /**
+     * Busca os passageiros que já usam o e-mail, o nome de usuário ou o telefone informados.
+     *
+     * @see PassengerRepository#findUniqueKeyConflicts(String, String, String)
+     */
+    List<PassengerUniqueKeys> findUniqueKeyConflicts(String email, String username, String phone);
+
+    /**
+     * Busca um passageiro pelo ID já como {@link PassengerResponseDTO}.
+     *
+     * @see PassengerRepository#findResponseById(Long)
+     */
+    Optional<PassengerResponseDTO> findResponseById(Long id);
+
+    /**
+     * Busca um passageiro pelo telefone já como {@link PassengerResponseDTO}.
+     *
+     * @see PassengerRepository#findResponseByPhone(String)
+     */
+    Optional<PassengerResponseDTO> findResponseByPhone(String phone);
+
+    /**
+     * Busca uma página de passageiros por cursor (keyset), em ordem crescente de ID.
+     *
+     * @see PassengerRepository#findResponsePage(Long, Limit)
+     */
+    List<PassengerResponseDTO> findResponsePage(Long after, Limit limit);
+
+    /**
+     * Percorre todos os passageiros em ordem de ID; o stream deve ser fechado após o uso.
+     *
+     * @see PassengerRepository#streamAllResponses()
+     */
+    Stream<PassengerResponseDTO> streamAllResponses();
+
+    /**
+     * Percorre todos os e-mails cadastrados; o stream deve ser fechado após o uso.
+     */
+    Stream<String> streamAllEmails();
+
+    /**
+     * Percorre todos os nomes de usuário cadastrados; o stream deve ser fechado após o uso.
+     */
+    Stream<String> streamAllUsernames();
+
+    /**
+     * Percorre todos os telefones cadastrados; o stream deve ser fechado após o uso.
+     */
+    Stream<String> streamAllPhones();
+}
@@ -0,0 +1,15 @@
+package com.taxiapp.taxi_api.repository;
+
+/**
+ * Projeção com os campos únicos de um {@link com.taxiapp.taxi_api.model.Passenger}.
+ *
+ * <p>Usada na validação de unicidade: apenas estas quatro colunas são lidas,
+ * sem materializar a entidade nem registrá-la no contexto de persistência.</p>
+ *
+ * @param id       O ID do passageiro.
+ * @param email    O e-mail do passageiro.
+ * @param username O nome de usuário do passageiro.
+ * @param phone    O telefone do passageiro.
+ */
+public record PassengerUniqueKeys(Long id, String email, String username, String phone) {
+}
@@ -0,0 +1,89 @@
+package com.taxiapp.taxi_api.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.taxiapp.taxi_api.model.Driver;
+import com.taxiapp.taxi_api.model.Ride;
+import com.taxiapp.taxi_api.model.RideStatus;
+
+/**
+ * Repositório Spring Data JPA para a entidade {@link Ride}.
+ *
+ * <p>Além dos métodos CRUD padrão, define as atualizações condicionais usadas
+ * pelo motor de despacho e pelas transições de status: cada uma só altera a
+ * linha se o status ainda for o esperado, o que impede que duas atribuições
+ * (ou duas transições) concorrentes se sobreponham.</p>
+ *
+ * @see com.taxiapp.taxi_api.dispatch.DispatchEngine
+ */
+public interface RideRepository extends JpaRepository<Ride, Long> {
+
+    /**
+     * Busca todas as corridas com um determinado status.
+     *
+     * @param status O status desejado.
+     * @return a lista de corridas encontradas (pode estar vazia).
+     */
+    List<Ride> findByStatus(RideStatus status);
+
+    /**
+     * Indica se o passageiro tem alguma corrida. Lê apenas a coluna
+     * {@code passenger_id}, sem junção com a tabela de passageiros (que, com
+     * os passageiros em shards, fica vazia no banco principal).
+     *
+     * @param passengerId O ID do passageiro.
+     * @return {@code true} se houver pelo menos uma corrida do passageiro.
+     */
+    @Query("select count(r) > 0 from Ride r where r.passenger.id = :passengerId")
+    boolean existsByPassengerId(@Param("passengerId") Long passengerId);
+
+    /**
+     * Atribui um motorista à corrida e a move para ACCEPTED, desde que ela
+     * ainda esteja REQUESTED.
+     *
+     * @param rideId   O ID da corrida.
+     * @param driver   Referência (proxy) ao motorista atribuído.
+     * @return 1 se a corrida foi atribuída, 0 se ela não estava mais REQUESTED.
+     */
+    @Modifying
+    @Query("update Ride r set r.driver = :driver, r.status = com.taxiapp.taxi_api.model.RideStatus.ACCEPTED "
+            + "where r.id = :rideId and r.status = com.taxiapp.taxi_api.model.RideStatus.REQUESTED")
+    int assignDriver(@Param("rideId") Long rideId, @Param("driver") Driver driver);
+
+    /**
+     * Cancela a corrida, desde que ela ainda esteja REQUESTED.
+     * <p>
+     * Evita sobrescrever uma atribuição feita pelo despachante entre a
+     * leitura e o cancelamento.
+     *
+     * @param rideId O ID da corrida.
+     * @return 1 se a corrida foi cancelada, 0 se ela não estava mais REQUESTED.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Ride r set r.status = com.taxiapp.taxi_api.model.RideStatus.CANCELLED "
+            + "where r.id = :rideId and r.status = com.taxiapp.taxi_api.model.RideStatus.REQUESTED")
+    int cancelIfRequested(@Param("rideId") Long rideId);
+
+    /**
+     * Move a corrida para {@code status}, desde que ela ainda esteja em um dos
+     * status de {@code expected}.
+     * <p>
+     * Entre duas transições concorrentes da mesma corrida (ex: início e
+     * cancelamento), só uma altera a linha.
+     *
+     * @param rideId   O ID da corrida.
+     * @param expected Os status a partir dos quais a transição é permitida.
+     * @param status   O novo status.
+     * @return 1 se a corrida mudou de status, 0 se ela não estava em nenhum dos esperados.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Ride r set r.status = :status where r.id = :rideId and r.status in :expected")
+    int updateStatusIf(@Param("rideId") Long rideId, @Param("expected") Collection<RideStatus> expected,
+            @Param("status") RideStatus status);
+}
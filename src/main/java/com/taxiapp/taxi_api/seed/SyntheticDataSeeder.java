@@ -0,0 +1,140 @@
+package com.taxiapp.taxi_api.seed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taxiapp.taxi_api.model.Driver;
+import com.taxiapp.taxi_api.model.Passenger;
+import com.taxiapp.taxi_api.repository.DriverRepository;
+import com.taxiapp.taxi_api.repository.PassengerStore;
+
+/**
+ * Popula um banco vazio com motoristas e passageiros sintéticos, para testes
+ * de carga sem uma cópia dos dados de produção.
+ *
+ * <p>Habilitado por {@code taxi.seed.enabled=true} (ligado no perfil {@code h2}).
+ * Os dados são determinísticos (semente fixa): os motoristas ficam espalhados
+ * em um raio de {@code taxi.seed.radius-degrees} ao redor do centro configurado
+ * e 80% deles ficam disponíveis. Se alguma das tabelas já tiver registros,
+ * nada é inserido.</p>
+ *
+ * <p>Roda como {@link ApplicationRunner}, antes do {@code ApplicationReadyEvent},
+ * de modo que o índice geoespacial e os filtros de unicidade, carregados nesse
+ * evento, já enxergam os dados gerados. A inserção é feita em blocos de
+ * {@value #CHUNK_SIZE} registros, um por transação.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "taxi.seed.enabled", havingValue = "true")
+public class SyntheticDataSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataSeeder.class);
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final long RANDOM_SEED = 20240601L;
+    private static final double AVAILABLE_RATIO = 0.8;
+
+    private static final String[] FIRST_NAMES = {"Ana", "Bruno", "Carla", "Diego", "Elisa", "Fábio", "Gabriela",
+            "Henrique", "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Paula", "Rafael"};
+    private static final String[] LAST_NAMES = {"Silva", "Souza", "Oliveira", "Santos", "Lima", "Pereira",
+            "Costa", "Almeida", "Ferreira", "Rodrigues", "Gomes", "Martins"};
+    private static final String[] STREETS = {"Rua Augusta", "Av. Paulista", "Rua da Consolação", "Av. Rebouças",
+            "Rua Vergueiro", "Av. Brigadeiro Faria Lima", "Rua Oscar Freire", "Av. Ipiranga"};
+
+    private final DriverRepository driverRepository;
+    private final PassengerStore passengerStore;
+    private final TransactionTemplate transaction;
+    private final int drivers;
+    private final int passengers;
+    private final double centerLatitude;
+    private final double centerLongitude;
+    private final double radiusDegrees;
+
+    /**
+     * Construtor para Injeção de Dependência.
+     */
+    public SyntheticDataSeeder(DriverRepository driverRepository, PassengerStore passengerStore,
+            PlatformTransactionManager transactionManager,
+            @Value("${taxi.seed.drivers:10000}") int drivers,
+            @Value("${taxi.seed.passengers:10000}") int passengers,
+            @Value("${taxi.seed.center-latitude:-23.5505}") double centerLatitude,
+            @Value("${taxi.seed.center-longitude:-46.6333}") double centerLongitude,
+            @Value("${taxi.seed.radius-degrees:0.15}") double radiusDegrees) {
+        this.driverRepository = driverRepository;
+        this.passengerStore = passengerStore;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.drivers = drivers;
+        this.passengers = passengers;
+        this.centerLatitude = centerLatitude;
+        this.centerLongitude = centerLongitude;
+        this.radiusDegrees = radiusDegrees;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (driverRepository.count() > 0 || passengerStore.count() > 0) {
+            log.info("Database already has data; synthetic seeding skipped");
+            return;
+        }
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(RANDOM_SEED);
+        seedDrivers(random);
+        seedPassengers(random);
+        log.info("Seeded {} drivers and {} passengers in {} ms",
+                drivers, passengers, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void seedDrivers(SplittableRandom random) {
+        for (int from = 0; from < drivers; from += CHUNK_SIZE) {
+            int to = Math.min(drivers, from + CHUNK_SIZE);
+            List<Driver> chunk = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                Driver driver = new Driver();
+                driver.setName(name(random));
+                // CNH com até 9 caracteres e placa com exatamente 7
+                driver.setLicenseNumber(String.format("S%08d", i));
+                driver.setVehiclePlate(String.format("S%06d", i));
+                driver.setAddress(address(random));
+                driver.setPhone(String.format("118%08d", i));
+                driver.setAvailable(random.nextDouble() < AVAILABLE_RATIO);
+                // Ponto uniforme no disco ao redor do centro
+                double distance = radiusDegrees * Math.sqrt(random.nextDouble());
+                double angle = random.nextDouble(2 * Math.PI);
+                driver.setLatitude(centerLatitude + distance * Math.sin(angle));
+                driver.setLongitude(centerLongitude + distance * Math.cos(angle));
+                chunk.add(driver);
+            }
+            transaction.executeWithoutResult(status -> driverRepository.saveAll(chunk));
+        }
+    }
+
+    private void seedPassengers(SplittableRandom random) {
+        for (int from = 0; from < passengers; from += CHUNK_SIZE) {
+            int to = Math.min(passengers, from + CHUNK_SIZE);
+            List<Passenger> chunk = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                chunk.add(new Passenger(name(random), "seed" + i, address(random),
+                        String.format("119%08d", i), "seed" + i + "@taxi.app"));
+            }
+            transaction.executeWithoutResult(status -> passengerStore.saveAll(chunk));
+        }
+    }
+
+    private static String name(SplittableRandom random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private static String address(SplittableRandom random) {
+        return STREETS[random.nextInt(STREETS.length)] + ", " + (1 + random.nextInt(3000));
+    }
+}
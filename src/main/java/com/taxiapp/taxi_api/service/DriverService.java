@@ -1,19 +1,56 @@
 package com.taxiapp.taxi_api.service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.taxiapp.taxi_api.config.CacheConfig;
+import com.taxiapp.taxi_api.dto.BulkDriverResultDTO;
+import com.taxiapp.taxi_api.dto.BulkRowErrorDTO;
+import com.taxiapp.taxi_api.dto.CursorPageDTO;
+import com.taxiapp.taxi_api.dto.DriverLocationPingDTO;
+import com.taxiapp.taxi_api.dto.DriverLocationRequestDTO;
 import com.taxiapp.taxi_api.dto.DriverRequestDTO;
 import com.taxiapp.taxi_api.dto.DriverResponseDTO;
-import com.taxiapp.taxi_api.dto.PassengerResponseDTO;
+import com.taxiapp.taxi_api.dto.LocationBatchResultDTO;
+import com.taxiapp.taxi_api.dto.NearbyDriverDTO;
+import com.taxiapp.taxi_api.events.DriverEvent;
+import com.taxiapp.taxi_api.events.DriverEventHub;
+import com.taxiapp.taxi_api.events.DriverEventType;
+import com.taxiapp.taxi_api.exception.PreconditionFailedException;
+import com.taxiapp.taxi_api.exception.ResourceNotFoundException;
+import com.taxiapp.taxi_api.geo.DriverLocationBuffer;
+import com.taxiapp.taxi_api.geo.DriverLocationIndex;
+import com.taxiapp.taxi_api.http.ETags;
 import com.taxiapp.taxi_api.mapper.DriverMapper;
 import com.taxiapp.taxi_api.model.Driver;
 import com.taxiapp.taxi_api.repository.DriverRepository;
+import com.taxiapp.taxi_api.uniqueness.UniqueKey;
+import com.taxiapp.taxi_api.uniqueness.UniqueKeyFilters;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 /**
  * Camada de Serviço (Service Layer) para a entidade {@link Driver}.
@@ -48,13 +85,64 @@ public class DriverService {
      */
     private final DriverMapper  driverMapper;
 
+    /**
+     * Índice geoespacial em memória dos motoristas disponíveis.
+     */
+    private final DriverLocationIndex locationIndex;
+
+    /**
+     * Posições reportadas pelo GPS ainda não gravadas no banco.
+     */
+    private final DriverLocationBuffer locationBuffer;
+
+    /**
+     * Gerenciador de cache, usado para atualizar o cache {@value CacheConfig#DRIVERS} a cada posição recebida.
+     */
+    private final CacheManager cacheManager;
+
+    /**
+     * Filtros de Bloom usados como pré-checagem dos campos únicos.
+     */
+    private final UniqueKeyFilters uniqueKeyFilters;
+
+    /**
+     * Validador do Bean Validation, usado para validar cada linha do cadastro em lote.
+     */
+    private final Validator validator;
+
+    /**
+     * Publicador dos {@link DriverEvent}s, entregues ao {@link DriverEventHub} após o commit.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * EntityManager da transação atual, usado para descarregar os lotes de INSERT.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Quantidade de motoristas enviados ao banco por flush no cadastro em lote
+     * (deve acompanhar {@code hibernate.jdbc.batch_size}).
+     */
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
     /**
      * Construtor para Injeção de Dependência.
      */
     @Autowired
-    public DriverService(DriverRepository driverRepository, DriverMapper driverMapper) {
+    public DriverService(DriverRepository driverRepository, DriverMapper driverMapper,
+            DriverLocationIndex locationIndex, DriverLocationBuffer locationBuffer, CacheManager cacheManager,
+            UniqueKeyFilters uniqueKeyFilters, Validator validator, ApplicationEventPublisher eventPublisher) {
         this.driverRepository = driverRepository;
         this.driverMapper = driverMapper;
+        this.locationIndex = locationIndex;
+        this.locationBuffer = locationBuffer;
+        this.cacheManager = cacheManager;
+        this.uniqueKeyFilters = uniqueKeyFilters;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
     }
    /**
      * Cria um novo motorista no sistema.
@@ -74,14 +162,22 @@ public class DriverService {
      */
     @Transactional
     public DriverResponseDTO createDriver(DriverRequestDTO requestDTO) {
-        // 1. Validação de Negócio (Campos Únicos)
-        driverRepository.findByLicenseNumber(requestDTO.licenseNumber()).ifPresent( d -> {
-            throw new IllegalArgumentException("License Number already in use.");   
-        });
+        // 1. Validação de Negócio (Campos Únicos); o banco só é consultado se o filtro de Bloom não descartar o valor
+        if (uniqueKeyFilters.mightContain(UniqueKey.DRIVER_LICENSE_NUMBER, requestDTO.licenseNumber())) {
+            boolean taken = driverRepository.findByNaturalLicenseNumber(requestDTO.licenseNumber()).isPresent();
+            uniqueKeyFilters.confirm(UniqueKey.DRIVER_LICENSE_NUMBER, taken);
+            if (taken) {
+                throw new IllegalArgumentException("License Number already in use.");
+            }
+        }
 
-        driverRepository.findByVehiclePlate(requestDTO.vehiclePlate()).ifPresent( d -> {
-            throw new IllegalArgumentException("Vehicle Plate already in use.");   
-        });
+        if (uniqueKeyFilters.mightContain(UniqueKey.DRIVER_VEHICLE_PLATE, requestDTO.vehiclePlate())) {
+            boolean taken = driverRepository.findByVehiclePlate(requestDTO.vehiclePlate()).isPresent();
+            uniqueKeyFilters.confirm(UniqueKey.DRIVER_VEHICLE_PLATE, taken);
+            if (taken) {
+                throw new IllegalArgumentException("Vehicle Plate already in use.");
+            }
+        }
 
         // 2. Conversão do DTO para Entidade
         Driver newDriver = driverMapper.toEntity(requestDTO);
@@ -91,26 +187,139 @@ public class DriverService {
 
         // 4. Salvamento da Entidade no Banco de Dados
         Driver savedDriver = driverRepository.save(newDriver);
+        uniqueKeyFilters.add(UniqueKey.DRIVER_LICENSE_NUMBER, savedDriver.getLicenseNumber());
+        uniqueKeyFilters.add(UniqueKey.DRIVER_VEHICLE_PLATE, savedDriver.getVehiclePlate());
+
+        // 5. Ainda sem posição: entra no índice geoespacial com a primeira posição recebida
+        long driverId = savedDriver.getId();
+        afterCommit(() -> locationIndex.markAvailable(driverId));
 
-        // 5. Conversão da Entidade Salva para DTO de Resposta
-        return driverMapper.toResponseDTO(savedDriver);
+        // 6. Conversão da Entidade Salva para DTO de Resposta (e aviso aos assinantes do stream)
+        DriverResponseDTO response = driverMapper.toResponseDTO(savedDriver);
+        eventPublisher.publishEvent(DriverEvent.of(DriverEventType.CREATED, response));
+        return response;
     }
     
+    /**
+     * Cria vários motoristas de uma só vez (onboarding de frotas parceiras).
+     *
+     * <p>Este método é transacional. Cada linha é validada individualmente
+     * (Bean Validation e duplicidade dentro do próprio lote) e os campos únicos
+     * do lote inteiro são verificados com <strong>uma consulta por campo</strong>.
+     * As linhas válidas são persistidas em lotes JDBC de {@code jdbcBatchSize}
+     * INSERTs; as inválidas são devolvidas com sua posição e o motivo.</p>
+     *
+     * <p>Se outro processo cadastrar a mesma CNH/placa entre a validação e o
+     * INSERT, a restrição única do banco rejeita a transação e o
+     * {@code GlobalExceptionHandler} responde 409.</p>
+     *
+     * @param requests Os DTOs {@link DriverRequestDTO} dos novos motoristas.
+     * @return Um {@link BulkDriverResultDTO} com os criados e os erros por linha.
+     */
+    @Transactional
+    public BulkDriverResultDTO createDriversBulk(List<DriverRequestDTO> requests) {
+        List<BulkRowErrorDTO> errors = new ArrayList<>();
+        boolean[] rejected = new boolean[requests.size()];
+
+        // 1. Validação de cada linha (Bean Validation)
+        for (int i = 0; i < requests.size(); i++) {
+            DriverRequestDTO request = requests.get(i);
+            if (request == null) {
+                rejected[i] = true;
+                errors.add(new BulkRowErrorDTO(i, null, "Row cannot be null"));
+                continue;
+            }
+            for (ConstraintViolation<DriverRequestDTO> violation : validator.validate(request)) {
+                rejected[i] = true;
+                errors.add(new BulkRowErrorDTO(i, violation.getPropertyPath().toString(), violation.getMessage()));
+            }
+        }
+
+        // 2. Validação de Negócio (Campos Únicos) com uma consulta por campo,
+        //    apenas para os valores que os filtros de Bloom não descartam
+        Set<String> licenseNumbers = new HashSet<>();
+        Set<String> vehiclePlates = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (rejected[i]) {
+                continue;
+            }
+            if (uniqueKeyFilters.mightContain(UniqueKey.DRIVER_LICENSE_NUMBER, requests.get(i).licenseNumber())) {
+                licenseNumbers.add(requests.get(i).licenseNumber());
+            }
+            if (uniqueKeyFilters.mightContain(UniqueKey.DRIVER_VEHICLE_PLATE, requests.get(i).vehiclePlate())) {
+                vehiclePlates.add(requests.get(i).vehiclePlate());
+            }
+        }
+        Set<String> takenLicenses = licenseNumbers.isEmpty() ? Set.of()
+                : new HashSet<>(driverRepository.findExistingLicenseNumbers(licenseNumbers));
+        Set<String> takenPlates = vehiclePlates.isEmpty() ? Set.of()
+                : new HashSet<>(driverRepository.findExistingVehiclePlates(vehiclePlates));
+
+        // 3. Duplicidade contra o banco e dentro do próprio lote
+        Set<String> batchLicenses = new HashSet<>();
+        Set<String> batchPlates = new HashSet<>();
+        List<Driver> toCreate = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (rejected[i]) {
+                continue;
+            }
+            DriverRequestDTO request = requests.get(i);
+            if (takenLicenses.contains(request.licenseNumber()) || !batchLicenses.add(request.licenseNumber())) {
+                rejected[i] = true;
+                errors.add(new BulkRowErrorDTO(i, "licenseNumber", "License Number already in use."));
+            }
+            if (takenPlates.contains(request.vehiclePlate()) || !batchPlates.add(request.vehiclePlate())) {
+                rejected[i] = true;
+                errors.add(new BulkRowErrorDTO(i, "vehiclePlate", "Vehicle Plate already in use."));
+            }
+            if (!rejected[i]) {
+                Driver driver = driverMapper.toEntity(request);
+                driver.setAvailable(true);
+                toCreate.add(driver);
+            }
+        }
+
+        // 4. Persistência em lotes JDBC (flush + clear a cada lote para manter o contexto pequeno)
+        List<DriverResponseDTO> created = new ArrayList<>(toCreate.size());
+        for (int from = 0; from < toCreate.size(); from += jdbcBatchSize) {
+            List<Driver> chunk = toCreate.subList(from, Math.min(toCreate.size(), from + jdbcBatchSize));
+            chunk.forEach(entityManager::persist);
+            entityManager.flush();
+            chunk.forEach(d -> {
+                uniqueKeyFilters.add(UniqueKey.DRIVER_LICENSE_NUMBER, d.getLicenseNumber());
+                uniqueKeyFilters.add(UniqueKey.DRIVER_VEHICLE_PLATE, d.getVehiclePlate());
+            });
+            chunk.forEach(d -> created.add(driverMapper.toResponseDTO(d)));
+            entityManager.clear();
+        }
+        afterCommit(() -> created.forEach(d -> locationIndex.markAvailable(d.id())));
+        created.forEach(d -> eventPublisher.publishEvent(DriverEvent.of(DriverEventType.CREATED, d)));
+
+        errors.sort((a, b) -> Integer.compare(a.index(), b.index()));
+        return new BulkDriverResultDTO(requests.size(), created, errors);
+    }
+
     /**
      * Busca um motorista pelo seu ID.
      *
      * <p>Esta operação é otimizada para somente leitura
-     * ({@code @Transactional(readOnly = true)}).</p>
+     * ({@code @Transactional(readOnly = true)}) e passa pelo cache
+     * {@value CacheConfig#DRIVERS}: só vai ao banco na primeira leitura de
+     * cada ID (ou após expiração/invalidação). Ausências não são guardadas.
+     * A posição ainda não gravada pelo {@link DriverLocationBuffer} prevalece
+     * sobre a do banco.</p>
      *
      * @param id O ID (Long) do motorista a ser buscado.
      * @return Um {@link Optional} contendo o
      * {@link DriverResponseDTO} se o motorista for encontrado,
      * ou {@link Optional#empty()} se não for encontrado.
      */
+    @Cacheable(cacheNames = CacheConfig.DRIVERS, key = "#id", unless = "#result == null")
     @Transactional(readOnly = true)
     public Optional<DriverResponseDTO> getDriverById(long id) {
         return driverRepository.findById(id)
-            .map(driverMapper::toResponseDTO);
+            .map(driverMapper::toResponseDTO)
+            .map(locationBuffer::overlay);
 
     }
 
@@ -126,26 +335,28 @@ public class DriverService {
      */
     @Transactional(readOnly = true)
     public Optional<DriverResponseDTO> getDriverByLicenseNumber(String licenseNumber) {
-        return driverRepository.findByLicenseNumber(licenseNumber)
-            .map(driverMapper::toResponseDTO);
+        return driverRepository.findByNaturalLicenseNumber(licenseNumber)
+            .map(driverMapper::toResponseDTO)
+            .map(locationBuffer::overlay);
     }
 
     /**
-     * Retorna uma lista de todos os motoristas cadastrados.
+     * Retorna uma página de motoristas, paginada por cursor (keyset).
      *
-     * <p>Esta operação é otimizada para somente leitura.
-     * A lista de entidades é convertida para uma lista de DTOs.</p>
+     * <p>Esta operação é otimizada para somente leitura. São buscados
+     * {@code limit + 1} registros: o excedente só indica que há uma próxima página.
+     * Os DTOs vêm direto da consulta, sem carregar entidades.</p>
      *
-     * @return Uma {@link List} de {@link PassengerResponseDTO}.
-     * A lista estará vazia se não houver passageiros cadastrados.
+     * @param after O cursor (último ID da página anterior; 0 para a primeira).
+     * @param limit O tamanho da página.
+     * @return Um {@link CursorPageDTO} de {@link DriverResponseDTO}.
      */
     @Transactional(readOnly = true)
-    public List<DriverResponseDTO> getAllDrivers() {
-        return driverRepository.findAll()
-            .stream()
-            .map(driverMapper::toResponseDTO)
-            .collect(Collectors.toList());
-
+    public CursorPageDTO<DriverResponseDTO> getDriversPage(long after, int limit) {
+        List<DriverResponseDTO> drivers = driverRepository.findResponsePage(after, Limit.of(limit + 1)).stream()
+            .map(locationBuffer::overlay)
+            .toList();
+        return CursorPageDTO.of(drivers, limit, DriverResponseDTO::id);
     }
 
     /**
@@ -157,42 +368,65 @@ public class DriverService {
      * motoristas. Por fim, o mapper atualiza a entidade existente e
      * ela é salva.</p>
      *
+     * <p>Com {@code ifMatch}, a atualização só é feita se o ETag da
+     * representação atual (a mesma devolvida pelo GET) corresponder; a
+     * comparação usa a entidade já carregada, sem consulta extra. Uma
+     * atualização de outro cliente confirmada depois dessa conferência é
+     * barrada pela coluna de versão.</p>
+     *
      * @param id O ID (Long) do motorista a ser atualizado.
      * @param requestDTO O {@link DriverRequestDTO} com os dados
      * a serem atualizados.
+     * @param ifMatch O cabeçalho {@code If-Match} da requisição, ou {@code null}.
      * @return O {@link DriverResponseDTO} com os dados atualizados.
-     * @throws IllegalStateException Se nenhum motorista for
+     * @throws ResourceNotFoundException Se nenhum motorista for
      * encontrado com o ID fornecido (lançado pelo orElseThrow).
      * @throws IllegalArgumentException Se o novo licenseNumber ou
      * vehiclePlate já estiverem em uso por *outro* motorista.
+     * @throws PreconditionFailedException Se o {@code ifMatch} não
+     * corresponder à representação atual.
      */
-   @Transactional
-    public DriverResponseDTO updateDriver(long id, DriverRequestDTO requestDTO) {
+    @CachePut(cacheNames = CacheConfig.DRIVERS, key = "#id")
+    @Transactional
+    public DriverResponseDTO updateDriver(long id, DriverRequestDTO requestDTO, String ifMatch) {
         // 1. Busca do Motorista Existente
         Driver existingDriver = driverRepository.findById(id)
-            .orElseThrow(() -> new IllegalStateException("Driver with ID " + id + " not found."));
+            .orElseThrow(() -> new ResourceNotFoundException("Driver with ID " + id + " not found."));
+        if (ifMatch != null && !ETags.matches(ifMatch, locationBuffer.overlay(driverMapper.toResponseDTO(existingDriver)))) {
+            throw new PreconditionFailedException("Driver " + id + " was modified (ETag mismatch).");
+        }
         
         // 2. Validação de Negócio (Campos Únicos, checando se não é o próprio)
         // License Number Validation
-        Optional<Driver> driverByLicense = driverRepository.findByLicenseNumber(requestDTO.licenseNumber());
-        if (driverByLicense.isPresent() && driverByLicense.get().getId() !=id) {
-            throw new IllegalArgumentException("License Number " + requestDTO.licenseNumber() + " already in use.");
-        }    
+        if (uniqueKeyFilters.mightContain(UniqueKey.DRIVER_LICENSE_NUMBER, requestDTO.licenseNumber())) {
+            Optional<Driver> driverByLicense = driverRepository.findByNaturalLicenseNumber(requestDTO.licenseNumber());
+            uniqueKeyFilters.confirm(UniqueKey.DRIVER_LICENSE_NUMBER, driverByLicense.isPresent());
+            if (driverByLicense.isPresent() && driverByLicense.get().getId() !=id) {
+                throw new IllegalArgumentException("License Number " + requestDTO.licenseNumber() + " already in use.");
+            }
+        }
 
         // Vehicle Plate Validation
-        Optional<Driver> driverByPlate = driverRepository.findByLicenseNumber(requestDTO.vehiclePlate());
-        if (driverByPlate.isPresent() && driverByPlate.get().getId() !=id) {
-            throw new IllegalArgumentException("Vehicle Plate " + requestDTO.vehiclePlate() + " already in use.");
+        if (uniqueKeyFilters.mightContain(UniqueKey.DRIVER_VEHICLE_PLATE, requestDTO.vehiclePlate())) {
+            Optional<Driver> driverByPlate = driverRepository.findByVehiclePlate(requestDTO.vehiclePlate());
+            uniqueKeyFilters.confirm(UniqueKey.DRIVER_VEHICLE_PLATE, driverByPlate.isPresent());
+            if (driverByPlate.isPresent() && driverByPlate.get().getId() !=id) {
+                throw new IllegalArgumentException("Vehicle Plate " + requestDTO.vehiclePlate() + " already in use.");
+            }
         }
 
-        // 3. Atualiza a entidade usando o Mapper
+        // 3. Atualiza a entidade usando o Mapper (e os filtros de unicidade)
+        uniqueKeyFilters.replace(UniqueKey.DRIVER_LICENSE_NUMBER, existingDriver.getLicenseNumber(), requestDTO.licenseNumber());
+        uniqueKeyFilters.replace(UniqueKey.DRIVER_VEHICLE_PLATE, existingDriver.getVehiclePlate(), requestDTO.vehiclePlate());
         driverMapper.updateEntityFromDTO(requestDTO, existingDriver);
 
         // 4. Salva a entidade atualizada no banco de dados
         Driver updateDriver = driverRepository.save(existingDriver);
 
         // 5. Converte a entidade atualizada para DTO de resposta
-        return driverMapper.toResponseDTO(updateDriver);
+        DriverResponseDTO response = locationBuffer.overlay(driverMapper.toResponseDTO(updateDriver));
+        eventPublisher.publishEvent(DriverEvent.of(DriverEventType.UPDATED, response));
+        return response;
     }
 
     /**
@@ -202,17 +436,160 @@ public class DriverService {
      * passageiro existe antes de tentar a deleção.</p>
      *
      * @param id O ID (Long) do motorista a ser deletado.
-     * @throws IllegalStateException Se nenhum passageiro for
+     * @throws ResourceNotFoundException Se nenhum passageiro for
      * encontrado com o ID fornecido (lançado pela verificação 'existsById').
      */
+    @CacheEvict(cacheNames = CacheConfig.DRIVERS, key = "#id")
     @Transactional
     public void deleteDriver(long id) {
     // 1. Verifica se o motorista existe
     if(!driverRepository.existsById(id)) {
         // 2. Se não existir, lança exceção
-        throw new IllegalStateException("Driver with ID " + id + " not found.");
+        throw new ResourceNotFoundException("Driver with ID " + id + " not found.");
     }
     // 3. Se existir, deleta oo motorista
     driverRepository.deleteById(id);
-    }    
+
+    // 4. Após o commit, remove o motorista do índice geoespacial (e a posição
+    //    ainda não gravada); se a deleção for revertida, ele continua indexado
+    afterCommit(() -> {
+        locationIndex.remove(id);
+        locationBuffer.discard(id);
+    });
+
+    // 5. Os valores apagados continuam nos filtros de unicidade até a próxima reconstrução
+    uniqueKeyFilters.markStale(UniqueKey.DRIVER_LICENSE_NUMBER);
+    uniqueKeyFilters.markStale(UniqueKey.DRIVER_VEHICLE_PLATE);
+
+    // 6. Avisa os assinantes do stream de eventos
+    eventPublisher.publishEvent(DriverEvent.deleted(id));
+    }
+
+    /**
+     * Atualiza a posição atual de um motorista.
+     *
+     * <p>Este método é transacional. A posição é persistida na entidade
+     * {@link Driver} e, se o motorista estiver disponível, também é refletida
+     * no {@link DriverLocationIndex} para as buscas por proximidade. Uma
+     * posição pendente no {@link DriverLocationBuffer} é descartada, para não
+     * sobrescrever esta depois.</p>
+     *
+     * @param id O ID (Long) do motorista.
+     * @param locationDTO O {@link DriverLocationRequestDTO} com a nova posição.
+     * @return O {@link DriverResponseDTO} com a posição atualizada.
+     * @throws ResourceNotFoundException Se nenhum motorista for
+     * encontrado com o ID fornecido.
+     */
+    @CachePut(cacheNames = CacheConfig.DRIVERS, key = "#id")
+    @Transactional
+    public DriverResponseDTO updateDriverLocation(long id, DriverLocationRequestDTO locationDTO) {
+        // 1. Busca do Motorista Existente
+        Driver driver = driverRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Driver with ID " + id + " not found."));
+
+        // 2. Atualiza a posição persistida
+        driver.setLatitude(locationDTO.latitude());
+        driver.setLongitude(locationDTO.longitude());
+        Driver updatedDriver = driverRepository.save(driver);
+        locationBuffer.discard(id);
+
+        // 3. Reflete a posição no índice (apenas motoristas disponíveis são indexados)
+        if (Boolean.TRUE.equals(updatedDriver.getAvailable())) {
+            locationIndex.update(id, locationDTO.latitude(), locationDTO.longitude());
+        } else {
+            locationIndex.remove(id);
+        }
+
+        DriverResponseDTO response = driverMapper.toResponseDTO(updatedDriver);
+        eventPublisher.publishEvent(DriverEvent.of(DriverEventType.LOCATION, response));
+        return response;
+    }
+
+    /**
+     * Recebe um lote de posições reportadas pelo GPS dos motoristas.
+     *
+     * <p>Nada é gravado no banco aqui: cada posição válida substitui a anterior
+     * no {@link DriverLocationBuffer}, que grava as posições em lote
+     * periodicamente. A posição já vale para a busca por proximidade (se o
+     * motorista estiver disponível) e para o cache {@value CacheConfig#DRIVERS}.
+     * Por isso o método não participa de transações
+     * ({@code Propagation.NOT_SUPPORTED}). Posições de motoristas inexistentes
+     * são descartadas na gravação, sem erro. As posições recebidas por aqui não
+     * geram eventos no stream de motoristas.</p>
+     *
+     * @param pings As posições recebidas.
+     * @return Um {@link LocationBatchResultDTO} com a contagem e os erros por linha.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LocationBatchResultDTO recordLocations(List<DriverLocationPingDTO> pings) {
+        Cache drivers = cacheManager.getCache(CacheConfig.DRIVERS);
+        List<BulkRowErrorDTO> errors = new ArrayList<>();
+        int accepted = 0;
+        for (int i = 0; i < pings.size(); i++) {
+            // 1. Validação de cada posição (Bean Validation)
+            DriverLocationPingDTO ping = pings.get(i);
+            if (ping == null) {
+                errors.add(new BulkRowErrorDTO(i, null, "Row cannot be null"));
+                continue;
+            }
+            Set<ConstraintViolation<DriverLocationPingDTO>> violations = validator.validate(ping);
+            if (!violations.isEmpty()) {
+                for (ConstraintViolation<DriverLocationPingDTO> violation : violations) {
+                    errors.add(new BulkRowErrorDTO(i, violation.getPropertyPath().toString(), violation.getMessage()));
+                }
+                continue;
+            }
+
+            // 2. Guarda a posição mais recente e a reflete no índice e no cache
+            long driverId = ping.driverId();
+            locationBuffer.record(driverId, ping.latitude(), ping.longitude());
+            locationIndex.updateIfAvailable(driverId, ping.latitude(), ping.longitude());
+            DriverResponseDTO cached = (drivers == null) ? null : drivers.get(driverId, DriverResponseDTO.class);
+            if (cached != null) {
+                drivers.put(driverId, cached.withPosition(ping.latitude(), ping.longitude()));
+            }
+            accepted++;
+        }
+        return new LocationBatchResultDTO(pings.size(), accepted, errors);
+    }
+
+    /**
+     * Busca os {@code k} motoristas disponíveis mais próximos de um ponto.
+     *
+     * <p>A busca é feita exclusivamente no {@link DriverLocationIndex} em memória,
+     * por isso o método não participa de transações
+     * ({@code Propagation.NOT_SUPPORTED}) e não abre conexão com o banco.</p>
+     *
+     * @param latitude  Latitude do ponto de referência.
+     * @param longitude Longitude do ponto de referência.
+     * @param k         Quantidade máxima de motoristas retornados.
+     * @return Uma {@link List} de {@link NearbyDriverDTO} ordenada pela distância.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<NearbyDriverDTO> findNearestAvailableDrivers(double latitude, double longitude, int k) {
+        return locationIndex.nearest(latitude, longitude, k);
+    }
+
+    /**
+     * Carrega o {@link DriverLocationIndex} com os motoristas disponíveis
+     * que possuem posição conhecida, assim que a aplicação termina de iniciar.
+     * Os disponíveis ainda sem posição são registrados para entrar no índice
+     * com a primeira posição recebida.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadLocationIndex() {
+        driverRepository.findByAvailableTrueAndLatitudeIsNotNullAndLongitudeIsNotNull()
+            .forEach(d -> locationIndex.update(d.getId(), d.getLatitude(), d.getLongitude()));
+        driverRepository.findAvailableIdsWithoutPosition().forEach(locationIndex::markAvailable);
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
\ No newline at end of file
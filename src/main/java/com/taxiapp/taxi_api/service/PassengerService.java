@@ -1,18 +1,39 @@
 package com.taxiapp.taxi_api.service;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taxiapp.taxi_api.config.CacheConfig;
+import com.taxiapp.taxi_api.dto.CursorPageDTO;
 import com.taxiapp.taxi_api.dto.PassengerRequestDTO;
 import com.taxiapp.taxi_api.dto.PassengerResponseDTO;
+import com.taxiapp.taxi_api.exception.PreconditionFailedException;
+import com.taxiapp.taxi_api.exception.ResourceNotFoundException;
+import com.taxiapp.taxi_api.http.ETags;
 import com.taxiapp.taxi_api.mapper.PassengerMapper;
 import com.taxiapp.taxi_api.model.Passenger;
 import com.taxiapp.taxi_api.repository.PassengerRepository;
+import com.taxiapp.taxi_api.repository.PassengerStore;
+import com.taxiapp.taxi_api.repository.PassengerUniqueKeys;
+import com.taxiapp.taxi_api.repository.RideRepository;
+import com.taxiapp.taxi_api.uniqueness.UniqueKey;
+import com.taxiapp.taxi_api.uniqueness.UniqueKeyFilters;
 
 /**
  * Camada de Serviço (Service Layer) que encapsula a lógica de negócio
@@ -20,13 +41,13 @@ import com.taxiapp.taxi_api.repository.PassengerRepository;
  *
  * <p>Esta classe é responsável por mediar a comunicação entre o
  * {@link com.taxiapp.taxi_api.controller.PassengerController} e o
- * {@link PassengerRepository}, aplicando validações de negócio,
+ * {@link PassengerStore}, aplicando validações de negócio,
  * mapeamento de DTOs e gerenciamento de transações.</p>
  *
  * <p>A anotação @Service informa ao Spring que esta classe deve ser
  * gerenciada por ele (é um "Bean").</p>
  *
- * @see PassengerRepository
+ * @see PassengerStore
  * @see PassengerMapper
  * @see Passenger
  * @author [Seu Nome/Equipe]
@@ -36,10 +57,18 @@ import com.taxiapp.taxi_api.repository.PassengerRepository;
 public class PassengerService {
 
     /**
-     * Injeção do repositório para acesso aos dados dos passageiros.
+     * Injeção do repositório para acesso aos dados dos passageiros: o
+     * {@link PassengerRepository} (JPA) ou, com os passageiros em shards, o
+     * {@link com.taxiapp.taxi_api.sharding.ShardedPassengerRepository}.
      */
     @Autowired
-    private PassengerRepository passengerRepository;
+    private PassengerStore passengerStore;
+
+    /**
+     * Corridas, consultadas antes de remover um passageiro.
+     */
+    @Autowired
+    private RideRepository rideRepository;
 
     /**
      * Injeção do mapper para conversão entre Entidades e DTOs.
@@ -47,6 +76,23 @@ public class PassengerService {
     @Autowired
     private PassengerMapper passengerMapper;
 
+    /**
+     * Filtros de Bloom usados como pré-checagem dos campos únicos.
+     */
+    @Autowired
+    private UniqueKeyFilters uniqueKeyFilters;
+
+    /**
+     * ObjectMapper configurado pelo Spring Boot, usado na exportação NDJSON.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Quantidade de linhas escritas entre dois flushes da exportação.
+     */
+    private static final int EXPORT_FLUSH_EVERY = 1000;
+
     /**
      * Cria um novo passageiro no sistema.
      *
@@ -65,24 +111,26 @@ public class PassengerService {
      */
     @Transactional
     public PassengerResponseDTO createPassenger(PassengerRequestDTO requestDTO) {
-        // 1. Validação de Negócio (Campos Únicos)
-        passengerRepository.findByEmail(requestDTO.email()).ifPresent(p -> {
+        // 1. Validação de Negócio (Campos Únicos) em uma única consulta
+        List<PassengerUniqueKeys> conflicts = findConflicts(requestDTO, null);
+        if (matches(conflicts, requestDTO.email(), PassengerUniqueKeys::email)) {
             throw new IllegalArgumentException("Email already in use");
-        });
-
-        passengerRepository.findByUsername(requestDTO.username()).ifPresent(p -> {
+        }
+        if (matches(conflicts, requestDTO.username(), PassengerUniqueKeys::username)) {
             throw new IllegalArgumentException("Username already in use");
-        });
-
-        passengerRepository.findByPhone(requestDTO.phone()).ifPresent(p -> {
+        }
+        if (matches(conflicts, requestDTO.phone(), PassengerUniqueKeys::phone)) {
             throw new IllegalArgumentException("Phone number already in use");
-        });
+        }
 
         // 2. Conversão do DTO para Entidade
         Passenger newPassenger = passengerMapper.toEntity(requestDTO);
 
         // 3. Salvamento da Entidade no Banco de Dados
-        Passenger savedPassenger = passengerRepository.save(newPassenger);
+        Passenger savedPassenger = passengerStore.save(newPassenger);
+        uniqueKeyFilters.add(UniqueKey.PASSENGER_EMAIL, savedPassenger.getEmail());
+        uniqueKeyFilters.add(UniqueKey.PASSENGER_USERNAME, savedPassenger.getUsername());
+        uniqueKeyFilters.add(UniqueKey.PASSENGER_PHONE, savedPassenger.getPhone());
 
         // 4. Conversão da Entidade Salva para DTO de Resposta
         return passengerMapper.toResponseDTO(savedPassenger);
@@ -92,23 +140,27 @@ public class PassengerService {
      * Busca um passageiro pelo seu ID.
      *
      * <p>Esta operação é otimizada para somente leitura
-     * ({@code @Transactional(readOnly = true)}).</p>
+     * ({@code @Transactional(readOnly = true)}) e passa pelo cache
+     * {@value CacheConfig#PASSENGERS}: só vai ao banco na primeira leitura de
+     * cada ID (ou após expiração/invalidação). Ausências não são guardadas.
+     * O DTO vem direto da consulta, sem carregar a entidade.</p>
      *
      * @param id O ID (Long) do passageiro a ser buscado.
      * @return Um {@link Optional} contendo o
      * {@link PassengerResponseDTO} se o passageiro for encontrado,
      * ou {@link Optional#empty()} se não for encontrado.
      */
+    @Cacheable(cacheNames = CacheConfig.PASSENGERS, key = "#id", unless = "#result == null")
     @Transactional(readOnly = true)
     public Optional<PassengerResponseDTO> getPassengerbyId(long id) {
-        return passengerRepository.findById(id)
-                .map(passengerMapper::toResponseDTO);
+        return passengerStore.findResponseById(id);
     }
 
     /**
      * Busca um passageiro pelo seu número de telefone.
      *
-     * <p>Esta operação é otimizada para somente leitura.</p>
+     * <p>Esta operação é otimizada para somente leitura. O DTO vem direto
+     * da consulta, sem carregar a entidade.</p>
      *
      * @param phone O número de telefone a ser buscado.
      * @return Um {@link Optional} contendo o
@@ -117,25 +169,58 @@ public class PassengerService {
      */
     @Transactional(readOnly = true)
     public Optional<PassengerResponseDTO> getPassengerByPhone(String phone) {
-        return passengerRepository.findByPhone(phone)
-                .map(passengerMapper::toResponseDTO);
+        return passengerStore.findResponseByPhone(phone);
     }
 
     /**
-     * Retorna uma lista de todos os passageiros cadastrados.
+     * Retorna uma página de passageiros, paginada por cursor (keyset).
      *
-     * <p>Esta operação é otimizada para somente leitura.
-     * A lista de entidades é convertida para uma lista de DTOs.</p>
+     * <p>Esta operação é otimizada para somente leitura. São buscados
+     * {@code limit + 1} registros: o excedente só indica que há uma próxima página.
+     * Os DTOs vêm direto da consulta, sem carregar entidades.</p>
      *
-     * @return Uma {@link List} de {@link PassengerResponseDTO}.
-     * A lista estará vazia se não houver passageiros cadastrados.
+     * @param after O cursor (último ID da página anterior; 0 para a primeira).
+     * @param limit O tamanho da página.
+     * @return Um {@link CursorPageDTO} de {@link PassengerResponseDTO}.
      */
     @Transactional(readOnly = true)
-    public List<PassengerResponseDTO> getAllPassengers() {
-        return passengerRepository.findAll()
-                .stream()
-                .map(passengerMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<PassengerResponseDTO> getPassengersPage(long after, int limit) {
+        List<PassengerResponseDTO> passengers = passengerStore.findResponsePage(after, Limit.of(limit + 1));
+        return CursorPageDTO.of(passengers, limit, PassengerResponseDTO::id);
+    }
+
+    /**
+     * Exporta todos os passageiros em formato NDJSON (um JSON por linha).
+     *
+     * <p>Esta operação é otimizada para somente leitura. Os passageiros são lidos
+     * como {@link PassengerResponseDTO} por um {@link Stream} com fetch size do
+     * JDBC e escritos na saída um a um; nenhuma entidade é carregada. Assim o uso
+     * de memória não depende do tamanho da tabela.</p>
+     *
+     * @param output O {@link OutputStream} de destino (não é fechado por este método).
+     * @return A quantidade de passageiros exportados.
+     * @throws IOException Se a escrita na saída falhar (ex: cliente desconectou).
+     */
+    @Transactional(readOnly = true)
+    public long exportPassengers(OutputStream output) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(PassengerResponseDTO.class);
+        BufferedOutputStream buffered = new BufferedOutputStream(output, 64 * 1024);
+        long count = 0;
+
+        try (Stream<PassengerResponseDTO> passengers = passengerStore.streamAllResponses()) {
+            for (PassengerResponseDTO passenger : (Iterable<PassengerResponseDTO>) passengers::iterator) {
+                // 1. Escreve a linha
+                buffered.write(writer.writeValueAsBytes(passenger));
+                buffered.write('\n');
+
+                // 2. Envia o que já foi escrito a cada bloco de linhas
+                if (++count % EXPORT_FLUSH_EVERY == 0) {
+                    buffered.flush();
+                }
+            }
+        }
+        buffered.flush();
+        return count;
     }
 
     /**
@@ -150,42 +235,46 @@ public class PassengerService {
      * @param id O ID (Long) do passageiro a ser atualizado.
      * @param requestDTO O {@link PassengerRequestDTO} com os dados
      * a serem atualizados.
+     * @param ifMatch O cabeçalho {@code If-Match} da requisição, ou {@code null}:
+     * se informado, deve corresponder ao ETag da representação atual.
      * @return O {@link PassengerResponseDTO} com os dados atualizados.
-     * @throws IllegalStateException Se nenhum passageiro for
+     * @throws ResourceNotFoundException Se nenhum passageiro for
      * encontrado com o ID fornecido (lançado pelo orElseThrow).
      * @throws IllegalArgumentException Se o novo email, username ou
      * telefone já estiverem em uso por *outro* passageiro.
+     * @throws PreconditionFailedException Se o {@code ifMatch} não
+     * corresponder à representação atual.
      */
+    @CachePut(cacheNames = CacheConfig.PASSENGERS, key = "#id")
     @Transactional
-    public PassengerResponseDTO updatePassenger(long id, PassengerRequestDTO requestDTO) {
-        // 1. Busca a entidade existente ou lança exceção
-        Passenger passengerExisting = passengerRepository.findById(id)
-                .orElseThrow(() -> new IllegalStateException("Passenger with ID " + id + " not found."));
-
-        // 2. Validação de Negócio (Campos únicos, checando se não é o próprio)
-        // Email validation
-        Optional<Passenger> passengerWithNewEmail = passengerRepository.findByEmail(requestDTO.email());
-        if (passengerWithNewEmail.isPresent() && !passengerWithNewEmail.get().getId().equals(id)) {
-            throw new IllegalArgumentException("Email " + requestDTO.email() + " is already in use.");
+    public PassengerResponseDTO updatePassenger(long id, PassengerRequestDTO requestDTO, String ifMatch) {
+        // 1. Busca a entidade existente ou lança exceção (e confere o If-Match, sem consulta extra)
+        Passenger passengerExisting = passengerStore.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Passenger with ID " + id + " not found."));
+        if (ifMatch != null && !ETags.matches(ifMatch, passengerMapper.toResponseDTO(passengerExisting))) {
+            throw new PreconditionFailedException("Passenger " + id + " was modified (ETag mismatch).");
         }
 
-        // Username validation
-        Optional<Passenger> passengerWithNewUsername = passengerRepository.findByUsername(requestDTO.username());
-        if (passengerWithNewUsername.isPresent() && !passengerWithNewUsername.get().getId().equals(id)) {
+        // 2. Validação de Negócio (Campos únicos, ignorando o próprio) em uma única consulta
+        List<PassengerUniqueKeys> conflicts = findConflicts(requestDTO, id);
+        if (matches(conflicts, requestDTO.email(), PassengerUniqueKeys::email)) {
+            throw new IllegalArgumentException("Email " + requestDTO.email() + " is already in use.");
+        }
+        if (matches(conflicts, requestDTO.username(), PassengerUniqueKeys::username)) {
             throw new IllegalArgumentException("Username " + requestDTO.username() + " is already in use.");
         }
-
-        // Phone validation
-        Optional<Passenger> passengerWithNewPhone = passengerRepository.findByPhone(requestDTO.phone());
-        if (passengerWithNewPhone.isPresent() && !passengerWithNewPhone.get().getId().equals(id)) {
-            throw new IllegalArgumentException("Phone " + requestDTO.phone() + " is already in us e.");
+        if (matches(conflicts, requestDTO.phone(), PassengerUniqueKeys::phone)) {
+            throw new IllegalArgumentException("Phone " + requestDTO.phone() + " is already in use.");
         }
 
-        // 3. Atualiza a entidade usando o Mapper
+        // 3. Atualiza a entidade usando o Mapper (e os filtros de unicidade)
+        uniqueKeyFilters.replace(UniqueKey.PASSENGER_EMAIL, passengerExisting.getEmail(), requestDTO.email());
+        uniqueKeyFilters.replace(UniqueKey.PASSENGER_USERNAME, passengerExisting.getUsername(), requestDTO.username());
+        uniqueKeyFilters.replace(UniqueKey.PASSENGER_PHONE, passengerExisting.getPhone(), requestDTO.phone());
         passengerMapper.updateEntityFromDTO(requestDTO, passengerExisting);
 
         // 4. Salva a entidade atualizada
-        Passenger updatedPassenger = passengerRepository.save(passengerExisting);
+        Passenger updatedPassenger = passengerStore.save(passengerExisting);
 
         // 5. Converte para DTO de resposta e retorna
         return passengerMapper.toResponseDTO(updatedPassenger);
@@ -198,17 +287,73 @@ public class PassengerService {
      * passageiro existe antes de tentar a deleção.</p>
      *
      * @param id O ID (Long) do passageiro a ser deletado.
-     * @throws IllegalStateException Se nenhum passageiro for
+     * @throws ResourceNotFoundException Se nenhum passageiro for
      * encontrado com o ID fornecido (lançado pela verificação 'existsById').
+     * @throws DataIntegrityViolationException Se o passageiro tiver corridas.
+     * A linha do passageiro fica travada entre a verificação e a remoção, para
+     * que uma corrida criada ao mesmo tempo não fique órfã.
      */
+    @CacheEvict(cacheNames = CacheConfig.PASSENGERS, key = "#id")
     @Transactional
     public void deletePassenger(long id) {
-        // 1. Primeiro, verifica se o passageiro existe
-        if (!passengerRepository.existsById(id)) {
+        // 1. Primeiro, verifica se o passageiro existe (e o trava até o fim da transação)
+        if (!passengerStore.lockIfExists(id, true)) {
             // 2. Se não existe, lança uma exceção
-            throw new IllegalStateException("Passenger with ID " + id + " not found.");
+            throw new ResourceNotFoundException("Passenger with ID " + id + " not found.");
+        }
+        if (rideRepository.existsByPassengerId(id)) {
+            throw new DataIntegrityViolationException("Passenger with ID " + id + " has rides.");
         }
         // 3. Se existe, deleta
-        passengerRepository.deleteById(id);
+        passengerStore.deleteById(id);
+
+        // 4. Os valores apagados continuam nos filtros de unicidade até a próxima reconstrução
+        uniqueKeyFilters.markStale(UniqueKey.PASSENGER_EMAIL);
+        uniqueKeyFilters.markStale(UniqueKey.PASSENGER_USERNAME);
+        uniqueKeyFilters.markStale(UniqueKey.PASSENGER_PHONE);
+    }
+
+    /**
+     * Busca os passageiros (exceto {@code excludeId}) que já usam algum dos
+     * campos únicos do DTO, com uma única consulta de projeção.
+     *
+     * <p>Se os filtros de Bloom garantirem que nenhum dos três valores está em
+     * uso, a consulta é dispensada.</p>
+     */
+    private List<PassengerUniqueKeys> findConflicts(PassengerRequestDTO requestDTO, Long excludeId) {
+        // 1. Pré-checagem nos filtros de Bloom
+        boolean emailSuspect = uniqueKeyFilters.mightContain(UniqueKey.PASSENGER_EMAIL, requestDTO.email());
+        boolean usernameSuspect = uniqueKeyFilters.mightContain(UniqueKey.PASSENGER_USERNAME, requestDTO.username());
+        boolean phoneSuspect = uniqueKeyFilters.mightContain(UniqueKey.PASSENGER_PHONE, requestDTO.phone());
+        if (!emailSuspect && !usernameSuspect && !phoneSuspect) {
+            return List.of();
+        }
+
+        // 2. Confirmação no banco
+        List<PassengerUniqueKeys> conflicts = passengerStore.findUniqueKeyConflicts(
+                requestDTO.email(), requestDTO.username(), requestDTO.phone());
+        if (emailSuspect) {
+            uniqueKeyFilters.confirm(UniqueKey.PASSENGER_EMAIL, matches(conflicts, requestDTO.email(), PassengerUniqueKeys::email));
+        }
+        if (usernameSuspect) {
+            uniqueKeyFilters.confirm(UniqueKey.PASSENGER_USERNAME, matches(conflicts, requestDTO.username(), PassengerUniqueKeys::username));
+        }
+        if (phoneSuspect) {
+            uniqueKeyFilters.confirm(UniqueKey.PASSENGER_PHONE, matches(conflicts, requestDTO.phone(), PassengerUniqueKeys::phone));
+        }
+
+        // 3. O próprio passageiro (na atualização) não é conflito
+        return conflicts.stream()
+                .filter(keys -> !keys.id().equals(excludeId))
+                .toList();
+    }
+
+    /**
+     * Verifica se algum conflito usa o valor no campo indicado. A comparação ignora
+     * maiúsculas/minúsculas, como a collation padrão do MySQL usada na consulta.
+     */
+    private static boolean matches(List<PassengerUniqueKeys> conflicts, String value,
+            Function<PassengerUniqueKeys, String> field) {
+        return conflicts.stream().anyMatch(keys -> value.equalsIgnoreCase(field.apply(keys)));
     }
-}
\ No newline at end of file
+}
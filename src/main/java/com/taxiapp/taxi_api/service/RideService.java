@@ -0,0 +1,282 @@
+package com.taxiapp.taxi_api.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.taxiapp.taxi_api.config.CacheConfig;
+import com.taxiapp.taxi_api.dispatch.DispatchEngine;
+import com.taxiapp.taxi_api.dispatch.DispatchRequest;
+import com.taxiapp.taxi_api.dto.RideRequestDTO;
+import com.taxiapp.taxi_api.dto.RideResponseDTO;
+import com.taxiapp.taxi_api.events.DriverEvent;
+import com.taxiapp.taxi_api.exception.ResourceNotFoundException;
+import com.taxiapp.taxi_api.geo.DriverLocationBuffer;
+import com.taxiapp.taxi_api.geo.DriverLocationIndex;
+import com.taxiapp.taxi_api.mapper.RideMapper;
+import com.taxiapp.taxi_api.model.Driver;
+import com.taxiapp.taxi_api.model.Passenger;
+import com.taxiapp.taxi_api.model.Ride;
+import com.taxiapp.taxi_api.model.RideStatus;
+import com.taxiapp.taxi_api.pricing.FareQuote;
+import com.taxiapp.taxi_api.pricing.SurgePricingEngine;
+import com.taxiapp.taxi_api.repository.DriverRepository;
+import com.taxiapp.taxi_api.repository.PassengerRepository;
+import com.taxiapp.taxi_api.repository.PassengerStore;
+import com.taxiapp.taxi_api.repository.RideRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Camada de Serviço (Service Layer) para a entidade {@link Ride}.
+ *
+ * <p>Cria as corridas (sempre com status REQUESTED) e as entrega ao
+ * {@link DispatchEngine}, que é o único responsável por atribuir motoristas.
+ * Também controla as transições de status posteriores (início, finalização e
+ * cancelamento), liberando o motorista quando a corrida termina.</p>
+ *
+ * @see RideRepository
+ * @see DispatchEngine
+ */
+@Service
+public class RideService {
+
+    private final RideRepository rideRepository;
+
+    private final PassengerStore passengerStore;
+
+    private final PassengerRepository passengerRepository;
+
+    private final DriverRepository driverRepository;
+
+    private final RideMapper rideMapper;
+
+    private final DispatchEngine dispatchEngine;
+
+    private final DriverLocationIndex locationIndex;
+
+    private final DriverLocationBuffer locationBuffer;
+
+    private final SurgePricingEngine surgePricing;
+
+    private final CacheManager cacheManager;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Construtor para Injeção de Dependência.
+     */
+    @Autowired
+    public RideService(RideRepository rideRepository, PassengerStore passengerStore,
+            PassengerRepository passengerRepository, DriverRepository driverRepository, RideMapper rideMapper,
+            DispatchEngine dispatchEngine, DriverLocationIndex locationIndex, DriverLocationBuffer locationBuffer,
+            SurgePricingEngine surgePricing, CacheManager cacheManager, EntityManagerFactory entityManagerFactory,
+            ApplicationEventPublisher eventPublisher) {
+        this.rideRepository = rideRepository;
+        this.passengerStore = passengerStore;
+        this.passengerRepository = passengerRepository;
+        this.driverRepository = driverRepository;
+        this.rideMapper = rideMapper;
+        this.dispatchEngine = dispatchEngine;
+        this.locationIndex = locationIndex;
+        this.locationBuffer = locationBuffer;
+        this.surgePricing = surgePricing;
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Solicita uma nova corrida.
+     *
+     * <p>A corrida é salva com status REQUESTED, com a tarifa cotada pelo
+     * {@link SurgePricingEngine}, e, somente após o commit da transação,
+     * enfileirada no {@link DispatchEngine}.</p>
+     *
+     * @param requestDTO O DTO {@link RideRequestDTO} com os dados da corrida.
+     * @return O {@link RideResponseDTO} da corrida criada.
+     * @throws ResourceNotFoundException Se o passageiro não existir.
+     */
+    @Transactional
+    public RideResponseDTO createRide(RideRequestDTO requestDTO) {
+        // 1. Confere o passageiro (que pode estar em um shard), protegendo-o de uma remoção
+        //    concorrente até o commit, e usa só uma referência ao seu ID
+        if (!passengerStore.lockIfExists(requestDTO.passengerId(), false)) {
+            throw new ResourceNotFoundException("Passenger with ID " + requestDTO.passengerId() + " not found.");
+        }
+        Passenger passenger = passengerRepository.getReferenceById(requestDTO.passengerId());
+
+        // 2. Cotação da tarifa (em memória, sem consultas ao banco)
+        FareQuote quote = surgePricing.quote(requestDTO.pickupLatitude(), requestDTO.pickupLongitude(),
+                requestDTO.dropoffLatitude(), requestDTO.dropoffLongitude());
+
+        // 3. Conversão e salvamento (status REQUESTED)
+        Ride ride = rideMapper.toEntity(requestDTO, passenger);
+        ride.setQuotedFare(quote.fare());
+        ride.setSurgeMultiplier(quote.surgeMultiplier());
+        Ride savedRide = rideRepository.save(ride);
+
+        // 4. Conta o pedido na demanda da zona e enfileira para despacho depois do commit
+        DispatchRequest dispatchRequest = new DispatchRequest(savedRide.getId(),
+                savedRide.getPickupLatitude(), savedRide.getPickupLongitude());
+        afterCommit(() -> {
+            surgePricing.recordRequest(dispatchRequest.latitude(), dispatchRequest.longitude());
+            dispatchEngine.submit(dispatchRequest);
+        });
+
+        return rideMapper.toResponseDTO(savedRide);
+    }
+
+    /**
+     * Busca uma corrida pelo seu ID.
+     *
+     * @param id O ID da corrida.
+     * @return Um {@link Optional} com o {@link RideResponseDTO}, ou vazio se não existir.
+     */
+    @Transactional(readOnly = true)
+    public Optional<RideResponseDTO> getRideById(long id) {
+        return rideRepository.findById(id).map(rideMapper::toResponseDTO);
+    }
+
+    /**
+     * Inicia uma corrida aceita (o motorista embarcou o passageiro).
+     *
+     * @param id O ID da corrida.
+     * @return O {@link RideResponseDTO} atualizado.
+     * @throws ResourceNotFoundException Se a corrida não existir.
+     * @throws IllegalArgumentException Se a corrida não estiver ACCEPTED.
+     */
+    @Transactional
+    public RideResponseDTO startRide(long id) {
+        return rideMapper.toResponseDTO(transition(id, RideStatus.IN_PROGRESS, RideStatus.ACCEPTED));
+    }
+
+    /**
+     * Finaliza uma corrida e devolve o motorista ao conjunto de disponíveis.
+     *
+     * @param id O ID da corrida.
+     * @return O {@link RideResponseDTO} atualizado.
+     * @throws ResourceNotFoundException Se a corrida não existir.
+     * @throws IllegalArgumentException Se a corrida não estiver ACCEPTED ou IN_PROGRESS.
+     */
+    @Transactional
+    public RideResponseDTO completeRide(long id) {
+        Ride ride = transition(id, RideStatus.COMPLETED, RideStatus.ACCEPTED, RideStatus.IN_PROGRESS);
+        releaseDriver(ride.getDriver());
+        return rideMapper.toResponseDTO(ride);
+    }
+
+    /**
+     * Cancela uma corrida que ainda não começou.
+     *
+     * <p>Se a corrida ainda está REQUESTED, o {@link DispatchEngine} é avisado
+     * para descartá-la. Se já estava ACCEPTED, o motorista é liberado.</p>
+     *
+     * @param id O ID da corrida.
+     * @return O {@link RideResponseDTO} atualizado.
+     * @throws ResourceNotFoundException Se a corrida não existir.
+     * @throws IllegalArgumentException Se a corrida já estiver em andamento ou encerrada.
+     */
+    @Transactional
+    public RideResponseDTO cancelRide(long id) {
+        // 1. Corrida ainda sem motorista: cancela de forma condicional e avisa o despachante
+        if (rideRepository.cancelIfRequested(id) == 1) {
+            dispatchEngine.cancel(id);
+            return rideMapper.toResponseDTO(findRide(id));
+        }
+
+        // 2. Corrida já aceita: cancela de forma condicional e só então libera o motorista
+        Ride ride = transition(id, RideStatus.CANCELLED, RideStatus.ACCEPTED);
+        releaseDriver(ride.getDriver());
+        return rideMapper.toResponseDTO(ride);
+    }
+
+    /**
+     * Reenfileira no {@link DispatchEngine} as corridas que ficaram REQUESTED
+     * (ex: a aplicação foi reiniciada antes do despacho).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void recoverRequestedRides() {
+        rideRepository.findByStatus(RideStatus.REQUESTED).stream()
+                .filter(r -> r.getPickupLatitude() != null && r.getPickupLongitude() != null)
+                .forEach(r -> dispatchEngine.submit(
+                        new DispatchRequest(r.getId(), r.getPickupLatitude(), r.getPickupLongitude())));
+    }
+
+    // --- Helpers ---
+
+    private Ride findRide(long id) {
+        return rideRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Ride with ID " + id + " not found."));
+    }
+
+    /**
+     * Move a corrida para {@code status} com um UPDATE condicional, desde que
+     * ela esteja em um dos status {@code allowed}, e devolve a corrida
+     * atualizada. Entre transições concorrentes da mesma corrida, só uma vence;
+     * as demais recebem {@link IllegalArgumentException}.
+     */
+    private Ride transition(long id, RideStatus status, RideStatus... allowed) {
+        if (rideRepository.updateStatusIf(id, List.of(allowed), status) == 0) {
+            Ride ride = findRide(id);
+            throw new IllegalArgumentException("Ride " + id + " is " + ride.getStatus() + ".");
+        }
+        return findRide(id);
+    }
+
+    /**
+     * Marca o motorista como disponível (UPDATE nativo, sem passar pela versão
+     * da entidade) e, após o commit, o remove do cache de segundo nível e do
+     * cache {@value CacheConfig#DRIVERS}, o devolve ao índice geoespacial (na posição
+     * mais recente, que pode ainda não estar gravada) e avisa os assinantes do
+     * stream de eventos.
+     */
+    private void releaseDriver(Driver driver) {
+        if (driver == null) {
+            return;
+        }
+        // UPDATE nativo, como a reivindicação: não incrementa a versão do motorista, então
+        // não conflita com uma edição de cadastro ou de posição feita ao mesmo tempo
+        long driverId = driver.getId();
+        driverRepository.release(driverId);
+        eventPublisher.publishEvent(DriverEvent.availability(driverId, true));
+        Cache drivers = cacheManager.getCache(CacheConfig.DRIVERS);
+        jakarta.persistence.Cache entityCache = entityManagerFactory.getCache();
+        afterCommit(() -> {
+            entityCache.evict(Driver.class, driverId);
+            if (drivers != null) {
+                drivers.evict(driverId);
+            }
+        });
+        Optional<DriverLocationBuffer.BufferedPosition> buffered = locationBuffer.get(driverId);
+        Double latitude = buffered.map(DriverLocationBuffer.BufferedPosition::latitude).orElse(driver.getLatitude());
+        Double longitude = buffered.map(DriverLocationBuffer.BufferedPosition::longitude).orElse(driver.getLongitude());
+        if (latitude != null && longitude != null) {
+            afterCommit(() -> locationIndex.update(driverId, latitude, longitude));
+        } else {
+            afterCommit(() -> locationIndex.markAvailable(driverId));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package com.taxiapp.taxi_api.sharding;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.taxiapp.taxi_api.repository.PassengerDirectoryRepository;
+import com.taxiapp.taxi_api.repository.PassengerStore;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Distribui os passageiros entre os bancos em {@code taxi.sharding.passengers.urls}.
+ *
+ * <p>Registra o {@link ShardedPassengerRepository} como o {@link PassengerStore}
+ * principal: os serviços passam a usá-lo no lugar do repositório JPA. Ligado
+ * com {@code taxi.sharding.passengers.enabled=true}.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "taxi.sharding.passengers.enabled", havingValue = "true")
+public class PassengerShardingConfig {
+
+    /**
+     * Não cria a chave estrangeira {@code ride.passenger_id}: os passageiros
+     * não ficam na tabela {@code passenger} do banco principal.
+     */
+    @Bean
+    HibernatePropertiesCustomizer ridePassengerForeignKeyCustomizer() {
+        IntegratorProvider integrators = () -> List.of(new RidePassengerForeignKeyRemover());
+        return properties -> properties.put("hibernate.integrator_provider", integrators);
+    }
+
+    @Bean
+    PassengerShards passengerShards(MeterRegistry meterRegistry,
+            @Value("${taxi.sharding.passengers.urls}") String urls,
+            @Value("${taxi.sharding.passengers.username:${spring.datasource.username:}}") String username,
+            @Value("${taxi.sharding.passengers.password:${spring.datasource.password:}}") String password,
+            @Value("${taxi.sharding.passengers.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${taxi.sharding.passengers.connection-timeout-ms:2000}") long connectionTimeoutMillis) {
+        List<String> shardUrls = Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty())
+                .toList();
+        if (shardUrls.isEmpty()) {
+            throw new IllegalArgumentException("taxi.sharding.passengers.urls must list at least one JDBC URL.");
+        }
+        return new PassengerShards(meterRegistry, shardUrls, username, password, maximumPoolSize,
+                connectionTimeoutMillis);
+    }
+
+    @Bean
+    @Primary
+    ShardedPassengerRepository shardedPassengerRepository(PassengerShards shards,
+            PassengerDirectoryRepository directoryRepository) {
+        return new ShardedPassengerRepository(shards, directoryRepository);
+    }
+}
@@ -0,0 +1,154 @@
+package com.taxiapp.taxi_api.sharding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Os bancos (shards) entre os quais os passageiros são distribuídos.
+ *
+ * <p>Cada shard tem seu próprio pool Hikari ({@code passenger-shard-0},
+ * {@code passenger-shard-1}...), na ordem de {@code taxi.sharding.passengers.urls}.
+ * Um passageiro fica sempre no shard {@link #shardOf(long)}: um hash do ID
+ * módulo a quantidade de shards. Por isso, mudar a quantidade ou a ordem das
+ * URLs exige redistribuir os passageiros já gravados.</p>
+ *
+ * <p>As consultas que precisam de todos os shards (listagens, contagens) são
+ * feitas em paralelo por {@link #scatter(String, IntFunction)}, nas threads
+ * {@code passenger-shard-scatter-N}. Métricas: {@code taxi.sharding.passengers.scatter}
+ * (tag {@code operation}) e as métricas {@code hikaricp.*} de cada pool.</p>
+ */
+public class PassengerShards implements AutoCloseable {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService scatterExecutor;
+
+    /**
+     * @param urls                    URLs JDBC dos shards, na ordem dos números dos shards.
+     * @param username                Usuário dos shards.
+     * @param password                Senha dos shards.
+     * @param maximumPoolSize         Tamanho máximo do pool de cada shard.
+     * @param connectionTimeoutMillis Espera máxima por uma conexão de um shard.
+     */
+    public PassengerShards(MeterRegistry meterRegistry, List<String> urls, String username, String password,
+            int maximumPoolSize, long connectionTimeoutMillis) {
+        this.meterRegistry = meterRegistry;
+        for (String url : urls) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("passenger-shard-" + pools.size());
+            pool.setJdbcUrl(url);
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setMaximumPoolSize(maximumPoolSize);
+            pool.setConnectionTimeout(connectionTimeoutMillis);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(pool);
+        }
+        // Cada shard atende no máximo maximumPoolSize consultas ao mesmo tempo
+        AtomicInteger threads = new AtomicInteger();
+        this.scatterExecutor = Executors.newFixedThreadPool(urls.size() * maximumPoolSize, runnable -> {
+            Thread thread = new Thread(runnable, "passenger-shard-scatter-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Quantidade de shards.
+     */
+    public int size() {
+        return pools.size();
+    }
+
+    /**
+     * O {@link DataSource} do shard.
+     *
+     * @param shard O número do shard (de 0 a {@link #size()} - 1).
+     */
+    public DataSource dataSource(int shard) {
+        return pools.get(shard);
+    }
+
+    /**
+     * O shard em que fica o passageiro com o ID informado.
+     */
+    public int shardOf(long id) {
+        return shardOf(id, pools.size());
+    }
+
+    /**
+     * O shard de um ID entre {@code shardCount} shards. O ID passa pelo
+     * finalizador do MurmurHash3 antes do módulo, para que faixas e padrões de
+     * IDs (ex: só pares) também se espalhem por igual.
+     */
+    static int shardOf(long id, int shardCount) {
+        long hash = id;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) Math.floorMod(hash, (long) shardCount);
+    }
+
+    /**
+     * Executa a consulta em todos os shards em paralelo e espera todos os resultados.
+     *
+     * @param operation O nome da operação, usado na tag da métrica.
+     * @param query     A consulta, que recebe o número do shard.
+     * @return os resultados, na ordem dos shards.
+     * @throws RuntimeException a exceção do primeiro shard que falhar; as demais
+     *                          consultas são canceladas.
+     */
+    public <T> List<T> scatter(String operation, IntFunction<T> query) {
+        long start = System.nanoTime();
+        List<Future<T>> futures = new ArrayList<>(pools.size());
+        try {
+            for (int shard = 0; shard < pools.size(); shard++) {
+                int current = shard;
+                futures.add(scatterExecutor.submit(() -> query.apply(current)));
+            }
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying the passenger shards", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Passenger shard query failed", ex.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+            Timer.builder("taxi.sharding.passengers.scatter")
+                    .description("Time to query all passenger shards and gather the results")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void close() {
+        scatterExecutor.shutdownNow();
+        pools.forEach(HikariDataSource::close);
+    }
+}
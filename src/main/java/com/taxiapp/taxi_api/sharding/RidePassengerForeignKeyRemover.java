@@ -0,0 +1,38 @@
+package com.taxiapp.taxi_api.sharding;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.mapping.ForeignKey;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+import com.taxiapp.taxi_api.model.Passenger;
+import com.taxiapp.taxi_api.model.Ride;
+
+/**
+ * Desliga a criação da chave estrangeira {@code ride.passenger_id} pelo
+ * Hibernate quando os passageiros estão em shards: eles ficam em outros
+ * bancos, e a tabela {@code passenger} do banco principal fica vazia.
+ *
+ * <p>Em uma única base a chave estrangeira continua sendo criada. Com os
+ * shards, a integridade vem da trava na linha do diretório de passageiros
+ * (ver {@link ShardedPassengerRepository#lockIfExists(Long, boolean)}).</p>
+ */
+final class RidePassengerForeignKeyRemover implements Integrator {
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+            SessionFactoryImplementor sessionFactory) {
+        for (ForeignKey foreignKey : metadata.getEntityBinding(Ride.class.getName()).getTable().getForeignKeys()
+                .values()) {
+            if (Passenger.class.getName().equals(foreignKey.getReferencedEntityName())) {
+                foreignKey.disableCreation();
+            }
+        }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
@@ -0,0 +1,406 @@
+package com.taxiapp.taxi_api.sharding;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taxiapp.taxi_api.dto.PassengerResponseDTO;
+import com.taxiapp.taxi_api.model.Passenger;
+import com.taxiapp.taxi_api.model.PassengerDirectoryEntry;
+import com.taxiapp.taxi_api.repository.PassengerDirectoryRepository;
+import com.taxiapp.taxi_api.repository.PassengerStore;
+import com.taxiapp.taxi_api.repository.PassengerUniqueKeys;
+
+/**
+ * {@link PassengerStore} com os passageiros distribuídos entre os
+ * {@link PassengerShards}, ativado com {@code taxi.sharding.passengers.enabled=true}.
+ *
+ * <ul>
+ *   <li><strong>Por ID</strong> (busca, atualização, remoção): vai direto ao
+ *       shard do passageiro ({@link PassengerShards#shardOf(long)}).</li>
+ *   <li><strong>Por campo único</strong> (telefone, verificação de duplicidade,
+ *       carga dos filtros de Bloom): consulta o diretório
+ *       ({@link PassengerDirectoryEntry}) no banco principal, que também gera
+ *       os IDs e garante a unicidade entre os shards.</li>
+ *   <li><strong>Listagem e exportação</strong> (scatter-gather): a página é
+ *       buscada em todos os shards em paralelo e os resultados são intercalados
+ *       por ID; a exportação intercala os streams dos shards, sem materializá-los.</li>
+ * </ul>
+ *
+ * <p>As escritas alteram primeiro o diretório (na transação JPA do serviço,
+ * com flush para que violações de unicidade apareçam antes) e depois o shard,
+ * cada comando com seu próprio commit. Se a transação do serviço for desfeita
+ * depois disso, a escrita no shard é compensada (a inserção removida, a
+ * atualização ou a remoção revertidas).</p>
+ *
+ * <p>Nos shards, a tabela {@code passenger} é criada na inicialização, caso não
+ * exista. A tabela {@code passenger} do banco principal deixa de ser usada.</p>
+ */
+public class ShardedPassengerRepository implements PassengerStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedPassengerRepository.class);
+
+    private static final String CREATE_TABLE = """
+            create table if not exists passenger (
+                id bigint not null primary key,
+                name varchar(100) not null,
+                username varchar(50) not null,
+                address varchar(100) not null,
+                phone varchar(15) not null,
+                email varchar(100) not null,
+                created_at datetime(6) not null,
+                version bigint not null
+            )""";
+
+    private static final String SELECT = "select id, name, username, address, phone, email, created_at, version from passenger";
+
+    private static final String INSERT = "insert into passenger (id, name, username, address, phone, email, created_at, version)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE = "update passenger set name = ?, username = ?, address = ?, phone = ?, email = ?,"
+            + " version = ? where id = ? and version = ?";
+
+    /**
+     * Linhas por lote nas inserções em massa.
+     */
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * Linhas lidas por vez nos streams da exportação.
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    private static final RowMapper<PassengerResponseDTO> RESPONSE = (rs, rowNum) -> new PassengerResponseDTO(
+            rs.getLong("id"), rs.getString("name"), rs.getString("username"), rs.getString("address"),
+            rs.getString("phone"), rs.getString("email"), rs.getObject("created_at", LocalDateTime.class));
+
+    private static final RowMapper<Passenger> PASSENGER = (rs, rowNum) -> {
+        Passenger passenger = new Passenger(rs.getString("name"), rs.getString("username"), rs.getString("address"),
+                rs.getString("phone"), rs.getString("email"));
+        passenger.setId(rs.getLong("id"));
+        passenger.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        passenger.setVersion(rs.getLong("version"));
+        return passenger;
+    };
+
+    private final PassengerShards shards;
+    private final PassengerDirectoryRepository directoryRepository;
+
+    private final List<JdbcTemplate> jdbc = new ArrayList<>();
+    private final List<JdbcTemplate> streamingJdbc = new ArrayList<>();
+    private final List<TransactionTemplate> transactions = new ArrayList<>();
+
+    /**
+     * Cria a tabela {@code passenger} nos shards que ainda não a têm.
+     */
+    public ShardedPassengerRepository(PassengerShards shards, PassengerDirectoryRepository directoryRepository) {
+        this.shards = shards;
+        this.directoryRepository = directoryRepository;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            JdbcTemplate template = new JdbcTemplate(shards.dataSource(shard));
+            template.execute(CREATE_TABLE);
+            JdbcTemplate streaming = new JdbcTemplate(shards.dataSource(shard));
+            streaming.setFetchSize(FETCH_SIZE);
+            jdbc.add(template);
+            streamingJdbc.add(streaming);
+            transactions.add(new TransactionTemplate(new DataSourceTransactionManager(shards.dataSource(shard))));
+        }
+        log.info("Passengers sharded across {} databases", shards.size());
+    }
+
+    @Override
+    public <S extends Passenger> S save(S passenger) {
+        if (passenger.getId() == null) {
+            insert(List.of(passenger));
+        } else {
+            update(passenger);
+        }
+        return passenger;
+    }
+
+    @Override
+    public <S extends Passenger> List<S> saveAll(Iterable<S> passengers) {
+        List<S> all = new ArrayList<>();
+        List<S> inserts = new ArrayList<>();
+        for (S passenger : passengers) {
+            all.add(passenger);
+            if (passenger.getId() == null) {
+                inserts.add(passenger);
+            } else {
+                update(passenger);
+            }
+        }
+        if (!inserts.isEmpty()) {
+            insert(inserts);
+        }
+        return all;
+    }
+
+    /**
+     * Registra os passageiros no diretório (que gera os IDs) e os insere em
+     * lote no shard de cada um.
+     */
+    private void insert(List<? extends Passenger> passengers) {
+        // 1. Diretório: gera os IDs e confere a unicidade entre os shards
+        List<PassengerDirectoryEntry> entries = directoryRepository.saveAllAndFlush(passengers.stream()
+                .map(p -> new PassengerDirectoryEntry(p.getEmail(), p.getUsername(), p.getPhone()))
+                .toList());
+
+        // 2. Agrupa por shard (a precisão do banco é de microssegundos)
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Map<Integer, List<Passenger>> byShard = new TreeMap<>();
+        for (int i = 0; i < passengers.size(); i++) {
+            Passenger passenger = passengers.get(i);
+            passenger.setId(entries.get(i).getId());
+            if (passenger.getCreatedAt() == null) {
+                passenger.setCreatedAt(now);
+            }
+            byShard.computeIfAbsent(shards.shardOf(passenger.getId()), shard -> new ArrayList<>()).add(passenger);
+        }
+
+        // 3. Insere em cada shard, removendo as linhas se a transação do diretório for desfeita
+        byShard.forEach((shard, rows) -> transactions.get(shard).executeWithoutResult(status ->
+                jdbc.get(shard).batchUpdate(INSERT, rows, BATCH_SIZE, (ps, passenger) -> {
+                    ps.setLong(1, passenger.getId());
+                    ps.setString(2, passenger.getName());
+                    ps.setString(3, passenger.getUsername());
+                    ps.setString(4, passenger.getAddress());
+                    ps.setString(5, passenger.getPhone());
+                    ps.setString(6, passenger.getEmail());
+                    ps.setObject(7, passenger.getCreatedAt());
+                    ps.setLong(8, passenger.getVersion());
+                })));
+        afterRollback(() -> byShard.forEach((shard, rows) -> rows.forEach(passenger ->
+                jdbc.get(shard).update("delete from passenger where id = ?", passenger.getId()))));
+    }
+
+    /**
+     * Atualiza o diretório e a linha do shard, conferindo a versão lida.
+     *
+     * @throws ObjectOptimisticLockingFailureException Se o passageiro foi alterado
+     *         ou removido depois de lido.
+     */
+    private void update(Passenger passenger) {
+        long id = passenger.getId();
+        JdbcTemplate shard = jdbc.get(shards.shardOf(id));
+
+        // 1. Diretório (com flush, para a verificação de unicidade)
+        PassengerDirectoryEntry entry = directoryRepository.findById(id)
+                .orElseThrow(() -> new ObjectOptimisticLockingFailureException(Passenger.class, id));
+        entry.setEmail(passenger.getEmail());
+        entry.setUsername(passenger.getUsername());
+        entry.setPhone(passenger.getPhone());
+        directoryRepository.saveAndFlush(entry);
+
+        // 2. Shard, só se a versão ainda for a lida
+        Passenger previous = selectById(shard, id)
+                .orElseThrow(() -> new ObjectOptimisticLockingFailureException(Passenger.class, id));
+        long version = passenger.getVersion();
+        int updated = shard.update(UPDATE, passenger.getName(), passenger.getUsername(), passenger.getAddress(),
+                passenger.getPhone(), passenger.getEmail(), version + 1, id, version);
+        if (updated == 0) {
+            throw new ObjectOptimisticLockingFailureException(Passenger.class, id);
+        }
+        passenger.setVersion(version + 1);
+        afterRollback(() -> shard.update(UPDATE, previous.getName(), previous.getUsername(), previous.getAddress(),
+                previous.getPhone(), previous.getEmail(), version, id, version + 1));
+    }
+
+    @Override
+    public Optional<Passenger> findById(Long id) {
+        return selectById(jdbc.get(shards.shardOf(id)), id);
+    }
+
+    private static Optional<Passenger> selectById(JdbcTemplate shard, long id) {
+        return shard.query(SELECT + " where id = ?", PASSENGER, id).stream().findFirst();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        Integer count = jdbc.get(shards.shardOf(id)).queryForObject(
+                "select count(*) from passenger where id = ?", Integer.class, id);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Trava a linha do passageiro no diretório (compartilhada para criar uma
+     * corrida, exclusiva para removê-lo): no lugar da chave estrangeira, é o que
+     * impede uma corrida de um passageiro removido ao mesmo tempo.
+     */
+    @Override
+    public boolean lockIfExists(Long id, boolean exclusive) {
+        return (exclusive ? directoryRepository.findByIdForUpdate(id) : directoryRepository.findByIdForShare(id))
+                .isPresent();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        JdbcTemplate shard = jdbc.get(shards.shardOf(id));
+        directoryRepository.deleteById(id);
+        directoryRepository.flush();
+
+        Optional<Passenger> previous = selectById(shard, id);
+        shard.update("delete from passenger where id = ?", id);
+        previous.ifPresent(passenger -> afterRollback(() -> shard.update(INSERT, passenger.getId(),
+                passenger.getName(), passenger.getUsername(), passenger.getAddress(), passenger.getPhone(),
+                passenger.getEmail(), passenger.getCreatedAt(), passenger.getVersion())));
+    }
+
+    @Override
+    public long count() {
+        return directoryRepository.count();
+    }
+
+    @Override
+    public List<PassengerUniqueKeys> findUniqueKeyConflicts(String email, String username, String phone) {
+        return directoryRepository.findUniqueKeyConflicts(email, username, phone);
+    }
+
+    @Override
+    public Optional<PassengerResponseDTO> findResponseById(Long id) {
+        return jdbc.get(shards.shardOf(id)).query(SELECT + " where id = ?", RESPONSE, id).stream().findFirst();
+    }
+
+    @Override
+    public Optional<PassengerResponseDTO> findResponseByPhone(String phone) {
+        return directoryRepository.findIdByPhone(phone).flatMap(this::findResponseById);
+    }
+
+    /**
+     * Busca a página em todos os shards (cada um devolve até {@code limit}
+     * passageiros com ID maior que {@code after}) e fica com os {@code limit}
+     * menores IDs.
+     */
+    @Override
+    public List<PassengerResponseDTO> findResponsePage(Long after, Limit limit) {
+        String sql = SELECT + " where id > ? order by id" + (limit.isLimited() ? " limit " + limit.max() : "");
+        List<List<PassengerResponseDTO>> pages = shards.scatter("page",
+                shard -> jdbc.get(shard).query(sql, RESPONSE, after));
+        Stream<PassengerResponseDTO> merged = pages.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(PassengerResponseDTO::id));
+        return (limit.isLimited() ? merged.limit(limit.max()) : merged).toList();
+    }
+
+    /**
+     * Intercala por ID os streams de todos os shards (cada um em ordem de ID),
+     * lendo de cada shard em blocos de {@value #FETCH_SIZE} linhas. Usa uma
+     * conexão de cada shard até o stream ser fechado.
+     */
+    @Override
+    public Stream<PassengerResponseDTO> streamAllResponses() {
+        List<Stream<PassengerResponseDTO>> streams = new ArrayList<>(shards.size());
+        try {
+            for (JdbcTemplate shard : streamingJdbc) {
+                streams.add(shard.queryForStream(SELECT + " order by id", RESPONSE));
+            }
+        } catch (RuntimeException ex) {
+            streams.forEach(Stream::close);
+            throw ex;
+        }
+        Iterator<PassengerResponseDTO> merged = new MergingIterator(streams);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged,
+                Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> streams.forEach(Stream::close));
+    }
+
+    @Override
+    public Stream<String> streamAllEmails() {
+        return directoryRepository.streamAllEmails();
+    }
+
+    @Override
+    public Stream<String> streamAllUsernames() {
+        return directoryRepository.streamAllUsernames();
+    }
+
+    @Override
+    public Stream<String> streamAllPhones() {
+        return directoryRepository.streamAllPhones();
+    }
+
+    /**
+     * Executa a compensação se a transação atual for desfeita.
+     */
+    private static void afterRollback(Runnable compensation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                try {
+                    compensation.run();
+                } catch (RuntimeException ex) {
+                    log.error("Failed to undo a passenger shard write after rollback", ex);
+                }
+            }
+        });
+    }
+
+    /**
+     * Intercala iteradores ordenados por ID, mantendo o próximo passageiro de
+     * cada shard em uma fila de prioridade.
+     */
+    private static final class MergingIterator implements Iterator<PassengerResponseDTO> {
+
+        private record Head(PassengerResponseDTO passenger, Iterator<PassengerResponseDTO> rest) {
+        }
+
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(
+                Comparator.comparing((Head head) -> head.passenger().id()));
+
+        private MergingIterator(List<Stream<PassengerResponseDTO>> streams) {
+            for (Stream<PassengerResponseDTO> stream : streams) {
+                advance(stream.iterator());
+            }
+        }
+
+        private void advance(Iterator<PassengerResponseDTO> iterator) {
+            if (iterator.hasNext()) {
+                heads.add(new Head(iterator.next(), iterator));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public PassengerResponseDTO next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            advance(head.rest());
+            return head.passenger();
+        }
+    }
+}
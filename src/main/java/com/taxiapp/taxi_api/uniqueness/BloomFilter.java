@@ -0,0 +1,135 @@
+package com.taxiapp.taxi_api.uniqueness;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de tamanho fixo para {@link String}s.
+ *
+ * <p>Responde "certamente ausente" ou "talvez presente": não há falsos negativos,
+ * e a taxa de falsos positivos fica perto de {@code falsePositiveRate} enquanto
+ * o número de inserções não passar de {@code expectedInsertions}. Elementos não
+ * podem ser removidos.</p>
+ *
+ * <p>Os bits ficam em um {@link AtomicLongArray}, de modo que inserções e
+ * consultas concorrentes são seguras sem bloqueio. Os {@code k} índices de cada
+ * elemento são derivados de dois hashes de 64 bits (Kirsch-Mitzenmacher).</p>
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final AtomicLong bitsSet = new AtomicLong();
+    private final AtomicLong insertions = new AtomicLong();
+
+    /**
+     * Cria um filtro dimensionado para a capacidade e a taxa de falsos positivos desejadas.
+     *
+     * @param expectedInsertions Número de elementos previstos.
+     * @param falsePositiveRate  Taxa de falsos positivos desejada (entre 0 e 1, exclusivo).
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive.");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1.");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitSize = (long) wordCount * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Insere um elemento no filtro.
+     *
+     * @param value O elemento.
+     */
+    public void put(String value) {
+        long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            setBit(Math.floorMod(hash1 + i * hash2, bitSize));
+        }
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * Verifica se um elemento pode estar no filtro.
+     *
+     * @param value O elemento.
+     * @return {@code false} se o elemento certamente nunca foi inserido,
+     * {@code true} se ele talvez tenha sido.
+     */
+    public boolean mightContain(String value) {
+        long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitSize);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Taxa de falsos positivos estimada a partir da fração de bits ligados.
+     *
+     * @return A probabilidade estimada de um elemento ausente ser reportado como presente.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) bitsSet.get() / bitSize, hashFunctions);
+    }
+
+    /**
+     * Número de inserções feitas (inclui repetições do mesmo elemento).
+     *
+     * @return A quantidade de chamadas a {@link #put(String)}.
+     */
+    public long insertions() {
+        return insertions.get();
+    }
+
+    /**
+     * Memória ocupada pelo vetor de bits.
+     *
+     * @return O tamanho em bytes.
+     */
+    public long sizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    private void setBit(long bit) {
+        int index = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long word;
+        do {
+            word = words.get(index);
+            if ((word & mask) != 0) {
+                return;
+            }
+        } while (!words.compareAndSet(index, word, word | mask));
+        bitsSet.incrementAndGet();
+    }
+
+    /**
+     * Hash de 64 bits dos caracteres da string (FNV-1a com semente, finalizado pelo mix do MurmurHash3).
+     */
+    private static long hash(String value, long seed) {
+        long h = 0xCBF29CE484222325L ^ seed;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
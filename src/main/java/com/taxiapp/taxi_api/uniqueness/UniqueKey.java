@@ -0,0 +1,28 @@
+package com.taxiapp.taxi_api.uniqueness;
+
+/**
+ * Campos únicos acompanhados pelos {@link UniqueKeyFilters}.
+ */
+public enum UniqueKey {
+
+    PASSENGER_EMAIL("passenger.email"),
+    PASSENGER_USERNAME("passenger.username"),
+    PASSENGER_PHONE("passenger.phone"),
+    DRIVER_LICENSE_NUMBER("driver.licenseNumber"),
+    DRIVER_VEHICLE_PLATE("driver.vehiclePlate");
+
+    private final String tag;
+
+    UniqueKey(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Nome usado na tag {@code key} das métricas.
+     *
+     * @return O nome do campo no formato {@code entidade.campo}.
+     */
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,315 @@
+package com.taxiapp.taxi_api.uniqueness;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taxiapp.taxi_api.repository.DriverRepository;
+import com.taxiapp.taxi_api.repository.PassengerStore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Filtros de Bloom dos campos únicos de passageiros e motoristas, usados como
+ * pré-checagem antes das consultas de unicidade.
+ *
+ * <p>Uma resposta "certamente ausente" de {@link #mightContain(UniqueKey, String)}
+ * dispensa a ida ao banco; "talvez presente" exige a confirmação por consulta.
+ * Os filtros são carregados do banco quando a aplicação termina de iniciar e,
+ * até lá, sempre respondem "talvez presente".</p>
+ *
+ * <p>Filtros de Bloom não permitem remoção: valores apagados ou substituídos
+ * continuam no filtro e só geram falsos positivos. Eles são contados como
+ * "obsoletos" e, quando passam de {@code taxi.uniqueness.rebuild-stale-ratio}
+ * das inserções (com um mínimo de {@value #MIN_STALE_FOR_REBUILD}), ou quando as
+ * inserções excedem a capacidade do filtro, o filtro é reconstruído a partir do
+ * banco em segundo plano.</p>
+ *
+ * <p>Os filtros são locais a esta instância e podem não enxergar registros
+ * gravados por outras instâncias ou diretamente no banco. As restrições únicas
+ * do banco, tratadas pelo
+ * {@link com.taxiapp.taxi_api.exception.GlobalExceptionHandler#handleDataIntegrity},
+ * continuam sendo a garantia final.</p>
+ *
+ * <p>Métricas, com a tag {@code key}: {@code taxi.uniqueness.filter.expected.fpp}
+ * (taxa de falsos positivos estimada), {@code taxi.uniqueness.filter.memory}
+ * (bytes), {@code taxi.uniqueness.filter.entries}, {@code taxi.uniqueness.filter.stale}
+ * e o contador {@code taxi.uniqueness.filter.checks} por {@code result}
+ * ({@code negative}, {@code true_positive}, {@code false_positive}), do qual se
+ * obtém a taxa de falsos positivos observada.</p>
+ */
+@Component
+public class UniqueKeyFilters {
+
+    private static final Logger log = LoggerFactory.getLogger(UniqueKeyFilters.class);
+
+    /**
+     * Mínimo de valores obsoletos para disparar uma reconstrução, evitando
+     * reconstruções a cada remoção em tabelas pequenas.
+     */
+    private static final long MIN_STALE_FOR_REBUILD = 1000;
+
+    private final Map<UniqueKey, Slot> slots = new EnumMap<>(UniqueKey.class);
+
+    private final PassengerStore passengerStore;
+    private final DriverRepository driverRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Executor das reconstruções (uma de cada vez, fora das requisições).
+     */
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "unique-key-filter-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final double rebuildStaleRatio;
+
+    /**
+     * Construtor para Injeção de Dependência.
+     */
+    public UniqueKeyFilters(PassengerStore passengerStore, DriverRepository driverRepository,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${taxi.uniqueness.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${taxi.uniqueness.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${taxi.uniqueness.rebuild-stale-ratio:0.1}") double rebuildStaleRatio) {
+        this.passengerStore = passengerStore;
+        this.driverRepository = driverRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildStaleRatio = rebuildStaleRatio;
+
+        for (UniqueKey key : UniqueKey.values()) {
+            Slot slot = new Slot(key, meterRegistry);
+            slots.put(key, slot);
+            Gauge.builder("taxi.uniqueness.filter.expected.fpp", slot,
+                    s -> s.filter == null ? 1.0 : s.filter.expectedFalsePositiveRate())
+                    .description("Estimated false positive rate of the Bloom filter")
+                    .tag("key", key.tag()).register(meterRegistry);
+            Gauge.builder("taxi.uniqueness.filter.memory", slot,
+                    s -> s.filter == null ? 0 : s.filter.sizeInBytes())
+                    .description("Memory used by the Bloom filter bit array")
+                    .baseUnit("bytes")
+                    .tag("key", key.tag()).register(meterRegistry);
+            Gauge.builder("taxi.uniqueness.filter.entries", slot,
+                    s -> s.filter == null ? 0 : s.filter.insertions())
+                    .description("Values inserted in the Bloom filter")
+                    .tag("key", key.tag()).register(meterRegistry);
+            Gauge.builder("taxi.uniqueness.filter.stale", slot, s -> s.stale.get())
+                    .description("Deleted or replaced values still present in the Bloom filter")
+                    .tag("key", key.tag()).register(meterRegistry);
+        }
+    }
+
+    /**
+     * Verifica se um valor pode já estar em uso.
+     *
+     * @param key   O campo único.
+     * @param value O valor a verificar.
+     * @return {@code false} se o valor certamente não está em uso (a consulta
+     * ao banco pode ser dispensada); {@code true} se é preciso confirmar no banco.
+     */
+    public boolean mightContain(UniqueKey key, String value) {
+        Slot slot = slots.get(key);
+        BloomFilter filter = slot.filter;
+        if (filter == null || value == null || filter.mightContain(normalize(value))) {
+            return true;
+        }
+        slot.negatives.increment();
+        return false;
+    }
+
+    /**
+     * Registra o resultado da consulta ao banco feita após um "talvez presente",
+     * alimentando a métrica de falsos positivos observados.
+     *
+     * @param key    O campo único.
+     * @param exists Se o banco confirmou que o valor está em uso.
+     */
+    public void confirm(UniqueKey key, boolean exists) {
+        Slot slot = slots.get(key);
+        if (slot.filter != null) {
+            (exists ? slot.truePositives : slot.falsePositives).increment();
+        }
+    }
+
+    /**
+     * Registra um valor que passou a estar em uso.
+     *
+     * @param key   O campo único.
+     * @param value O novo valor.
+     */
+    public void add(UniqueKey key, String value) {
+        if (value == null) {
+            return;
+        }
+        Slot slot = slots.get(key);
+        String normalized = normalize(value);
+        BloomFilter pending = slot.pending;
+        if (pending != null) {
+            pending.put(normalized);
+        }
+        BloomFilter filter = slot.filter;
+        if (filter != null) {
+            filter.put(normalized);
+            if (filter.insertions() > slot.capacity) {
+                scheduleRebuild(slot);
+            }
+        }
+    }
+
+    /**
+     * Registra a troca de valor de um campo único (ex: atualização de cadastro).
+     * Nada é feito se o valor não mudou.
+     *
+     * @param key      O campo único.
+     * @param oldValue O valor anterior (passa a ser obsoleto no filtro).
+     * @param newValue O novo valor.
+     */
+    public void replace(UniqueKey key, String oldValue, String newValue) {
+        if (oldValue != null && newValue != null && normalize(oldValue).equals(normalize(newValue))) {
+            return;
+        }
+        add(key, newValue);
+        markStale(key);
+    }
+
+    /**
+     * Registra que um valor deixou de estar em uso (ex: registro deletado).
+     *
+     * @param key O campo único.
+     */
+    public void markStale(UniqueKey key) {
+        Slot slot = slots.get(key);
+        long stale = slot.stale.incrementAndGet();
+        BloomFilter filter = slot.filter;
+        if (filter != null && stale >= MIN_STALE_FOR_REBUILD && stale > rebuildStaleRatio * filter.insertions()) {
+            scheduleRebuild(slot);
+        }
+    }
+
+    /**
+     * Carrega todos os filtros a partir do banco, assim que a aplicação termina de iniciar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        for (Slot slot : slots.values()) {
+            if (slot.rebuilding.compareAndSet(false, true)) {
+                rebuild(slot);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void scheduleRebuild(Slot slot) {
+        if (slot.rebuilding.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> rebuild(slot));
+        }
+    }
+
+    /**
+     * Reconstrói o filtro de um campo. Enquanto o banco é lido, as novas inserções
+     * vão tanto para o filtro atual quanto para o novo ({@code pending}).
+     */
+    private void rebuild(Slot slot) {
+        try {
+            BloomFilter current = slot.filter;
+            long capacity = Math.max(expectedInsertions, current == null ? 0 : 2 * current.insertions());
+            BloomFilter fresh = new BloomFilter(capacity, falsePositiveRate);
+            slot.pending = fresh;
+            long staleBefore = slot.stale.get();
+
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> values = loader(slot.key).get()) {
+                    values.forEach(value -> fresh.put(normalize(value)));
+                }
+            });
+
+            slot.capacity = capacity;
+            slot.filter = fresh;
+            slot.stale.addAndGet(-staleBefore);
+            log.info("Unique key filter {} loaded with {} values ({} bytes)",
+                    slot.key.tag(), fresh.insertions(), fresh.sizeInBytes());
+        } catch (RuntimeException e) {
+            log.error("Failed to load unique key filter {}", slot.key.tag(), e);
+        } finally {
+            slot.pending = null;
+            slot.rebuilding.set(false);
+        }
+    }
+
+    private Supplier<Stream<String>> loader(UniqueKey key) {
+        return switch (key) {
+            case PASSENGER_EMAIL -> () -> passengerStore.streamAllEmails();
+            case PASSENGER_USERNAME -> () -> passengerStore.streamAllUsernames();
+            case PASSENGER_PHONE -> () -> passengerStore.streamAllPhones();
+            case DRIVER_LICENSE_NUMBER -> () -> driverRepository.streamAllLicenseNumbers();
+            case DRIVER_VEHICLE_PLATE -> () -> driverRepository.streamAllVehiclePlates();
+        };
+    }
+
+    /**
+     * Normaliza o valor como a collation padrão do MySQL, que não diferencia maiúsculas.
+     */
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Estado do filtro de um campo único.
+     */
+    private static final class Slot {
+
+        private final UniqueKey key;
+        private final AtomicLong stale = new AtomicLong();
+        private final AtomicBoolean rebuilding = new AtomicBoolean();
+        private final Counter negatives;
+        private final Counter truePositives;
+        private final Counter falsePositives;
+        private volatile BloomFilter filter;
+        private volatile BloomFilter pending;
+        private volatile long capacity;
+
+        private Slot(UniqueKey key, MeterRegistry meterRegistry) {
+            this.key = key;
+            this.negatives = checks(meterRegistry, key, "negative");
+            this.truePositives = checks(meterRegistry, key, "true_positive");
+            this.falsePositives = checks(meterRegistry, key, "false_positive");
+        }
+
+        private static Counter checks(MeterRegistry meterRegistry, UniqueKey key, String result) {
+            return Counter.builder("taxi.uniqueness.filter.checks")
+                    .description("Bloom filter pre-checks by outcome")
+                    .tag("key", key.tag())
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.taxiapp.taxi_api.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.taxiapp.taxi_api.dispatch.HungarianAssignmentSolver;
+import com.taxiapp.taxi_api.geo.GeoUtils;
+
+/**
+ * Mede o tempo de solução do {@link HungarianAssignmentSolver} para matrizes
+ * quadradas corridas x motoristas, com custos iguais à distância de busca entre
+ * pontos aleatórios de uma área de ~20 km x 20 km.
+ *
+ * <p>O resultado para {@code size = 2000} deve ficar abaixo da janela padrão do
+ * despacho em lote ({@code taxi.dispatch.batch-window-ms = 2000}).</p>
+ *
+ * <p>Execução: {@code java -cp <classpath de teste> com.taxiapp.taxi_api.benchmark.AssignmentSolverBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AssignmentSolverBenchmark {
+
+    @Param({"500", "1000", "2000"})
+    private int size;
+
+    private double[] costs;
+
+    private final HungarianAssignmentSolver solver = new HungarianAssignmentSolver();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        double[] rideLat = new double[size];
+        double[] rideLon = new double[size];
+        double[] driverLat = new double[size];
+        double[] driverLon = new double[size];
+        for (int i = 0; i < size; i++) {
+            rideLat[i] = -23.65 + random.nextDouble() * 0.18;
+            rideLon[i] = -46.75 + random.nextDouble() * 0.18;
+            driverLat[i] = -23.65 + random.nextDouble() * 0.18;
+            driverLon[i] = -46.75 + random.nextDouble() * 0.18;
+        }
+        costs = new double[size * size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                costs[r * size + c] = GeoUtils.haversineMeters(rideLat[r], rideLon[r], driverLat[c], driverLon[c]);
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] solve() {
+        return solver.solve(costs, size, size);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AssignmentSolverBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,75 @@
+package com.taxiapp.taxi_api.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.taxiapp.taxi_api.TaxiApiApplication;
+
+/**
+ * Sobe o contexto completo da aplicação sobre um H2 em memória (modo MySQL),
+ * para benchmarks que precisam passar pelos repositórios e serviços reais.
+ *
+ * <p>A configuração do banco está no perfil {@value #PROFILE}
+ * ({@code application-benchmark.properties}). Por padrão o servidor web não é
+ * iniciado; as estatísticas do Hibernate ficam habilitadas, para que os
+ * benchmarks possam contar as idas ao banco.</p>
+ */
+final class BenchmarkContexts {
+
+    /**
+     * Perfil Spring com o banco H2 em memória.
+     */
+    static final String PROFILE = "benchmark";
+
+    private BenchmarkContexts() {
+    }
+
+    /**
+     * Inicia a aplicação em um banco H2 exclusivo.
+     *
+     * @param database Nome do banco em memória (um por benchmark).
+     * @param extra    Propriedades adicionais no formato {@code chave=valor}.
+     * @return O contexto iniciado; deve ser fechado no {@code @TearDown}.
+     */
+    static ConfigurableApplicationContext startOnH2(String database, String... extra) {
+        return start(database, WebApplicationType.NONE, context -> { }, extra);
+    }
+
+    /**
+     * Inicia a aplicação com o servidor web (em porta aleatória, ver
+     * {@code local.server.port}) em um banco H2 exclusivo.
+     *
+     * @param database    Nome do banco em memória (um por benchmark).
+     * @param initializer Ajustes no contexto antes do refresh (ex: {@code BeanPostProcessor}s do benchmark).
+     * @param extra       Propriedades adicionais no formato {@code chave=valor}.
+     * @return O contexto iniciado; deve ser fechado ao final.
+     */
+    static ConfigurableApplicationContext startWebOnH2(String database,
+            ApplicationContextInitializer<ConfigurableApplicationContext> initializer, String... extra) {
+        return start(database, WebApplicationType.SERVLET, initializer, extra);
+    }
+
+    private static ConfigurableApplicationContext start(String database, WebApplicationType webApplicationType,
+            ApplicationContextInitializer<ConfigurableApplicationContext> initializer, String... extra) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.profiles.active", PROFILE);
+        properties.put("taxi.benchmark.database", database);
+        for (String property : extra) {
+            int separator = property.indexOf('=');
+            properties.put(property.substring(0, separator), property.substring(separator + 1));
+        }
+        // Passadas como argumentos de linha de comando para sobrepor os arquivos .properties
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(TaxiApiApplication.class)
+                .web(webApplicationType)
+                .initializers(initializer)
+                .run(args);
+    }
+}
@@ -0,0 +1,132 @@
+package com.taxiapp.taxi_api.benchmark;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taxiapp.taxi_api.dto.CursorPageDTO;
+import com.taxiapp.taxi_api.dto.DriverRequestDTO;
+import com.taxiapp.taxi_api.dto.DriverResponseDTO;
+import com.taxiapp.taxi_api.dto.PassengerRequestDTO;
+import com.taxiapp.taxi_api.dto.PassengerResponseDTO;
+
+/**
+ * Mede a serialização Jackson dos DTOs de resposta (um item e uma página de
+ * 50 motoristas) e a leitura dos corpos de requisição.
+ *
+ * <p>O {@link ObjectMapper} é montado pelo {@link Jackson2ObjectMapperBuilder}
+ * com as mesmas opções padrão do Spring Boot (datas em ISO-8601, módulos
+ * registrados automaticamente), como o usado pelos controllers. Os
+ * {@link ObjectWriter}/{@link ObjectReader} são criados uma única vez.</p>
+ *
+ * <p>Execução: {@code java -cp <classpath de teste> com.taxiapp.taxi_api.benchmark.JsonSerializationBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private ObjectWriter driverWriter;
+    private ObjectWriter passengerWriter;
+    private ObjectWriter driverPageWriter;
+    private ObjectReader driverRequestReader;
+    private ObjectReader passengerRequestReader;
+
+    private DriverResponseDTO driver;
+    private PassengerResponseDTO passenger;
+    private CursorPageDTO<DriverResponseDTO> driverPage;
+    private byte[] driverRequestJson;
+    private byte[] passengerRequestJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        driverWriter = objectMapper.writerFor(DriverResponseDTO.class);
+        passengerWriter = objectMapper.writerFor(PassengerResponseDTO.class);
+        driverPageWriter = objectMapper.writerFor(new TypeReference<CursorPageDTO<DriverResponseDTO>>() { });
+        driverRequestReader = objectMapper.readerFor(DriverRequestDTO.class);
+        passengerRequestReader = objectMapper.readerFor(PassengerRequestDTO.class);
+
+        driver = driver(42);
+        passenger = new PassengerResponseDTO(7L, "Bruno Lima", "brunolima", "Av. Paulista, 1000",
+                "11977776666", "bruno@taxi.app", LocalDateTime.of(2025, 1, 15, 10, 30));
+        List<DriverResponseDTO> items = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            items.add(driver(i + 1));
+        }
+        driverPage = new CursorPageDTO<>(items, (long) PAGE_SIZE);
+
+        driverRequestJson = objectMapper.writeValueAsBytes(
+                new DriverRequestDTO("Ana Souza", "L00000042", "Rua Augusta, 1500", "11988887777", "ABC1D23"));
+        passengerRequestJson = objectMapper.writeValueAsBytes(
+                new PassengerRequestDTO("Bruno Lima", "brunolima", "Av. Paulista, 1000", "11977776666", "bruno@taxi.app"));
+    }
+
+    private static DriverResponseDTO driver(long id) {
+        return new DriverResponseDTO(id, "Driver " + id, String.format("L%08d", id), "Rua Augusta, " + id,
+                String.format("118%08d", id), String.format("P%06d", id), true, -23.5614 + id * 1e-4, -46.6559);
+    }
+
+    @Benchmark
+    public byte[] writeDriver() throws IOException {
+        return driverWriter.writeValueAsBytes(driver);
+    }
+
+    @Benchmark
+    public byte[] writePassenger() throws IOException {
+        return passengerWriter.writeValueAsBytes(passenger);
+    }
+
+    @Benchmark
+    public byte[] writeDriverPage() throws IOException {
+        return driverPageWriter.writeValueAsBytes(driverPage);
+    }
+
+    @Benchmark
+    public DriverRequestDTO readDriverRequest() throws IOException {
+        return driverRequestReader.readValue(driverRequestJson);
+    }
+
+    @Benchmark
+    public PassengerRequestDTO readPassengerRequest() throws IOException {
+        return passengerRequestReader.readValue(passengerRequestJson);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
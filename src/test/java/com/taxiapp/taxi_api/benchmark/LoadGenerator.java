@@ -0,0 +1,387 @@
+package com.taxiapp.taxi_api.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taxiapp.taxi_api.TaxiApiApplication;
+
+/**
+ * Gerador de carga HTTP para a API: reproduz uma mistura de cadastros de
+ * passageiros, consultas e atualizações de motoristas e reporta vazão e
+ * latência (p50/p99/p99.9) por operação.
+ *
+ * <p>Sem {@code --url}, a aplicação é iniciada no mesmo processo com o perfil
+ * {@code h2} (banco em memória com dados sintéticos) em uma porta aleatória.
+ * Para medições mais fiéis, inicie a aplicação separadamente
+ * ({@code ./mvnw spring-boot:run -Dspring-boot.run.profiles=h2}) e passe
+ * {@code --url=http://host:8080}; os motoristas existentes são descobertos
+ * pela listagem paginada. Cada cliente virtual envia {@code X-Client-Id: load-<n>};
+ * a aplicação separada precisa aceitá-los em {@code taxi.api.trusted-client-ids}
+ * (ou rodar com {@code taxi.ratelimit.enabled=false}), senão todos dividem o
+ * limite de requisições do mesmo IP.</p>
+ *
+ * <p>Parâmetros (propriedades de sistema):</p>
+ * <ul>
+ *   <li>{@code clients} (64): clientes concorrentes, cada um em uma thread virtual;</li>
+ *   <li>{@code seconds} (60) e {@code warmup} (10): duração da medição e do aquecimento;</li>
+ *   <li>{@code rate} (0): vazão alvo total em req/s. Com 0, cada cliente envia a próxima
+ *   requisição assim que recebe a resposta (malha fechada). Com um alvo, as requisições
+ *   seguem uma agenda fixa e a latência é medida a partir do horário previsto de envio,
+ *   de modo que atrasos do servidor não escondem a fila formada (coordinated omission);</li>
+ *   <li>{@code mix}: pesos das operações, ex: {@code signup:5,driverById:50,nearest:20,location:20,driverUpdate:5}
+ *   ({@code locationBatch}, fora da mistura padrão, envia pings de GPS em lote);</li>
+ *   <li>{@code pingsPerBatch} (50): posições por requisição de {@code locationBatch}.</li>
+ * </ul>
+ *
+ * <p>Execução: {@code ./mvnw -Pload-test -DskipTests verify} ou
+ * {@code java -cp <classpath de teste> com.taxiapp.taxi_api.benchmark.LoadGenerator [--url=...]}</p>
+ */
+public class LoadGenerator {
+
+    /**
+     * Operações da mistura de carga.
+     */
+    enum Operation {
+        SIGNUP("signup", "POST /api/passengers"),
+        DRIVER_BY_ID("driverById", "GET  /api/drivers/{id}"),
+        NEAREST("nearest", "GET  /api/drivers/nearest"),
+        LOCATION("location", "PUT  /api/drivers/{id}/location"),
+        LOCATION_BATCH("locationBatch", "POST /api/drivers/locations"),
+        DRIVER_UPDATE("driverUpdate", "PUT  /api/drivers/{id}");
+
+        private final String key;
+        private final String label;
+
+        Operation(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+    }
+
+    /**
+     * Dados de um motorista existente, necessários para montar as requisições.
+     */
+    record KnownDriver(long id, String licenseNumber, String vehiclePlate, String phone) {
+    }
+
+    private static final String DEFAULT_MIX = "signup:5,driverById:50,nearest:20,location:20,driverUpdate:5";
+    private static final double CENTER_LATITUDE = -23.5505;
+    private static final double CENTER_LONGITUDE = -46.6333;
+    private static final double RADIUS_DEGREES = 0.15;
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final List<KnownDriver> drivers;
+    private final Operation[] schedule;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+
+    /**
+     * Prefixo único por execução para os cadastros (e-mail, usuário e telefone não se repetem entre execuções).
+     */
+    private final long runId = System.currentTimeMillis() % 100_000;
+    private final AtomicLong signups = new AtomicLong();
+    private final int pingsPerBatch = Integer.getInteger("pingsPerBatch", 50);
+
+    private volatile boolean recording;
+
+    LoadGenerator(HttpClient http, String baseUrl, List<KnownDriver> drivers, Operation[] schedule) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.drivers = drivers;
+        this.schedule = schedule;
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_NANOS, 3));
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("clients", 64);
+        int seconds = Integer.getInteger("seconds", 60);
+        int warmup = Integer.getInteger("warmup", 10);
+        double rate = Double.parseDouble(System.getProperty("rate", "0"));
+        Operation[] schedule = schedule(System.getProperty("mix", DEFAULT_MIX));
+
+        // URL da aplicação: "--url=http://host:8080" ou apenas "http://host:8080"
+        String url = null;
+        for (String arg : args) {
+            if (!arg.isBlank()) {
+                url = arg.replaceFirst("^--url=", "").replaceAll("/+$", "");
+            }
+        }
+
+        ConfigurableApplicationContext context = null;
+        if (url == null) {
+            // Cada cliente virtual é um identificador confiável, com seu próprio limite de requisições
+            String clientIds = IntStream.range(0, clients).mapToObj(client -> "load-" + client)
+                    .collect(Collectors.joining(","));
+            context = new SpringApplicationBuilder(TaxiApiApplication.class)
+                    .run("--spring.profiles.active=h2", "--server.port=0", "--logging.level.root=WARN",
+                            "--taxi.api.trusted-client-ids=" + clientIds);
+            url = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient http = HttpClient.newBuilder()
+                        .executor(executor)
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build()) {
+            awaitReadiness(http, url);
+            List<KnownDriver> drivers = discoverDrivers(http, url);
+            if (drivers.isEmpty()) {
+                throw new IllegalStateException("No drivers found at " + url + "; seed the database first.");
+            }
+            System.out.printf("Target %s, %d drivers, clients=%d, rate=%s, warmup=%ds, seconds=%d%n",
+                    url, drivers.size(), clients, rate > 0 ? rate + " req/s" : "closed loop", warmup, seconds);
+
+            new LoadGenerator(http, url, drivers, schedule).run(executor, clients, rate, warmup, seconds);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private void run(ExecutorService executor, int clients, double rate, int warmup, int seconds) throws Exception {
+        long start = System.nanoTime();
+        long recordFrom = start + TimeUnit.SECONDS.toNanos(warmup);
+        long deadline = recordFrom + TimeUnit.SECONDS.toNanos(seconds);
+        // Intervalo entre envios de um mesmo cliente (0 = malha fechada)
+        long intervalNanos = rate > 0 ? (long) (clients * 1_000_000_000L / rate) : 0;
+
+        List<Future<?>> futures = new ArrayList<>(clients);
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            futures.add(executor.submit(() -> client(client, start, intervalNanos, deadline)));
+        }
+        LockSupport.parkNanos(recordFrom - System.nanoTime());
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(counter -> counter.set(0));
+        recording = true;
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        recording = false;
+        report(seconds);
+    }
+
+    private void client(int client, long start, long intervalNanos, long deadline) {
+        SplittableRandom random = new SplittableRandom(client);
+        // Clientes defasados entre si para que a agenda não envie tudo no mesmo instante
+        long intended = start + (intervalNanos > 0 ? random.nextLong(intervalNanos) : 0);
+        while (true) {
+            if (intervalNanos > 0) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                intended = System.nanoTime();
+            }
+            if (intended >= deadline) {
+                return;
+            }
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            boolean ok;
+            try {
+                // Cada cliente virtual é um integrador distinto para o limite de requisições da API
+                HttpRequest request = HttpRequest.newBuilder(request(operation, random), (name, value) -> true)
+                        .header("X-Client-Id", "load-" + client).build();
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() < 400;
+            } catch (Exception e) {
+                ok = false;
+            }
+            if (recording) {
+                recorders.get(operation).recordValue(Math.min(System.nanoTime() - intended, HIGHEST_TRACKABLE_NANOS));
+                if (!ok) {
+                    errors.get(operation).incrementAndGet();
+                }
+            }
+            intended += intervalNanos;
+        }
+    }
+
+    private HttpRequest request(Operation operation, SplittableRandom random) {
+        KnownDriver driver = drivers.get(random.nextInt(drivers.size()));
+        return switch (operation) {
+            case SIGNUP -> {
+                long n = signups.incrementAndGet();
+                String json = String.format("{\"name\":\"Load Test %d\",\"username\":\"load%d_%d\","
+                        + "\"address\":\"Rua Augusta, %d\",\"phone\":\"9%05d%09d\",\"email\":\"load%d_%d@taxi.app\"}",
+                        n, runId, n, n % 3000, runId, n, runId, n);
+                yield post("/api/passengers", json);
+            }
+            case DRIVER_BY_ID -> HttpRequest.newBuilder(uri("/api/drivers/" + driver.id())).GET().build();
+            case NEAREST -> HttpRequest.newBuilder(uri(String.format("/api/drivers/nearest?lat=%.6f&lon=%.6f&k=5",
+                    latitude(random), longitude(random)))).GET().build();
+            case LOCATION -> put("/api/drivers/" + driver.id() + "/location",
+                    String.format("{\"latitude\":%.6f,\"longitude\":%.6f}", latitude(random), longitude(random)));
+            case LOCATION_BATCH -> {
+                StringBuilder json = new StringBuilder("[");
+                for (int i = 0; i < pingsPerBatch; i++) {
+                    KnownDriver pinged = drivers.get(random.nextInt(drivers.size()));
+                    json.append(i == 0 ? "" : ",").append(String.format(
+                            "{\"driverId\":%d,\"latitude\":%.6f,\"longitude\":%.6f}",
+                            pinged.id(), latitude(random), longitude(random)));
+                }
+                yield post("/api/drivers/locations", json.append(']').toString());
+            }
+            case DRIVER_UPDATE -> put("/api/drivers/" + driver.id(), String.format(
+                    "{\"name\":\"Driver %d\",\"licenseNumber\":\"%s\",\"address\":\"Rua Augusta, %d\","
+                            + "\"phone\":\"%s\",\"vehiclePlate\":\"%s\"}",
+                    driver.id(), driver.licenseNumber(), random.nextInt(1, 3000), driver.phone(), driver.vehiclePlate()));
+        };
+    }
+
+    private void report(int seconds) {
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        long totalErrors = 0;
+        System.out.printf("%n%-32s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorders.get(operation).getIntervalHistogram();
+            long operationErrors = errors.get(operation).get();
+            if (histogram.getTotalCount() > 0) {
+                print(operation.label, histogram, operationErrors, seconds);
+            }
+            total.add(histogram);
+            totalErrors += operationErrors;
+        }
+        print("total", total, totalErrors, seconds);
+    }
+
+    private static void print(String label, Histogram histogram, long errors, int seconds) {
+        System.out.printf("%-32s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", label, histogram.getTotalCount(), errors,
+                histogram.getTotalCount() / (double) seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Espera a aplicação ficar pronta ({@code /actuator/health/readiness}), o que no
+     * perfil {@code h2} só acontece depois da carga dos dados sintéticos. Servidores
+     * sem o endpoint de prontidão (404) são considerados prontos.
+     */
+    private static void awaitReadiness(HttpClient http, String url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/actuator/health/readiness")).GET().build();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            try {
+                int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status == 200 || status == 404) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Aplicação ainda subindo
+            }
+            TimeUnit.SECONDS.sleep(1);
+        }
+        throw new IllegalStateException("Application at " + url + " did not become ready.");
+    }
+
+    /**
+     * Lê todos os motoristas pela listagem paginada por cursor.
+     */
+    private static List<KnownDriver> discoverDrivers(HttpClient http, String url) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<KnownDriver> drivers = new ArrayList<>();
+        long after = 0;
+        while (true) {
+            HttpResponse<String> response = http.send(
+                    HttpRequest.newBuilder(URI.create(url + "/api/drivers?limit=500&after=" + after)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Driver listing failed with HTTP " + response.statusCode());
+            }
+            JsonNode page = objectMapper.readTree(response.body());
+            for (JsonNode item : page.get("items")) {
+                drivers.add(new KnownDriver(item.get("id").asLong(), item.get("licenseNumber").asText(),
+                        item.get("vehiclePlate").asText(), item.get("phone").asText()));
+            }
+            JsonNode next = page.get("nextCursor");
+            if (next == null || next.isNull()) {
+                return drivers;
+            }
+            after = next.asLong();
+        }
+    }
+
+    /**
+     * Expande os pesos da mistura em um vetor sorteado uniformemente.
+     */
+    static Operation[] schedule(String mix) {
+        List<Operation> schedule = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Operation operation = null;
+            for (Operation candidate : Operation.values()) {
+                if (candidate.key.equals(parts[0])) {
+                    operation = candidate;
+                }
+            }
+            if (operation == null || parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            for (int i = Integer.parseInt(parts[1]); i > 0; i--) {
+                schedule.add(operation);
+            }
+        }
+        if (schedule.isEmpty()) {
+            throw new IllegalArgumentException("Mix must have at least one operation with positive weight.");
+        }
+        return schedule.toArray(Operation[]::new);
+    }
+
+    private static double latitude(SplittableRandom random) {
+        return CENTER_LATITUDE + random.nextDouble(-RADIUS_DEGREES, RADIUS_DEGREES);
+    }
+
+    private static double longitude(SplittableRandom random) {
+        return CENTER_LONGITUDE + random.nextDouble(-RADIUS_DEGREES, RADIUS_DEGREES);
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path)).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest put(String path, String json) {
+        return HttpRequest.newBuilder(uri(path)).header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+}
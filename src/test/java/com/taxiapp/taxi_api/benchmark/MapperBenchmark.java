@@ -0,0 +1,113 @@
+package com.taxiapp.taxi_api.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.taxiapp.taxi_api.dto.DriverRequestDTO;
+import com.taxiapp.taxi_api.dto.DriverResponseDTO;
+import com.taxiapp.taxi_api.dto.PassengerRequestDTO;
+import com.taxiapp.taxi_api.dto.PassengerResponseDTO;
+import com.taxiapp.taxi_api.mapper.DriverMapper;
+import com.taxiapp.taxi_api.mapper.PassengerMapper;
+import com.taxiapp.taxi_api.model.Driver;
+import com.taxiapp.taxi_api.model.Passenger;
+
+/**
+ * Mede as conversões entre entidades e DTOs feitas pelo {@link DriverMapper}
+ * e pelo {@link PassengerMapper}, chamadas em toda requisição de leitura e escrita.
+ *
+ * <p>Execução: {@code java -cp <classpath de teste> com.taxiapp.taxi_api.benchmark.MapperBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final DriverMapper driverMapper = new DriverMapper();
+    private final PassengerMapper passengerMapper = new PassengerMapper();
+
+    private Driver driver;
+    private Passenger passenger;
+    private DriverRequestDTO driverRequest;
+    private PassengerRequestDTO passengerRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        driver = new Driver();
+        driver.setId(42L);
+        driver.setName("Ana Souza");
+        driver.setLicenseNumber("L00000042");
+        driver.setAddress("Rua Augusta, 1500");
+        driver.setPhone("11988887777");
+        driver.setVehiclePlate("ABC1D23");
+        driver.setAvailable(true);
+        driver.setLatitude(-23.5614);
+        driver.setLongitude(-46.6559);
+
+        passenger = new Passenger("Bruno Lima", "brunolima", "Av. Paulista, 1000", "11977776666", "bruno@taxi.app");
+        passenger.setId(7L);
+        passenger.setCreatedAt(LocalDateTime.of(2025, 1, 15, 10, 30));
+
+        driverRequest = new DriverRequestDTO("Ana Souza", "L00000042", "Rua Augusta, 1500", "11988887777", "ABC1D23");
+        passengerRequest = new PassengerRequestDTO("Bruno Lima", "brunolima", "Av. Paulista, 1000",
+                "11977776666", "bruno@taxi.app");
+    }
+
+    @Benchmark
+    public DriverResponseDTO driverToResponse() {
+        return driverMapper.toResponseDTO(driver);
+    }
+
+    @Benchmark
+    public Driver driverToEntity() {
+        return driverMapper.toEntity(driverRequest);
+    }
+
+    @Benchmark
+    public Driver driverUpdateEntity() {
+        driverMapper.updateEntityFromDTO(driverRequest, driver);
+        return driver;
+    }
+
+    @Benchmark
+    public PassengerResponseDTO passengerToResponse() {
+        return passengerMapper.toResponseDTO(passenger);
+    }
+
+    @Benchmark
+    public Passenger passengerToEntity() {
+        return passengerMapper.toEntity(passengerRequest);
+    }
+
+    @Benchmark
+    public Passenger passengerUpdateEntity() {
+        passengerMapper.updateEntityFromDTO(passengerRequest, passenger);
+        return passenger;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MapperBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,137 @@
+package com.taxiapp.taxi_api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taxiapp.taxi_api.model.Passenger;
+import com.taxiapp.taxi_api.repository.PassengerRepository;
+import com.taxiapp.taxi_api.repository.PassengerUniqueKeys;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Compara a validação de unicidade do cadastro de passageiros:
+ * três {@code findBy...} que materializam a entidade (abordagem anterior)
+ * contra a consulta única de projeção {@link PassengerRepository#findUniqueKeyConflicts}.
+ *
+ * <p>Cada operação roda em uma transação somente leitura, como no serviço, e
+ * consulta valores que ainda não existem (o caso comum de um novo cadastro).
+ * Ao final de cada benchmark é impresso o número de comandos SQL por operação,
+ * lido das estatísticas do Hibernate; as alocações por operação são
+ * reportadas pelo {@link GCProfiler} ({@code gc.alloc.rate.norm}).</p>
+ *
+ * <p>Execução: {@code java -cp <classpath de teste> com.taxiapp.taxi_api.benchmark.PassengerUniquenessBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PassengerUniquenessBenchmark {
+
+    private static final int PASSENGERS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private PassengerRepository repository;
+    private TransactionTemplate readOnly;
+    private Statistics statistics;
+    private long operations;
+    private int sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.startOnH2("uniqueness");
+        repository = context.getBean(PassengerRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<Passenger> passengers = new ArrayList<>(PASSENGERS);
+        for (int i = 0; i < PASSENGERS; i++) {
+            Passenger passenger = new Passenger();
+            passenger.setName("Passenger " + i);
+            passenger.setUsername("user" + i);
+            passenger.setAddress("Rua " + i);
+            passenger.setPhone(String.format("119%08d", i));
+            passenger.setEmail("user" + i + "@taxi.app");
+            passengers.add(passenger);
+        }
+        repository.saveAll(passengers);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+        operations = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportStatements() {
+        System.out.printf("%n  SQL statements per operation: %.2f%n",
+                (double) statistics.getPrepareStatementCount() / Math.max(1, operations));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void threeEntityLookups(Blackhole blackhole) {
+        String suffix = nextSuffix();
+        readOnly.executeWithoutResult(status -> {
+            Optional<Passenger> byEmail = repository.findByEmail("new" + suffix + "@taxi.app");
+            Optional<Passenger> byUsername = repository.findByUsername("new" + suffix);
+            Optional<Passenger> byPhone = repository.findByPhone("218" + suffix);
+            blackhole.consume(byEmail.isPresent() || byUsername.isPresent() || byPhone.isPresent());
+        });
+    }
+
+    @Benchmark
+    public void singleProjectionLookup(Blackhole blackhole) {
+        String suffix = nextSuffix();
+        readOnly.executeWithoutResult(status -> {
+            List<PassengerUniqueKeys> conflicts = repository.findUniqueKeyConflicts(
+                    "new" + suffix + "@taxi.app", "new" + suffix, "218" + suffix);
+            blackhole.consume(conflicts.isEmpty());
+        });
+    }
+
+    private String nextSuffix() {
+        operations++;
+        return Integer.toString(sequence++);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PassengerUniquenessBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,153 @@
+package com.taxiapp.taxi_api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taxiapp.taxi_api.dto.DriverResponseDTO;
+import com.taxiapp.taxi_api.dto.PassengerResponseDTO;
+import com.taxiapp.taxi_api.mapper.DriverMapper;
+import com.taxiapp.taxi_api.mapper.PassengerMapper;
+import com.taxiapp.taxi_api.model.Driver;
+import com.taxiapp.taxi_api.model.Passenger;
+import com.taxiapp.taxi_api.repository.DriverRepository;
+import com.taxiapp.taxi_api.repository.PassengerRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Compara os caminhos de leitura por ID e de listagem (página de 50):
+ * entidade gerenciada + mapper (abordagem anterior) contra as consultas com
+ * expressão de construtor que devolvem o DTO direto.
+ *
+ * <p>Cada operação roda em uma transação somente leitura, como nos serviços.
+ * A leitura por ID usa {@link Passenger}, que não está no cache de segundo
+ * nível, para que as duas variantes vão ao banco. As alocações por operação
+ * são reportadas pelo {@link GCProfiler} ({@code gc.alloc.rate.norm}).</p>
+ *
+ * <p>Execução: {@code java -cp <classpath de teste> com.taxiapp.taxi_api.benchmark.ReadPathBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadPathBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int PAGE_SIZE = 50;
+
+    private ConfigurableApplicationContext context;
+    private PassengerRepository passengerRepository;
+    private DriverRepository driverRepository;
+    private PassengerMapper passengerMapper;
+    private DriverMapper driverMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private long firstPassengerId;
+    private long firstDriverId;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.startOnH2("readpath");
+        passengerRepository = context.getBean(PassengerRepository.class);
+        driverRepository = context.getBean(DriverRepository.class);
+        passengerMapper = context.getBean(PassengerMapper.class);
+        driverMapper = context.getBean(DriverMapper.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<Passenger> passengers = new ArrayList<>(ROWS);
+        List<Driver> drivers = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Passenger passenger = new Passenger();
+            passenger.setName("Passenger " + i);
+            passenger.setUsername("user" + i);
+            passenger.setAddress("Rua " + i);
+            passenger.setPhone(String.format("119%08d", i));
+            passenger.setEmail("user" + i + "@taxi.app");
+            passengers.add(passenger);
+
+            Driver driver = new Driver();
+            driver.setName("Driver " + i);
+            driver.setLicenseNumber(String.format("L%08d", i));
+            driver.setAddress("Rua " + i);
+            driver.setPhone(String.format("118%08d", i));
+            driver.setVehiclePlate(String.format("P%06d", i));
+            driver.setAvailable(true);
+            driver.setLatitude(-23.5 + i * 1e-5);
+            driver.setLongitude(-46.6 + i * 1e-5);
+            drivers.add(driver);
+        }
+        firstPassengerId = passengerRepository.saveAll(passengers).get(0).getId();
+        firstDriverId = driverRepository.saveAll(drivers).get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PassengerResponseDTO byIdEntity() {
+        long id = firstPassengerId + random.nextInt(ROWS);
+        return readOnly.execute(status -> passengerMapper.toResponseDTO(passengerRepository.findById(id).orElseThrow()));
+    }
+
+    @Benchmark
+    public PassengerResponseDTO byIdProjection() {
+        long id = firstPassengerId + random.nextInt(ROWS);
+        return readOnly.execute(status -> passengerRepository.findResponseById(id).orElseThrow());
+    }
+
+    @Benchmark
+    public List<DriverResponseDTO> pageEntity() {
+        long after = firstDriverId - 1 + random.nextInt(ROWS - PAGE_SIZE);
+        return readOnly.execute(status -> entityManager
+                .createQuery("select d from Driver d where d.id > :after order by d.id", Driver.class)
+                .setParameter("after", after)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList()
+                .stream()
+                .map(driverMapper::toResponseDTO)
+                .toList());
+    }
+
+    @Benchmark
+    public List<DriverResponseDTO> pageProjection() {
+        long after = firstDriverId - 1 + random.nextInt(ROWS - PAGE_SIZE);
+        return readOnly.execute(status -> driverRepository.findResponsePage(after, Limit.of(PAGE_SIZE)));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReadPathBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
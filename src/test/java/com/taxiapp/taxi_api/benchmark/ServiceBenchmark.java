@@ -0,0 +1,157 @@
+package com.taxiapp.taxi_api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.taxiapp.taxi_api.dto.CursorPageDTO;
+import com.taxiapp.taxi_api.dto.DriverLocationRequestDTO;
+import com.taxiapp.taxi_api.dto.DriverResponseDTO;
+import com.taxiapp.taxi_api.dto.NearbyDriverDTO;
+import com.taxiapp.taxi_api.dto.PassengerRequestDTO;
+import com.taxiapp.taxi_api.dto.PassengerResponseDTO;
+import com.taxiapp.taxi_api.model.Driver;
+import com.taxiapp.taxi_api.model.Passenger;
+import com.taxiapp.taxi_api.repository.DriverRepository;
+import com.taxiapp.taxi_api.repository.PassengerRepository;
+import com.taxiapp.taxi_api.service.DriverService;
+import com.taxiapp.taxi_api.service.PassengerService;
+
+/**
+ * Mede as operações mais frequentes do {@link DriverService} e do
+ * {@link PassengerService} com o contexto completo (proxies transacionais,
+ * caches e índice geoespacial) sobre o perfil H2 de benchmark.
+ *
+ * <p>As leituras por ID passam pelos caches como em produção; as listagens e
+ * o cadastro vão ao banco. Cada cadastro usa e-mail, usuário e telefone novos.</p>
+ *
+ * <p>Execução: {@code java -cp <classpath de teste> com.taxiapp.taxi_api.benchmark.ServiceBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int PAGE_SIZE = 50;
+
+    private ConfigurableApplicationContext context;
+    private DriverService driverService;
+    private PassengerService passengerService;
+    private long firstPassengerId;
+    private long firstDriverId;
+    private long signups;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.startOnH2("services");
+        driverService = context.getBean(DriverService.class);
+        passengerService = context.getBean(PassengerService.class);
+
+        List<Passenger> passengers = new ArrayList<>(ROWS);
+        List<Driver> drivers = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Passenger passenger = new Passenger();
+            passenger.setName("Passenger " + i);
+            passenger.setUsername("user" + i);
+            passenger.setAddress("Rua " + i);
+            passenger.setPhone(String.format("119%08d", i));
+            passenger.setEmail("user" + i + "@taxi.app");
+            passengers.add(passenger);
+
+            Driver driver = new Driver();
+            driver.setName("Driver " + i);
+            driver.setLicenseNumber(String.format("L%08d", i));
+            driver.setAddress("Rua " + i);
+            driver.setPhone(String.format("118%08d", i));
+            driver.setVehiclePlate(String.format("P%06d", i));
+            driver.setAvailable(true);
+            driver.setLatitude(-23.5 + random.nextDouble(-0.1, 0.1));
+            driver.setLongitude(-46.6 + random.nextDouble(-0.1, 0.1));
+            drivers.add(driver);
+        }
+        firstPassengerId = context.getBean(PassengerRepository.class).saveAll(passengers).get(0).getId();
+        firstDriverId = context.getBean(DriverRepository.class).saveAll(drivers).get(0).getId();
+        driverService.loadLocationIndex();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<DriverResponseDTO> getDriverById() {
+        return driverService.getDriverById(firstDriverId + random.nextInt(ROWS));
+    }
+
+    @Benchmark
+    public Optional<DriverResponseDTO> getDriverByLicenseNumber() {
+        return driverService.getDriverByLicenseNumber(String.format("L%08d", random.nextInt(ROWS)));
+    }
+
+    @Benchmark
+    public Optional<PassengerResponseDTO> getPassengerById() {
+        return passengerService.getPassengerbyId(firstPassengerId + random.nextInt(ROWS));
+    }
+
+    @Benchmark
+    public CursorPageDTO<DriverResponseDTO> getDriversPage() {
+        return driverService.getDriversPage(firstDriverId - 1 + random.nextInt(ROWS - PAGE_SIZE), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPageDTO<PassengerResponseDTO> getPassengersPage() {
+        return passengerService.getPassengersPage(firstPassengerId - 1 + random.nextInt(ROWS - PAGE_SIZE), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<NearbyDriverDTO> findNearestAvailableDrivers() {
+        return driverService.findNearestAvailableDrivers(
+                -23.5 + random.nextDouble(-0.1, 0.1), -46.6 + random.nextDouble(-0.1, 0.1), 5);
+    }
+
+    @Benchmark
+    public DriverResponseDTO updateDriverLocation() {
+        return driverService.updateDriverLocation(firstDriverId + random.nextInt(ROWS),
+                new DriverLocationRequestDTO(-23.5 + random.nextDouble(-0.1, 0.1), -46.6 + random.nextDouble(-0.1, 0.1)));
+    }
+
+    @Benchmark
+    public PassengerResponseDTO createPassenger() {
+        long n = signups++;
+        return passengerService.createPassenger(new PassengerRequestDTO("Signup " + n, "signup" + n,
+                "Rua " + n, String.format("117%08d", n), "signup" + n + "@taxi.app"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ServiceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,92 @@
+package com.taxiapp.taxi_api.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.taxiapp.taxi_api.geo.DriverLocationIndex;
+import com.taxiapp.taxi_api.pricing.FareQuote;
+import com.taxiapp.taxi_api.pricing.SurgePricingEngine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Mede o {@link SurgePricingEngine} com 10 mil motoristas disponíveis e 50 mil
+ * pedidos na janela, espalhados por uma área de ~20 km x 20 km (~100 zonas):
+ * a cotação de uma corrida, a contagem de um pedido com 8 threads disputando
+ * os mesmos contadores e um recálculo completo dos multiplicadores.
+ *
+ * <p>A cotação deve ficar na casa de poucos microssegundos.</p>
+ *
+ * <p>Execução: {@code java -cp <classpath de teste> com.taxiapp.taxi_api.benchmark.SurgePricingBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SurgePricingBenchmark {
+
+    private static final int DRIVERS = 10_000;
+    private static final int REQUESTS = 50_000;
+
+    private SurgePricingEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DriverLocationIndex index = new DriverLocationIndex(0.01, 50);
+        engine = new SurgePricingEngine(index, new SimpleMeterRegistry(), 0.02, 300, 30, 1000, 1.0, 0.5, 3.0,
+                new BigDecimal("5.00"), new BigDecimal("2.50"), new BigDecimal("8.00"), 1.3);
+        Random random = new Random(42);
+        for (int i = 0; i < DRIVERS; i++) {
+            index.update(i, -23.65 + random.nextDouble() * 0.18, -46.75 + random.nextDouble() * 0.18);
+        }
+        for (int i = 0; i < REQUESTS; i++) {
+            engine.recordRequest(-23.65 + random.nextDouble() * 0.18, -46.75 + random.nextDouble() * 0.18);
+        }
+        engine.recompute();
+    }
+
+    @Benchmark
+    public FareQuote quote() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return engine.quote(-23.65 + random.nextDouble() * 0.18, -46.75 + random.nextDouble() * 0.18,
+                -23.65 + random.nextDouble() * 0.18, -46.75 + random.nextDouble() * 0.18);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void recordRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        engine.recordRequest(-23.65 + random.nextDouble() * 0.18, -46.75 + random.nextDouble() * 0.18);
+    }
+
+    @Benchmark
+    public void recompute() {
+        engine.recompute();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SurgePricingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
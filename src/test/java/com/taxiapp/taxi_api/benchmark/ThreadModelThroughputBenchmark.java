@@ -0,0 +1,209 @@
+package com.taxiapp.taxi_api.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.taxiapp.taxi_api.model.Driver;
+import com.taxiapp.taxi_api.repository.DriverRepository;
+
+/**
+ * Compara a vazão de {@code GET /api/drivers/{id}} com as requisições em
+ * threads de plataforma (pool do Tomcat) e em threads virtuais (com o
+ * {@link com.taxiapp.taxi_api.config.ConcurrencyLimitedDataSource}), sob alta concorrência.
+ *
+ * <p>É um teste de carga HTTP, e não um benchmark JMH: a aplicação é iniciada
+ * duas vezes sobre H2, com os caches desligados para que toda requisição vá ao
+ * banco, e cada comando SQL recebe uma latência artificial que simula a ida e
+ * volta ao MySQL. {@code clients} clientes concorrentes repetem a requisição
+ * durante {@code seconds} segundos; são reportados a vazão, os erros e os
+ * percentis de latência.</p>
+ *
+ * <p>Parâmetros (propriedades de sistema): {@code clients} (1000),
+ * {@code seconds} (15), {@code dbLatencyMs} (200), {@code poolSize} (400),
+ * {@code tomcatThreads} (200) e {@code modes} ({@code platform,virtual}). O pool maior que o número de threads do Tomcat
+ * reproduz o cenário em que as threads acabam antes das conexões.</p>
+ *
+ * <p>Execução: {@code java -cp <classpath de teste> com.taxiapp.taxi_api.benchmark.ThreadModelThroughputBenchmark}</p>
+ */
+public class ThreadModelThroughputBenchmark {
+
+    private static final int DRIVERS = 1000;
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("clients", 1000);
+        int seconds = Integer.getInteger("seconds", 15);
+        int dbLatencyMs = Integer.getInteger("dbLatencyMs", 200);
+        int poolSize = Integer.getInteger("poolSize", 400);
+        int tomcatThreads = Integer.getInteger("tomcatThreads", 200);
+
+        AtomicBoolean latencyEnabled = new AtomicBoolean();
+        List<String> results = new ArrayList<>();
+        for (String mode : System.getProperty("modes", "platform,virtual").split(",")) {
+            boolean virtual = "virtual".equals(mode.trim());
+            ConfigurableApplicationContext context = BenchmarkContexts.startWebOnH2(
+                    virtual ? "threads_virtual" : "threads_platform",
+                    ctx -> ctx.getBeanFactory().addBeanPostProcessor(latencyInjector(dbLatencyMs, latencyEnabled)),
+                    "spring.threads.virtual.enabled=" + virtual,
+                    "spring.cache.type=none",
+                    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                    "spring.jpa.properties.hibernate.generate_statistics=false",
+                    "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                    "spring.datasource.hikari.connection-timeout=30000",
+                    "server.tomcat.threads.max=" + tomcatThreads,
+                    "server.tomcat.max-connections=" + (clients * 2),
+                    "server.tomcat.accept-count=" + clients);
+            try {
+                latencyEnabled.set(false);
+                long firstId = seed(context);
+                latencyEnabled.set(true);
+                int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+                results.add(run(virtual ? "virtual " : "platform", port, firstId, clients, seconds));
+            } finally {
+                context.close();
+            }
+        }
+        System.out.printf("%nclients=%d seconds=%d dbLatencyMs=%d poolSize=%d tomcatThreads=%d%n",
+                clients, seconds, dbLatencyMs, poolSize, tomcatThreads);
+        results.forEach(System.out::println);
+    }
+
+    private static long seed(ConfigurableApplicationContext context) {
+        DriverRepository repository = context.getBean(DriverRepository.class);
+        List<Driver> drivers = new ArrayList<>(DRIVERS);
+        for (int i = 0; i < DRIVERS; i++) {
+            Driver driver = new Driver();
+            driver.setName("Driver " + i);
+            driver.setLicenseNumber(String.format("L%08d", i));
+            driver.setAddress("Rua " + i);
+            driver.setPhone(String.format("118%08d", i));
+            driver.setVehiclePlate(String.format("P%06d", i));
+            driver.setAvailable(true);
+            drivers.add(driver);
+        }
+        return repository.saveAll(drivers).get(0).getId();
+    }
+
+    private static String run(String mode, int port, long firstId, int clients, int seconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient http = HttpClient.newBuilder()
+                        .executor(executor)
+                        .connectTimeout(Duration.ofSeconds(30))
+                        .build()) {
+            List<Future<long[]>> futures = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                int seed = c;
+                futures.add(executor.submit(() -> client(http, port, firstId, deadline, seed)));
+            }
+            long ok = 0;
+            long errors = 0;
+            List<long[]> latencies = new ArrayList<>(clients);
+            for (Future<long[]> future : futures) {
+                long[] clientLatencies = future.get();
+                for (long latency : clientLatencies) {
+                    if (latency < 0) {
+                        errors++;
+                    } else {
+                        ok++;
+                    }
+                }
+                latencies.add(clientLatencies);
+            }
+            long[] all = latencies.stream().flatMapToLong(Arrays::stream).filter(l -> l >= 0).sorted().toArray();
+            return String.format("%s  %8.0f req/s  ok=%d errors=%d  p50=%.1fms p99=%.1fms p99.9=%.1fms",
+                    mode, ok / (double) seconds, ok, errors,
+                    percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999));
+        }
+    }
+
+    /**
+     * Um cliente: repete a requisição até o prazo. Latências negativas marcam erros.
+     */
+    private static long[] client(HttpClient http, int port, long firstId, long deadline, int seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] latencies = new long[1024];
+        int count = 0;
+        while (System.nanoTime() < deadline) {
+            URI uri = URI.create("http://localhost:" + port + "/api/drivers/" + (firstId + random.nextInt(DRIVERS)));
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+            long start = System.nanoTime();
+            long latency;
+            try {
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                latency = response.statusCode() == 200 ? System.nanoTime() - start : -1;
+            } catch (Exception e) {
+                latency = -1;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    /**
+     * Envolve o {@link DataSource} para atrasar cada comando SQL, simulando a
+     * latência de rede até o MySQL. O atraso é um {@code sleep}, que libera a
+     * thread virtual como faria uma leitura de socket. Fica desligado durante a carga inicial.
+     */
+    private static BeanPostProcessor latencyInjector(int latencyMs, AtomicBoolean enabled) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return new DelegatingDataSource(dataSource) {
+                    @Override
+                    public Connection getConnection() throws java.sql.SQLException {
+                        return delayed(super.getConnection(), latencyMs, enabled);
+                    }
+                };
+            }
+        };
+    }
+
+    private static Connection delayed(Connection connection, int latencyMs, AtomicBoolean enabled) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (enabled.get() && method.getName().startsWith("prepare")) {
+                        Thread.sleep(latencyMs);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
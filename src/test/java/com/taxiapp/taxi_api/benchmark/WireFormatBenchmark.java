@@ -0,0 +1,178 @@
+package com.taxiapp.taxi_api.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taxiapp.taxi_api.dto.DriverResponseDTO;
+import com.taxiapp.taxi_api.dto.PassengerResponseDTO;
+
+/**
+ * Compara os formatos de resposta das listagens (JSON, CBOR e Smile, com e sem
+ * gzip) em listas de 10 mil motoristas e passageiros: tempo de escrita no
+ * servidor, tempo de leitura no cliente e bytes trafegados.
+ *
+ * <p>Os {@link ObjectMapper}s são montados como os conversores da aplicação
+ * ({@code WireFormatConfig}): {@link Jackson2ObjectMapperBuilder} com datas em
+ * ISO-8601. O gzip usa o nível padrão do {@link java.util.zip.Deflater}, o
+ * mesmo da compressão do Tomcat ({@code server.compression.*}).</p>
+ *
+ * <p>Os bytes trafegados de cada combinação são impressos no início de cada
+ * execução ({@code # Bytes on the wire ...}).</p>
+ *
+ * <p>Execução: {@code java -cp <classpath de teste> com.taxiapp.taxi_api.benchmark.WireFormatBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final int LIST_SIZE = 10_000;
+
+    private static final TypeReference<List<DriverResponseDTO>> DRIVER_LIST = new TypeReference<>() { };
+    private static final TypeReference<List<PassengerResponseDTO>> PASSENGER_LIST = new TypeReference<>() { };
+
+    /**
+     * Formato de serialização, como negociado pelo cabeçalho {@code Accept}.
+     */
+    public enum Format {
+        JSON, CBOR, SMILE;
+
+        ObjectMapper objectMapper() {
+            Jackson2ObjectMapperBuilder builder = switch (this) {
+                case JSON -> Jackson2ObjectMapperBuilder.json();
+                case CBOR -> Jackson2ObjectMapperBuilder.cbor();
+                case SMILE -> Jackson2ObjectMapperBuilder.smile();
+            };
+            return builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        }
+    }
+
+    @Param({ "JSON", "CBOR", "SMILE" })
+    private Format format;
+
+    @Param({ "false", "true" })
+    private boolean gzip;
+
+    private ObjectWriter driversWriter;
+    private ObjectWriter passengersWriter;
+    private ObjectReader driversReader;
+    private ObjectReader passengersReader;
+
+    private List<DriverResponseDTO> drivers;
+    private List<PassengerResponseDTO> passengers;
+    private byte[] driversBody;
+    private byte[] passengersBody;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = format.objectMapper();
+        driversWriter = objectMapper.writerFor(DRIVER_LIST);
+        passengersWriter = objectMapper.writerFor(PASSENGER_LIST);
+        driversReader = objectMapper.readerFor(DRIVER_LIST);
+        passengersReader = objectMapper.readerFor(PASSENGER_LIST);
+
+        drivers = drivers();
+        passengers = passengers();
+        driversBody = write(driversWriter, drivers, gzip);
+        passengersBody = write(passengersWriter, passengers, gzip);
+        System.out.printf("%n# Bytes on the wire (%s%s, %d items): drivers=%d, passengers=%d%n", format,
+                gzip ? "+gzip" : "", LIST_SIZE, driversBody.length, passengersBody.length);
+    }
+
+    private static List<DriverResponseDTO> drivers() {
+        List<DriverResponseDTO> drivers = new ArrayList<>(LIST_SIZE);
+        for (long id = 1; id <= LIST_SIZE; id++) {
+            drivers.add(new DriverResponseDTO(id, "Driver " + id, String.format("L%08d", id), "Rua Augusta, " + id,
+                    String.format("118%08d", id), String.format("P%06d", id), id % 3 != 0,
+                    -23.5614 + (id % 1000) * 1e-4, -46.6559 + (id / 1000) * 1e-4));
+        }
+        return drivers;
+    }
+
+    private static List<PassengerResponseDTO> passengers() {
+        List<PassengerResponseDTO> passengers = new ArrayList<>(LIST_SIZE);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 15, 10, 30);
+        for (long id = 1; id <= LIST_SIZE; id++) {
+            passengers.add(new PassengerResponseDTO(id, "Passenger " + id, "passenger" + id, "Av. Paulista, " + id,
+                    String.format("119%08d", id), "passenger" + id + "@taxi.app", createdAt.plusMinutes(id)));
+        }
+        return passengers;
+    }
+
+    private static byte[] write(ObjectWriter writer, Object value, boolean gzip) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 20);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes, 8192) : bytes) {
+            writer.writeValue(out, value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static <T> T read(ObjectReader reader, byte[] body, boolean gzip) throws IOException {
+        try (InputStream in = gzip ? new GZIPInputStream(new ByteArrayInputStream(body), 8192)
+                : new ByteArrayInputStream(body)) {
+            return reader.readValue(in);
+        }
+    }
+
+    @Benchmark
+    public byte[] writeDrivers() throws IOException {
+        return write(driversWriter, drivers, gzip);
+    }
+
+    @Benchmark
+    public byte[] writePassengers() throws IOException {
+        return write(passengersWriter, passengers, gzip);
+    }
+
+    @Benchmark
+    public List<DriverResponseDTO> readDrivers() throws IOException {
+        return read(driversReader, driversBody, gzip);
+    }
+
+    @Benchmark
+    public List<PassengerResponseDTO> readPassengers() throws IOException {
+        return read(passengersReader, passengersBody, gzip);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WireFormatBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,182 @@
+package com.taxiapp.taxi_api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Connection;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.taxiapp.taxi_api.dto.DriverRequestDTO;
+import com.taxiapp.taxi_api.dto.DriverResponseDTO;
+import com.taxiapp.taxi_api.service.DriverService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifica o roteamento das transações entre dois bancos H2 em memória, um
+ * principal e uma réplica, e uma segunda réplica inacessível.
+ *
+ * <p>Não há replicação entre os bancos: o esquema é copiado do principal para a
+ * réplica na inicialização, e cada teste grava diretamente no banco que quer
+ * que seja lido. Assim, o que um serviço enxerga mostra de onde ele leu.</p>
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=" + ReadReplicaRoutingTest.PRIMARY_URL,
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "taxi.datasource.replica.enabled=true",
+    "taxi.datasource.replica.urls=" + ReadReplicaRoutingTest.REPLICA_URL + ",jdbc:h2:tcp://127.0.0.1:1/unreachable",
+    "taxi.datasource.replica.username=sa",
+    "taxi.datasource.replica.password=",
+    "taxi.datasource.replica.connection-timeout-ms=250",
+    "taxi.datasource.replica.read-your-writes-ms=60000",
+    "taxi.api.trusted-client-ids=writer,reader",
+    "taxi.db.concurrency-limit.enabled=true",
+    "taxi.ratelimit.enabled=false"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    /**
+     * Copia para a réplica o esquema criado pelo Hibernate no principal, antes
+     * das cargas iniciais (que já leem da réplica).
+     */
+    @TestConfiguration
+    static class ReplicaSchema {
+
+        @Bean
+        InitializingBean copySchemaToReplica(EntityManagerFactory entityManagerFactory) {
+            return () -> {
+                JdbcTemplate replica = jdbc(REPLICA_URL);
+                jdbc(PRIMARY_URL).queryForList("SCRIPT NODATA", String.class).forEach(replica::execute);
+            };
+        }
+    }
+
+    @Autowired
+    private DriverService driverService;
+
+    @Autowired
+    private ReadReplicaRouter router;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final JdbcTemplate primary = jdbc(PRIMARY_URL);
+    private final JdbcTemplate replica = jdbc(REPLICA_URL);
+
+    private static JdbcTemplate jdbc(String url) {
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+    }
+
+    @BeforeEach
+    void setUp() {
+        primary.update("delete from driver");
+        replica.update("delete from driver");
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromReplica() {
+        replica.update("insert into driver (id, name, license_number, address, phone, vehicle_plate, available, version)"
+                + " values (1000, 'Replica Only', 'R00001000', 'Rua R', '11900001000', 'RPL1000', true, 0)");
+
+        assertThat(driverService.getDriversPage(0, 10).items())
+                .extracting(DriverResponseDTO::name)
+                .containsExactly("Replica Only");
+        assertThat(primary.queryForObject("select count(*) from driver", Integer.class)).isZero();
+    }
+
+    @Test
+    void writesGoToPrimary() {
+        driverService.createDriver(new DriverRequestDTO("Primary Only", "P00000001", "Rua P", "11900000001", "PRM0001"));
+
+        assertThat(primary.queryForObject("select count(*) from driver", Integer.class)).isEqualTo(1);
+        assertThat(replica.queryForObject("select count(*) from driver", Integer.class)).isZero();
+        // Sem replicação, a leitura (na réplica) ainda não vê o motorista
+        assertThat(driverService.getDriversPage(0, 10).items()).isEmpty();
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromPrimary() throws Exception {
+        mockMvc.perform(post("/api/drivers")
+                .header("X-Client-Id", "writer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"name":"Own Write","licenseNumber":"W00000001","address":"Rua W",
+                         "phone":"11900000002","vehiclePlate":"WRT0001"}"""))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/drivers").header("X-Client-Id", "writer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1));
+        mockMvc.perform(get("/api/drivers").header("X-Client-Id", "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0));
+    }
+
+    @Test
+    void unreachableReplicaIsLeftOutOfRotation() {
+        replica.update("insert into driver (id, name, license_number, address, phone, vehicle_plate, available, version)"
+                + " values (2000, 'Replica Only', 'R00002000', 'Rua R', '11900002000', 'RPL2000', true, 0)");
+
+        assertThat(router.health()).containsEntry("replica-1", true).containsEntry("replica-2", false);
+        // O rodízio alterna entre as réplicas, mas toda leitura cai na réplica saudável
+        for (int i = 0; i < 4; i++) {
+            assertThat(driverService.getDriversPage(0, 10).items()).hasSize(1);
+        }
+    }
+
+    @Test
+    void exhaustedReplicaPoolStaysInRotation() throws Exception {
+        DriverManagerDataSource primaryDataSource = new DriverManagerDataSource(PRIMARY_URL, "sa", "");
+        try (ReadReplicaRouter singleConnection = new ReadReplicaRouter(new SimpleMeterRegistry(),
+                List.of(REPLICA_URL), "sa", "", 1, 250, 60_000, 0, false);
+                Connection held = singleConnection.readOnlyConnection(primaryDataSource);
+                Connection overflow = singleConnection.readOnlyConnection(primaryDataSource)) {
+            assertThat(held.getMetaData().getURL()).contains("routing_replica");
+            // O pool da réplica estava cheio: só esta leitura vai para o principal
+            assertThat(overflow.getMetaData().getURL()).contains("routing_primary");
+            assertThat(singleConnection.health()).containsEntry("replica-1", true);
+        }
+    }
+
+    @Test
+    void routingWrapsTheLimitedPrimary() throws Exception {
+        // O limitador de concorrência envolve só o principal; o roteamento fica por fora
+        assertThat(dataSource).isInstanceOf(ReadReplicaRoutingDataSource.class);
+        assertThat(dataSource.isWrapperFor(ConcurrencyLimitedDataSource.class)).isTrue();
+        ConcurrencyLimitedDataSource primaryLimiter = dataSource.unwrap(ConcurrencyLimitedDataSource.class);
+
+        assertThat(driverService.getDriversPage(0, 10).items()).isEmpty();
+        assertThat(primaryLimiter.getActivePermits()).isZero();
+    }
+}
@@ -0,0 +1,104 @@
+package com.taxiapp.taxi_api.dispatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compara o {@link HungarianAssignmentSolver} com uma busca exaustiva em
+ * matrizes pequenas aleatórias, quadradas e retangulares, com e sem pares
+ * inviáveis ({@link Double#POSITIVE_INFINITY}).
+ */
+class HungarianAssignmentSolverTest {
+
+    private static final double INFEASIBLE = Double.POSITIVE_INFINITY;
+
+    private final HungarianAssignmentSolver solver = new HungarianAssignmentSolver();
+
+    /**
+     * Melhor atribuição: mais pares viáveis e, entre essas, o menor custo.
+     */
+    private record Best(int pairs, double cost) {
+    }
+
+    @Test
+    void matchesBruteForceOnRandomMatrices() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 2_000; trial++) {
+            int rows = 1 + random.nextInt(6);
+            int columns = 1 + random.nextInt(6);
+            double infeasibleRate = (trial % 2 == 0) ? 0.0 : 0.3;
+            double[] costs = new double[rows * columns];
+            for (int k = 0; k < costs.length; k++) {
+                costs[k] = (random.nextDouble() < infeasibleRate) ? INFEASIBLE : random.nextInt(1_000) / 10.0;
+            }
+
+            int[] assigned = solver.solve(costs, rows, columns);
+
+            Best expected = bruteForce(costs, rows, columns, 0, new boolean[columns]);
+            boolean[] taken = new boolean[columns];
+            int pairs = 0;
+            double cost = 0;
+            for (int row = 0; row < rows; row++) {
+                int column = assigned[row];
+                if (column == HungarianAssignmentSolver.UNASSIGNED) {
+                    continue;
+                }
+                assertThat(taken[column]).as("column %d assigned twice (trial %d)", column, trial).isFalse();
+                assertThat(costs[row * columns + column]).as("infeasible pair (trial %d)", trial)
+                        .isNotEqualTo(INFEASIBLE);
+                taken[column] = true;
+                pairs++;
+                cost += costs[row * columns + column];
+            }
+            assertThat(pairs).as("pairs in a %dx%d matrix (trial %d)", rows, columns, trial)
+                    .isEqualTo(expected.pairs());
+            assertThat(cost).as("cost of a %dx%d matrix (trial %d)", rows, columns, trial)
+                    .isCloseTo(expected.cost(), within(1e-6));
+        }
+    }
+
+    @Test
+    void rowWithoutFeasibleColumnIsUnassigned() {
+        double[] costs = {
+            1, INFEASIBLE,
+            INFEASIBLE, INFEASIBLE,
+            2, 3
+        };
+
+        assertThat(solver.solve(costs, 3, 2)).containsExactly(0, HungarianAssignmentSolver.UNASSIGNED, 1);
+        assertThat(solver.solve(new double[] { INFEASIBLE, INFEASIBLE }, 1, 2))
+                .containsExactly(HungarianAssignmentSolver.UNASSIGNED);
+    }
+
+    @Test
+    void emptyMatrixAssignsNothing() {
+        assertThat(solver.solve(new double[0], 2, 0)).containsOnly(HungarianAssignmentSolver.UNASSIGNED);
+        assertThat(solver.solve(new double[0], 0, 3)).isEmpty();
+    }
+
+    private static Best bruteForce(double[] costs, int rows, int columns, int row, boolean[] taken) {
+        if (row == rows) {
+            return new Best(0, 0);
+        }
+        Best best = bruteForce(costs, rows, columns, row + 1, taken);
+        for (int column = 0; column < columns; column++) {
+            double cost = costs[row * columns + column];
+            if (taken[column] || cost == INFEASIBLE) {
+                continue;
+            }
+            taken[column] = true;
+            Best rest = bruteForce(costs, rows, columns, row + 1, taken);
+            taken[column] = false;
+            Best candidate = new Best(rest.pairs() + 1, rest.cost() + cost);
+            if (candidate.pairs() > best.pairs()
+                    || (candidate.pairs() == best.pairs() && candidate.cost() < best.cost() - 1e-9)) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,116 @@
+package com.taxiapp.taxi_api.geo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.taxiapp.taxi_api.dto.DriverLocationPingDTO;
+import com.taxiapp.taxi_api.dto.DriverRequestDTO;
+import com.taxiapp.taxi_api.dto.NearbyDriverDTO;
+import com.taxiapp.taxi_api.repository.DriverRepository;
+import com.taxiapp.taxi_api.service.DriverService;
+
+/**
+ * Verifica o ciclo das posições recebidas em lote: guardadas no
+ * {@link DriverLocationBuffer} e sobrepostas às leituras, gravadas no banco
+ * pelo {@code flush} (ou descartadas), e já visíveis na busca por proximidade,
+ * inclusive para um motorista recém-cadastrado, ainda sem posição.
+ *
+ * <p>A gravação periódica fica desligada (intervalo de uma hora): o teste
+ * chama {@link DriverLocationBuffer#flush()} diretamente.</p>
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:driver_location_buffer;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "taxi.ratelimit.enabled=false",
+    "taxi.drivers.location.flush-interval-ms=3600000"
+})
+class DriverLocationBufferTest {
+
+    @Autowired
+    private DriverService driverService;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private DriverLocationBuffer locationBuffer;
+
+    @Autowired
+    private DriverLocationIndex locationIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long driverId;
+
+    @BeforeEach
+    void setUp() {
+        locationBuffer.flush();
+        driverRepository.findAll().forEach(d -> locationIndex.remove(d.getId()));
+        driverRepository.deleteAllInBatch();
+        driverId = driverService.createDriver(new DriverRequestDTO("Driver", "CNH000001", "Rua A, 1",
+                "11999990000", "ABC1D23")).id();
+    }
+
+    private Map<String, Object> storedPosition() {
+        return jdbcTemplate.queryForMap("select latitude, longitude from driver where id = ?", driverId);
+    }
+
+    private void ping(double latitude, double longitude) {
+        driverService.recordLocations(List.of(new DriverLocationPingDTO(driverId, latitude, longitude)));
+    }
+
+    @Test
+    void pingedPositionIsOverlaidUntilFlushed() {
+        ping(10.0, 10.0);
+
+        assertThat(locationBuffer.get(driverId)).contains(new DriverLocationBuffer.BufferedPosition(10.0, 10.0));
+        assertThat(driverService.getDriverById(driverId).orElseThrow().latitude()).isEqualTo(10.0);
+        assertThat(storedPosition().get("LATITUDE")).isNull();
+
+        assertThat(locationBuffer.flush()).isEqualTo(1);
+        assertThat(locationBuffer.get(driverId)).isEmpty();
+        assertThat(storedPosition()).containsEntry("LATITUDE", 10.0).containsEntry("LONGITUDE", 10.0);
+        assertThat(driverService.getDriverById(driverId).orElseThrow().latitude()).isEqualTo(10.0);
+    }
+
+    @Test
+    void discardedPositionIsNeverWritten() {
+        ping(10.0, 10.0);
+        locationBuffer.flush();
+
+        ping(20.0, 20.0);
+        assertThat(locationBuffer.overlay(driverService.getDriverById(driverId).orElseThrow()).latitude())
+                .isEqualTo(20.0);
+        locationBuffer.discard(driverId);
+
+        assertThat(locationBuffer.get(driverId)).isEmpty();
+        assertThat(locationBuffer.flush()).isZero();
+        assertThat(storedPosition()).containsEntry("LATITUDE", 10.0);
+    }
+
+    @Test
+    void newDriverIsFoundNearItsFirstPing() {
+        assertThat(driverService.findNearestAvailableDrivers(10.0, 10.0, 5)).isEmpty();
+
+        ping(10.0, 10.0);
+
+        assertThat(driverService.findNearestAvailableDrivers(10.0, 10.0, 5)).extracting(NearbyDriverDTO::id)
+                .containsExactly(driverId);
+        ping(10.001, 10.0);
+        assertThat(driverService.findNearestAvailableDrivers(10.001, 10.0, 5).get(0).distanceMeters())
+                .isLessThan(1.0);
+    }
+}
@@ -0,0 +1,123 @@
+package com.taxiapp.taxi_api.geo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.taxiapp.taxi_api.dto.NearbyDriverDTO;
+
+/**
+ * Verifica o {@link DriverLocationIndex}: a busca pelos k mais próximos
+ * comparada com uma busca exaustiva, os anéis de células percorridos, a
+ * movimentação entre células, a inclusão de motoristas disponíveis sem
+ * posição e a reivindicação por {@code remove}.
+ */
+class DriverLocationIndexTest {
+
+    private static final double LATITUDE = -23.55;
+    private static final double LONGITUDE = -46.63;
+
+    private final DriverLocationIndex index = new DriverLocationIndex(0.01, 50);
+
+    @Test
+    void nearestMatchesBruteForce() {
+        Random random = new Random(7);
+        List<DriverPosition> drivers = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            // Mais denso no centro, com motoristas esparsos a até ~0,25° (vários anéis de células)
+            double spread = (id % 5 == 0) ? 0.25 : 0.05;
+            double latitude = LATITUDE + (random.nextDouble() * 2 - 1) * spread;
+            double longitude = LONGITUDE + (random.nextDouble() * 2 - 1) * spread;
+            index.update(id, latitude, longitude);
+            drivers.add(new DriverPosition(id, latitude, longitude, 0L));
+        }
+
+        for (int query = 0; query < 200; query++) {
+            double latitude = LATITUDE + (random.nextDouble() * 2 - 1) * 0.3;
+            double longitude = LONGITUDE + (random.nextDouble() * 2 - 1) * 0.3;
+            int k = 1 + random.nextInt(20);
+
+            List<NearbyDriverDTO> nearest = index.nearest(latitude, longitude, k);
+
+            List<Double> expected = drivers.stream()
+                    .map(d -> GeoUtils.haversineMeters(latitude, longitude, d.latitude(), d.longitude()))
+                    .sorted().limit(k).toList();
+            assertThat(nearest).as("query %d", query).hasSize(k);
+            for (int i = 0; i < k; i++) {
+                assertThat(nearest.get(i).distanceMeters()).as("query %d, rank %d", query, i)
+                        .isCloseTo(expected.get(i), within(1e-6));
+            }
+            assertThat(nearest).isSortedAccordingTo(Comparator.comparingDouble(NearbyDriverDTO::distanceMeters));
+        }
+    }
+
+    @Test
+    void nearestLooksPastCloserCellsInTheSameRing() {
+        // Mesma célula do ponto, mas no canto oposto, e um motorista na célula vizinha, bem na borda
+        double latitude = -23.5550;
+        double longitude = -46.6350;
+        index.update(1, -23.5599, -46.6399);
+        index.update(2, -23.5550, -46.6299);
+
+        List<NearbyDriverDTO> nearest = index.nearest(latitude, longitude, 1);
+
+        assertThat(nearest).extracting(NearbyDriverDTO::id).containsExactly(2L);
+    }
+
+    @Test
+    void nearestReturnsFewerThanKAndStopsAtTheMaximumRing() {
+        DriverLocationIndex shortRange = new DriverLocationIndex(0.01, 2);
+        shortRange.update(1, LATITUDE, LONGITUDE);
+        shortRange.update(2, LATITUDE + 0.015, LONGITUDE);
+        shortRange.update(3, LATITUDE + 0.5, LONGITUDE);
+
+        assertThat(shortRange.nearest(LATITUDE, LONGITUDE, 5)).extracting(NearbyDriverDTO::id)
+                .containsExactly(1L, 2L);
+        assertThat(shortRange.nearest(LATITUDE, LONGITUDE, 0)).isEmpty();
+    }
+
+    @Test
+    void movedDriverIsFoundOnlyAtTheNewPosition() {
+        index.update(1, LATITUDE, LONGITUDE);
+        index.update(1, LATITUDE + 0.2, LONGITUDE + 0.2);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.nearest(LATITUDE + 0.2, LONGITUDE + 0.2, 1).get(0).distanceMeters())
+                .isCloseTo(0.0, within(1e-6));
+        assertThat(index.updateIfAvailable(2, LATITUDE, LONGITUDE)).isFalse();
+        assertThat(index.get(2)).isEmpty();
+    }
+
+    @Test
+    void availableDriverWithoutPositionEntersWithTheFirstPosition() {
+        index.markAvailable(1);
+        assertThat(index.size()).isZero();
+
+        assertThat(index.updateIfAvailable(1, LATITUDE, LONGITUDE)).isTrue();
+        assertThat(index.nearest(LATITUDE, LONGITUDE, 1)).extracting(NearbyDriverDTO::id).containsExactly(1L);
+
+        // Reivindicado (indisponível): a posição seguinte não o devolve ao índice
+        assertThat(index.remove(1)).isTrue();
+        index.markAvailable(2);
+        assertThat(index.remove(2)).isFalse();
+        assertThat(index.updateIfAvailable(1, LATITUDE, LONGITUDE)).isFalse();
+        assertThat(index.updateIfAvailable(2, LATITUDE, LONGITUDE)).isFalse();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void removeClaimsTheDriverOnce() {
+        index.update(1, LATITUDE, LONGITUDE);
+
+        assertThat(index.remove(1)).isTrue();
+        assertThat(index.remove(1)).isFalse();
+        assertThat(index.nearest(LATITUDE, LONGITUDE, 1)).isEmpty();
+        assertThat(index.updateIfAvailable(1, LATITUDE, LONGITUDE)).isFalse();
+    }
+}
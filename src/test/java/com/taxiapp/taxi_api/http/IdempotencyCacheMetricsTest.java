@@ -0,0 +1,43 @@
+package com.taxiapp.taxi_api.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+/**
+ * Verifica que as métricas do cache {@code idempotency} convivem, no
+ * Prometheus, com as dos caches do Spring ({@code drivers} e
+ * {@code passengers}): o Prometheus recusa um medidor com o mesmo nome e
+ * outro conjunto de tags.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:idempotency_metrics;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "taxi.ratelimit.enabled=false"
+})
+@AutoConfigureObservability(tracing = false)
+class IdempotencyCacheMetricsTest {
+
+    @Autowired
+    private PrometheusMeterRegistry prometheusMeterRegistry;
+
+    @Test
+    void springCacheMetricsAreExportedNextToTheIdempotencyCache() {
+        String scrape = prometheusMeterRegistry.scrape();
+
+        for (String cache : new String[] { "drivers", "passengers", "idempotency" }) {
+            assertThat(scrape).as("cache %s", cache)
+                    .containsPattern("cache_gets_total\\{[^}]*cache=\"" + cache + "\"")
+                    .containsPattern("cache_size\\{[^}]*cache=\"" + cache + "\"");
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.taxiapp.taxi_api.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.taxiapp.taxi_api.exception.IdempotencyKeyReusedException;
+import com.taxiapp.taxi_api.exception.IdempotentRequestInProgressException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Verifica o {@link IdempotencyStore}: repetição da resposta guardada,
+ * repetições concorrentes com uma única execução, liberação da chave após
+ * uma falha, corpo diferente (422) e a espera limitada pela primeira requisição.
+ */
+class IdempotencyStoreTest {
+
+    private static final String SCOPE = "POST /api/passengers";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IdempotencyStore store = new IdempotencyStore(meterRegistry, 1000, 60, 200);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private ResponseEntity<String> created(String body) {
+        executions.incrementAndGet();
+        return ResponseEntity.status(HttpStatus.CREATED).body(body);
+    }
+
+    @Test
+    void repeatedKeyReplaysTheStoredResponse() {
+        ResponseEntity<String> first = store.execute(SCOPE, "key-1", "body", () -> created("passenger 1"));
+        ResponseEntity<String> replay = store.execute(SCOPE, "key-1", "body", () -> created("passenger 2"));
+
+        assertThat(executions).hasValue(1);
+        assertThat(first.getHeaders().containsKey(IdempotencyStore.REPLAYED)).isFalse();
+        assertThat(replay.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replay.getBody()).isEqualTo("passenger 1");
+        assertThat(replay.getHeaders().getFirst(IdempotencyStore.REPLAYED)).isEqualTo("true");
+        assertThat(meterRegistry.get("taxi.idempotency.replayed").counter().count()).isEqualTo(1);
+
+        // A mesma chave em outra rota é independente
+        assertThat(store.execute("POST /api/drivers", "key-1", "body", () -> created("driver 1")).getBody())
+                .isEqualTo("driver 1");
+    }
+
+    @Test
+    void concurrentRepeatWaitsForTheFirstExecution() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<String>> first = CompletableFuture.supplyAsync(() ->
+                store.execute(SCOPE, "key-2", "body", () -> {
+                    started.countDown();
+                    await(finish);
+                    return created("passenger 1");
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<ResponseEntity<String>> repeat = CompletableFuture.supplyAsync(() ->
+                store.execute(SCOPE, "key-2", "body", () -> created("passenger 2")));
+        finish.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("passenger 1");
+        assertThat(repeat.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("passenger 1");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void failedExecutionReleasesTheKey() {
+        assertThatThrownBy(() -> store.execute(SCOPE, "key-3", "body", () -> {
+            throw new IllegalArgumentException("Email already registered");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(store.execute(SCOPE, "key-3", "body", () -> created("passenger 1")).getBody())
+                .isEqualTo("passenger 1");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void sameKeyWithAnotherBodyIsRejected() {
+        store.execute(SCOPE, "key-4", "body", () -> created("passenger 1"));
+
+        assertThatThrownBy(() -> store.execute(SCOPE, "key-4", "other body", () -> created("passenger 2")))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void repeatGivesUpWhileTheFirstIsStillRunning() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<String>> first = CompletableFuture.supplyAsync(() ->
+                store.execute(SCOPE, "key-5", "body", () -> {
+                    started.countDown();
+                    await(finish);
+                    return created("passenger 1");
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThatThrownBy(() -> store.execute(SCOPE, "key-5", "body", () -> created("passenger 2")))
+                    .isInstanceOf(IdempotentRequestInProgressException.class);
+        } finally {
+            finish.countDown();
+        }
+        assertThat(first.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("passenger 1");
+        assertThat(store.execute(SCOPE, "key-5", "body", () -> created("passenger 3")).getBody())
+                .isEqualTo("passenger 1");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.taxiapp.taxi_api.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Verifica o {@link RateLimitFilter} com um balde de {@value #BURST} fichas
+ * reposto a 1 ficha por segundo (o teste não espera a reposição).
+ */
+class RateLimitFilterTest {
+
+    private static final int BURST = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitFilter filter = new RateLimitFilter(meterRegistry, objectMapper,
+            new ApiClients("X-Client-Id", "trusted-a, trusted-b"), 1, BURST, 1000);
+
+    private MockHttpServletResponse send(String remoteAddr, String clientId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/drivers");
+        request.setRemoteAddr(remoteAddr);
+        if (clientId != null) {
+            request.addHeader("X-Client-Id", clientId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void burstIsAllowedThenRejectedWithRetryAfter() throws Exception {
+        for (int i = 0; i < BURST; i++) {
+            assertThat(send("10.0.0.1", null).getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse rejected = send("10.0.0.1", null);
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(rejected.getHeader(HttpHeaders.RETRY_AFTER))).isPositive();
+        JsonNode body = objectMapper.readTree(rejected.getContentAsString());
+        assertThat(body.get("status").asInt()).isEqualTo(429);
+        assertThat(body.get("error").asText()).isEqualTo("Too Many Requests");
+
+        // Outro IP tem o seu próprio balde
+        assertThat(send("10.0.0.2", null).getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("taxi.ratelimit.rejected").tag("client", "ip:10.0.0.1").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void rotatingUntrustedClientIdsShareTheIpLimit() throws Exception {
+        int rejected = 0;
+        for (int i = 0; i < BURST * 4; i++) {
+            if (send("10.0.0.3", "rotating-" + i).getStatus() == 429) {
+                rejected++;
+            }
+        }
+
+        assertThat(rejected).isEqualTo(BURST * 3);
+        assertThat(meterRegistry.get("taxi.ratelimit.clients").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void trustedClientIdsHaveTheirOwnLimit() throws Exception {
+        for (int i = 0; i < BURST; i++) {
+            assertThat(send("10.0.0.4", "trusted-a").getStatus()).isEqualTo(200);
+        }
+        assertThat(send("10.0.0.4", "trusted-a").getStatus()).isEqualTo(429);
+
+        assertThat(send("10.0.0.4", "trusted-b").getStatus()).isEqualTo(200);
+        assertThat(send("10.0.0.4", null).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void oversizedClientIdIsIgnored() {
+        ApiClients apiClients = new ApiClients("X-Client-Id", "x".repeat(ApiClients.MAX_CLIENT_ID_LENGTH + 1));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/drivers");
+        request.setRemoteAddr("10.0.0.5");
+        request.addHeader("X-Client-Id", "x".repeat(ApiClients.MAX_CLIENT_ID_LENGTH + 1));
+
+        assertThat(apiClients.identify(request)).isEqualTo("ip:10.0.0.5");
+    }
+}
@@ -0,0 +1,56 @@
+package com.taxiapp.taxi_api.pricing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifica o {@link SlidingWindowCounter}: a soma da janela, o descarte de um
+ * balde ao ser reaproveitado e as somas concorrentes no mesmo balde.
+ */
+class SlidingWindowCounterTest {
+
+    @Test
+    void sumCoversEveryBucketUntilOneIsReset() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(3);
+        counter.add(0, 2);
+        counter.add(1, 3);
+        counter.add(2, 5);
+        assertThat(counter.sum()).isEqualTo(10);
+
+        // O anel volta ao balde 0: o que foi somado nele sai da janela
+        counter.reset(0);
+        assertThat(counter.sum()).isEqualTo(8);
+        counter.add(0, 1);
+        assertThat(counter.sum()).isEqualTo(9);
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(4);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> adds = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                adds.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        counter.add(1, 1);
+                    }
+                }));
+            }
+            for (Future<?> add : adds) {
+                add.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(counter.sum()).isEqualTo(80_000);
+    }
+}
@@ -0,0 +1,102 @@
+package com.taxiapp.taxi_api.pricing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.taxiapp.taxi_api.geo.DriverLocationIndex;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Verifica o {@link SurgePricingEngine} sem a thread de recálculo: a fórmula do
+ * multiplicador, a rotação dos baldes pelo tempo decorrido (janela de 10 s em
+ * baldes de 1 s) e a escala do multiplicador cotado.
+ */
+class SurgePricingEngineTest {
+
+    private static final double LATITUDE = -23.55;
+    private static final double LONGITUDE = -46.63;
+
+    private final DriverLocationIndex locationIndex = new DriverLocationIndex(0.01, 50);
+    private final SurgePricingEngine engine = new SurgePricingEngine(locationIndex, new SimpleMeterRegistry(),
+            0.02, 10, 10, 1000, 1.0, 0.5, 3.0, new BigDecimal("5.00"), new BigDecimal("2.50"),
+            new BigDecimal("8.00"), 1.3);
+
+    private static long seconds(double seconds) {
+        return (long) (seconds * TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private void request(int times) {
+        for (int i = 0; i < times; i++) {
+            engine.recordRequest(LATITUDE, LONGITUDE);
+        }
+    }
+
+    private BigDecimal quotedMultiplier() {
+        return engine.quote(LATITUDE, LONGITUDE, null, null).surgeMultiplier();
+    }
+
+    @Test
+    void multiplierGrowsWithDemandPerDriverUpToTheMaximum() {
+        assertThat(engine.multiplierFor(0, 0)).isEqualTo(1.0);
+        assertThat(engine.multiplierFor(2, 2)).isEqualTo(1.0);
+        assertThat(engine.multiplierFor(3, 1)).isEqualTo(2.0);
+        assertThat(engine.multiplierFor(5, 2)).isEqualTo(1.8);
+        // Sem motoristas, conta como um
+        assertThat(engine.multiplierFor(4, 0)).isEqualTo(2.5);
+        assertThat(engine.multiplierFor(100, 0)).isEqualTo(3.0);
+    }
+
+    @Test
+    void requestsLeaveTheWindowAfterItsDuration() {
+        request(4);
+        engine.recompute(0);
+        assertThat(quotedMultiplier()).isEqualTo(new BigDecimal("2.50"));
+
+        engine.recompute(seconds(9.5));
+        assertThat(quotedMultiplier()).isEqualTo(new BigDecimal("2.50"));
+
+        engine.recompute(seconds(10.5));
+        assertThat(quotedMultiplier()).isEqualTo(new BigDecimal("1.00"));
+    }
+
+    @Test
+    void earlierTimeDoesNotMoveTheWindowBack() {
+        engine.recompute(seconds(5.5));
+        request(4);
+        engine.recompute(seconds(2.5));
+        assertThat(quotedMultiplier()).isEqualTo(new BigDecimal("2.50"));
+
+        // Os pedidos continuam no balde do segundo 5 e só saem dez segundos depois dele
+        engine.recompute(seconds(14.5));
+        assertThat(quotedMultiplier()).isEqualTo(new BigDecimal("2.50"));
+        engine.recompute(seconds(15.5));
+        assertThat(quotedMultiplier()).isEqualTo(new BigDecimal("1.00"));
+    }
+
+    @Test
+    void availableDriversLowerTheMultiplier() {
+        locationIndex.update(1, LATITUDE, LONGITUDE);
+        locationIndex.update(2, LATITUDE, LONGITUDE);
+        request(4);
+        engine.recompute(0);
+        assertThat(quotedMultiplier()).isEqualTo(new BigDecimal("1.50"));
+    }
+
+    @Test
+    void quotedMultiplierHasTheScaleOfTheStoredRide() {
+        FareQuote base = engine.quote(LATITUDE, LONGITUDE, null, null);
+        assertThat(base.surgeMultiplier().scale()).isEqualTo(2);
+        assertThat(base.fare()).isEqualTo(new BigDecimal("8.00"));
+
+        request(4);
+        engine.recompute(0);
+        FareQuote surged = engine.quote(LATITUDE, LONGITUDE, null, null);
+        assertThat(surged.surgeMultiplier().scale()).isEqualTo(2);
+        assertThat(surged.fare()).isEqualTo(new BigDecimal("20.00"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.taxiapp.taxi_api.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taxiapp.taxi_api.model.Driver;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifica que buscas repetidas de {@link Driver} por ID e por natural id
+ * (licenseNumber) são atendidas pelo cache de segundo nível, sem SQL.
+ *
+ * <p>Cada etapa roda em sua própria transação (e, portanto, em um novo
+ * contexto de persistência), para que o cache de primeiro nível não interfira.</p>
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DriverSecondLevelCacheTest {
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        driverRepository.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void cachedNaturalIdLookupIssuesNoSql() {
+        Driver saved = transaction.execute(status -> driverRepository.save(newDriver("CNH000001", "ABC1D23")));
+        // Primeira busca: pode ir ao banco e popula os caches
+        transaction.executeWithoutResult(status ->
+                assertThat(driverRepository.findByNaturalLicenseNumber("CNH000001")).isPresent());
+
+        statistics.clear();
+        Driver found = transaction.execute(status ->
+                driverRepository.findByNaturalLicenseNumber("CNH000001").orElseThrow());
+
+        assertThat(found.getId()).isEqualTo(saved.getId());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isPositive();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void cachedLookupByIdIssuesNoSql() {
+        Driver saved = transaction.execute(status -> driverRepository.save(newDriver("CNH000002", "DEF4G56")));
+        transaction.executeWithoutResult(status -> driverRepository.findById(saved.getId()).orElseThrow());
+
+        statistics.clear();
+        Driver found = transaction.execute(status -> driverRepository.findById(saved.getId()).orElseThrow());
+
+        assertThat(found.getLicenseNumber()).isEqualTo("CNH000002");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void claimingOneDriverKeepsOtherDriversCached() {
+        Driver claimed = transaction.execute(status -> driverRepository.save(newDriver("CNH000003", "GHI7J89")));
+        Driver other = transaction.execute(status -> driverRepository.save(newDriver("CNH000004", "KLM0N12")));
+        transaction.executeWithoutResult(status -> driverRepository.findById(other.getId()).orElseThrow());
+
+        transaction.executeWithoutResult(status ->
+                assertThat(driverRepository.claimIfAvailable(claimed.getId())).isEqualTo(1));
+
+        assertThat(entityManagerFactory.getCache().contains(Driver.class, other.getId())).isTrue();
+    }
+
+    private static Driver newDriver(String licenseNumber, String vehiclePlate) {
+        Driver driver = new Driver();
+        driver.setName("Driver " + licenseNumber);
+        driver.setLicenseNumber(licenseNumber);
+        driver.setAddress("Rua A, 100");
+        driver.setPhone("11999990000");
+        driver.setVehiclePlate(vehiclePlate);
+        driver.setAvailable(true);
+        return driver;
+    }
+}
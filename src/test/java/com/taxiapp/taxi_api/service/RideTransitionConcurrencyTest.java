@@ -0,0 +1,164 @@
+package com.taxiapp.taxi_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taxiapp.taxi_api.dto.PassengerRequestDTO;
+import com.taxiapp.taxi_api.dto.RideResponseDTO;
+import com.taxiapp.taxi_api.geo.DriverLocationIndex;
+import com.taxiapp.taxi_api.model.Driver;
+import com.taxiapp.taxi_api.model.Passenger;
+import com.taxiapp.taxi_api.model.Ride;
+import com.taxiapp.taxi_api.model.RideStatus;
+import com.taxiapp.taxi_api.repository.DriverRepository;
+import com.taxiapp.taxi_api.repository.PassengerRepository;
+import com.taxiapp.taxi_api.repository.RideRepository;
+
+/**
+ * Verifica que transições concorrentes da mesma corrida (início e
+ * cancelamento de uma corrida ACCEPTED) não se sobrepõem: só uma vence, e o
+ * motorista só é liberado quando o cancelamento venceu. A liberação também não
+ * conflita com uma edição do motorista feita ao mesmo tempo.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:ride_transitions;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "taxi.ratelimit.enabled=false"
+})
+class RideTransitionConcurrencyTest {
+
+    private static final int RIDES = 40;
+
+    @Autowired
+    private RideService rideService;
+
+    @Autowired
+    private PassengerService passengerService;
+
+    @Autowired
+    private PassengerRepository passengerRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private DriverLocationIndex locationIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> rideIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        rideRepository.deleteAllInBatch();
+        driverRepository.deleteAllInBatch();
+        passengerRepository.deleteAllInBatch();
+
+        long passengerId = passengerService.createPassenger(new PassengerRequestDTO("Passenger", "rider",
+                "Rua A, 100", "11900000000", "rider@taxi.app")).id();
+        Passenger passenger = passengerRepository.getReferenceById(passengerId);
+        for (int i = 0; i < RIDES; i++) {
+            Driver driver = new Driver("Driver " + i, String.format("CNH%06d", i), "Rua B, " + i,
+                    "11999990000", String.format("ABC%04d", i), false);
+            driver.setLatitude(-23.55);
+            driver.setLongitude(-46.63);
+            Ride ride = new Ride(passenger, "A", "B");
+            ride.setDriver(driverRepository.save(driver));
+            ride.setStatus(RideStatus.ACCEPTED);
+            rideIds.add(rideRepository.save(ride).getId());
+        }
+    }
+
+    @Test
+    void concurrentStartAndCancelHaveOneWinner() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            CountDownLatch go = new CountDownLatch(1);
+            AtomicInteger winners = new AtomicInteger();
+            List<Future<?>> calls = new ArrayList<>();
+            for (long rideId : rideIds) {
+                calls.add(executor.submit(() -> race(go, winners, rideId, rideService::startRide)));
+                calls.add(executor.submit(() -> race(go, winners, rideId, rideService::cancelRide)));
+            }
+            go.countDown();
+            for (Future<?> call : calls) {
+                call.get();
+            }
+
+            assertThat(winners).hasValue(RIDES);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (long rideId : rideIds) {
+            Ride ride = rideRepository.findById(rideId).orElseThrow();
+            Driver driver = driverRepository.findById(ride.getDriver().getId()).orElseThrow();
+            boolean cancelled = ride.getStatus() == RideStatus.CANCELLED;
+
+            assertThat(ride.getStatus()).isIn(RideStatus.IN_PROGRESS, RideStatus.CANCELLED);
+            assertThat(driver.getAvailable()).as("driver of ride %d", rideId).isEqualTo(cancelled);
+            assertThat(locationIndex.get(driver.getId()).isPresent()).as("indexed driver of ride %d", rideId)
+                    .isEqualTo(cancelled);
+        }
+    }
+
+    @Test
+    void releaseDoesNotConflictWithAConcurrentDriverEdit() {
+        long rideId = rideIds.get(0);
+        long driverId = rideRepository.findById(rideId).orElseThrow().getDriver().getId();
+
+        // A edição lê o motorista, o cancelamento o libera e só então a edição é gravada
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Driver driver = driverRepository.findById(driverId).orElseThrow();
+            CompletableFuture.runAsync(() -> rideService.cancelRide(rideId)).orTimeout(10, TimeUnit.SECONDS).join();
+            driver.setName("Driver renamed");
+        });
+
+        // Lido do banco: a entidade gravada pela edição ainda diz "indisponível" no cache de segundo nível
+        assertThat(jdbcTemplate.queryForMap("select name, available from driver where id = ?", driverId))
+                .containsEntry("NAME", "Driver renamed").containsEntry("AVAILABLE", true);
+        assertThat(rideRepository.findById(rideId).orElseThrow().getStatus()).isEqualTo(RideStatus.CANCELLED);
+    }
+
+    private static void race(CountDownLatch go, AtomicInteger winners, long rideId,
+            LongFunction<RideResponseDTO> transition) {
+        try {
+            go.await();
+            transition.apply(rideId);
+            winners.incrementAndGet();
+        } catch (IllegalArgumentException e) {
+            // a outra transição venceu
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.taxiapp.taxi_api.sharding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taxiapp.taxi_api.dto.CursorPageDTO;
+import com.taxiapp.taxi_api.dto.PassengerRequestDTO;
+import com.taxiapp.taxi_api.dto.PassengerResponseDTO;
+import com.taxiapp.taxi_api.dto.RideRequestDTO;
+import com.taxiapp.taxi_api.service.PassengerService;
+import com.taxiapp.taxi_api.service.RideService;
+
+/**
+ * Verifica os passageiros distribuídos entre três bancos H2 em memória (os
+ * shards), com o diretório e as corridas em um quarto banco (o principal).
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=" + PassengerShardingTest.PRIMARY_URL,
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "taxi.sharding.passengers.enabled=true",
+    "taxi.sharding.passengers.urls=" + PassengerShardingTest.SHARD_URLS,
+    "taxi.sharding.passengers.username=sa",
+    "taxi.sharding.passengers.password=",
+    "taxi.ratelimit.enabled=false"
+})
+class PassengerShardingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:sharding_primary;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    static final String SHARD_URLS = "jdbc:h2:mem:sharding_shard0;MODE=MySQL;DB_CLOSE_DELAY=-1,"
+            + "jdbc:h2:mem:sharding_shard1;MODE=MySQL;DB_CLOSE_DELAY=-1,"
+            + "jdbc:h2:mem:sharding_shard2;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final int SHARDS = 3;
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private PassengerService passengerService;
+
+    @Autowired
+    private RideService rideService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final JdbcTemplate primary = jdbc(PRIMARY_URL);
+    private final List<JdbcTemplate> shards = Arrays.stream(SHARD_URLS.split(",")).map(PassengerShardingTest::jdbc)
+            .toList();
+
+    private static JdbcTemplate jdbc(String url) {
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+    }
+
+    @BeforeEach
+    void setUp() {
+        shards.forEach(shard -> shard.update("delete from passenger"));
+        primary.update("delete from ride");
+        primary.update("delete from passenger_directory");
+    }
+
+    private PassengerResponseDTO createPassenger() {
+        int n = SEQUENCE.incrementAndGet();
+        return passengerService.createPassenger(new PassengerRequestDTO("Passenger " + n, "user" + n, "Rua " + n,
+                String.format("1190000%04d", n), "user" + n + "@taxi.app"));
+    }
+
+    private int rowsIn(int shard, long id) {
+        return shards.get(shard).queryForObject("select count(*) from passenger where id = ?", Integer.class, id);
+    }
+
+    @Test
+    void passengersAreSpreadByIdHash() {
+        int[] perShard = new int[SHARDS];
+        for (int i = 0; i < 30; i++) {
+            long id = createPassenger().id();
+            int expected = PassengerShards.shardOf(id, SHARDS);
+            for (int shard = 0; shard < SHARDS; shard++) {
+                assertThat(rowsIn(shard, id)).isEqualTo(shard == expected ? 1 : 0);
+            }
+            perShard[expected]++;
+        }
+
+        assertThat(perShard).doesNotContain(0);
+        assertThat(primary.queryForObject("select count(*) from passenger_directory", Integer.class)).isEqualTo(30);
+        assertThat(primary.queryForObject("select count(*) from passenger", Integer.class)).isZero();
+    }
+
+    @Test
+    void uniqueKeysAreCheckedAcrossShards() {
+        PassengerResponseDTO existing = createPassenger();
+        int n = SEQUENCE.incrementAndGet();
+
+        assertThatThrownBy(() -> passengerService.createPassenger(new PassengerRequestDTO("Other", "user" + n,
+                "Rua", String.format("1190000%04d", n), existing.email())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Email already in use");
+        assertThat(passengerService.getPassengerByPhone(existing.phone())).contains(existing);
+    }
+
+    @Test
+    void pagesAndExportsAreGatheredInIdOrder() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            ids.add(createPassenger().id());
+        }
+
+        List<Long> paged = new ArrayList<>();
+        long after = 0;
+        do {
+            CursorPageDTO<PassengerResponseDTO> page = passengerService.getPassengersPage(after, 7);
+            page.items().forEach(passenger -> paged.add(passenger.id()));
+            after = (page.nextCursor() == null) ? -1 : page.nextCursor();
+        } while (after >= 0);
+        assertThat(paged).isEqualTo(ids);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertThat(passengerService.exportPassengers(output)).isEqualTo(25);
+        List<Long> exported = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            exported.add(objectMapper.readValue(line, PassengerResponseDTO.class).id());
+        }
+        assertThat(exported).isEqualTo(ids);
+    }
+
+    @Test
+    void updatesAndDeletesReachDirectoryAndShard() {
+        PassengerResponseDTO passenger = createPassenger();
+        int shard = PassengerShards.shardOf(passenger.id(), SHARDS);
+
+        passengerService.updatePassenger(passenger.id(), new PassengerRequestDTO(passenger.name(),
+                passenger.username(), passenger.address(), passenger.phone(), "changed" + passenger.email()), null);
+        assertThat(shards.get(shard).queryForObject("select email from passenger where id = ?", String.class,
+                passenger.id())).isEqualTo("changed" + passenger.email());
+        assertThat(primary.queryForObject("select email from passenger_directory where id = ?", String.class,
+                passenger.id())).isEqualTo("changed" + passenger.email());
+
+        passengerService.deletePassenger(passenger.id());
+        assertThat(rowsIn(shard, passenger.id())).isZero();
+        assertThat(primary.queryForObject("select count(*) from passenger_directory", Integer.class)).isZero();
+    }
+
+    @Test
+    void ridesReferencePassengersOnShards() {
+        PassengerResponseDTO passenger = createPassenger();
+
+        assertThat(rideService.createRide(new RideRequestDTO(passenger.id(), "A", "B", -23.55, -46.63))
+                .passengerId()).isEqualTo(passenger.id());
+        assertThatThrownBy(() -> passengerService.deletePassenger(passenger.id()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(rowsIn(PassengerShards.shardOf(passenger.id(), SHARDS), passenger.id())).isEqualTo(1);
+    }
+
+    @Test
+    void deleteWaitsForConcurrentRideAndFails() throws Exception {
+        PassengerResponseDTO passenger = createPassenger();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch rideCreated = new CountDownLatch(1);
+        CountDownLatch commitRide = new CountDownLatch(1);
+
+        CompletableFuture<Void> ride = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            rideService.createRide(new RideRequestDTO(passenger.id(), "A", "B", -23.55, -46.63));
+            rideCreated.countDown();
+            await(commitRide);
+        }));
+        assertThat(rideCreated.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> delete = CompletableFuture.runAsync(() -> passengerService.deletePassenger(passenger.id()));
+        Thread.sleep(300);
+        assertThat(delete).isNotDone();
+
+        commitRide.countDown();
+        ride.get(5, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> delete.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(DataIntegrityViolationException.class);
+        assertThat(rowsIn(PassengerShards.shardOf(passenger.id(), SHARDS), passenger.id())).isEqualTo(1);
+    }
+
+    @Test
+    void rideTableHasNoPassengerForeignKey() {
+        assertThat(primary.queryForObject("select count(*) from information_schema.table_constraints "
+                + "where constraint_type = 'FOREIGN KEY' and upper(constraint_name) = 'FK_RIDE_PASSENGER'",
+                Integer.class)).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void rolledBackCreateIsRemovedFromShard() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        PassengerResponseDTO passenger = transaction.execute(status -> {
+            status.setRollbackOnly();
+            return createPassenger();
+        });
+
+        assertThat(rowsIn(PassengerShards.shardOf(passenger.id(), SHARDS), passenger.id())).isZero();
+        assertThat(primary.queryForObject("select count(*) from passenger_directory", Integer.class)).isZero();
+    }
+}
@@ -0,0 +1,54 @@
+package com.taxiapp.taxi_api.uniqueness;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifica o {@link BloomFilter}: nenhum falso negativo e a taxa de falsos
+ * positivos medida perto da configurada (e da estimada) na capacidade prevista.
+ */
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 10_000;
+    private static final int PROBES = 100_000;
+
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put("rider" + i + "@taxi.app");
+        }
+
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertThat(filter.mightContain("rider" + i + "@taxi.app")).as("rider %d", i).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (filter.mightContain("driver" + i + "@taxi.app")) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / PROBES;
+        assertThat(observed).isBetween(0.005, 0.015);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(observed / 1.5, observed * 1.5);
+        assertThat(filter.insertions()).isEqualTo(INSERTIONS);
+    }
+
+    @Test
+    void overfilledFilterDegrades() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        for (int i = 0; i < 10 * 1_000; i++) {
+            filter.put("rider" + i + "@taxi.app");
+        }
+
+        assertThat(filter.expectedFalsePositiveRate()).isGreaterThan(0.5);
+    }
+
+    @Test
+    void invalidSizingIsRejected() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(1_000, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,88 @@
+package com.taxiapp.taxi_api.uniqueness;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.taxiapp.taxi_api.repository.DriverRepository;
+import com.taxiapp.taxi_api.repository.PassengerStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Verifica a carga e a reconstrução dos {@link UniqueKeyFilters}, com o banco
+ * simulado: valores inseridos enquanto o banco é lido (filtro pendente) entram
+ * no filtro novo, e os valores apagados saem dele.
+ */
+class UniqueKeyFiltersTest {
+
+    private static final UniqueKey KEY = UniqueKey.PASSENGER_EMAIL;
+
+    private final PassengerStore passengerStore = mock(PassengerStore.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UniqueKeyFilters filters = new UniqueKeyFilters(passengerStore, mock(DriverRepository.class),
+            mock(PlatformTransactionManager.class), meterRegistry, 10_000, 0.01, 0.1);
+
+    @AfterEach
+    void tearDown() {
+        filters.shutdown();
+    }
+
+    @Test
+    void everythingMightBePresentBeforeTheFirstLoad() {
+        assertThat(filters.mightContain(KEY, "rider@taxi.app")).isTrue();
+    }
+
+    @Test
+    void valueAddedWhileLoadingIsInTheLoadedFilter() {
+        when(passengerStore.streamAllEmails()).thenAnswer(invocation -> {
+            filters.add(KEY, "Late@Taxi.app");
+            return Stream.of("rider@taxi.app");
+        });
+
+        filters.loadAll();
+
+        assertThat(filters.mightContain(KEY, "RIDER@taxi.app")).isTrue();
+        assertThat(filters.mightContain(KEY, "late@taxi.app")).isTrue();
+        assertThat(filters.mightContain(KEY, "nobody@taxi.app")).isFalse();
+        assertThat(meterRegistry.get("taxi.uniqueness.filter.checks").tag("key", KEY.tag())
+                .tag("result", "negative").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void staleValuesTriggerARebuildThatKeepsConcurrentInsertions() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        when(passengerStore.streamAllEmails()).thenAnswer(invocation -> {
+            if (loads.incrementAndGet() == 1) {
+                return Stream.of("deleted@taxi.app", "kept@taxi.app");
+            }
+            // A reconstrução lê o banco enquanto um novo passageiro é cadastrado
+            filters.add(KEY, "new@taxi.app");
+            return Stream.of("kept@taxi.app");
+        });
+        filters.loadAll();
+        assertThat(filters.mightContain(KEY, "deleted@taxi.app")).isTrue();
+
+        for (int i = 0; i < 1_000; i++) {
+            filters.markStale(KEY);
+        }
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (filters.mightContain(KEY, "deleted@taxi.app") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(loads).hasValue(2);
+        assertThat(filters.mightContain(KEY, "deleted@taxi.app")).isFalse();
+        assertThat(filters.mightContain(KEY, "kept@taxi.app")).isTrue();
+        assertThat(filters.mightContain(KEY, "new@taxi.app")).isTrue();
+        assertThat(meterRegistry.get("taxi.uniqueness.filter.stale").tag("key", KEY.tag()).gauge().value())
+                .isZero();
+    }
+}